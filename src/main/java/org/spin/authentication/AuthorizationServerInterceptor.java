@@ -35,7 +35,9 @@ public class AuthorizationServerInterceptor implements ServerInterceptor {
 		"data.CoreFunctionality/GetSystemInfo",
 		"security.Security/RunLogin",
 		"security.Security/ListServices",
-		"security.Security/RunLoginOpenID"
+		"security.Security/RunLoginOpenID",
+		"grpc.health.v1.Health/Check",
+		"grpc.health.v1.Health/Watch"
 	);
 
 	/**	Revoke session	*/
@@ -0,0 +1,161 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.db;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.compiere.util.Util;
+
+/**
+ * Page token of smart browser: page number, total count of first page (then it is
+ * not counted again) and the order by values of last record for keyset paging.
+ * Format: <code>B&lt;page&gt;.&lt;count&gt;[.&lt;type&gt;&lt;base64 value&gt;...]</code>,
+ * tokens of other format are read as page number.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class BrowserPageToken {
+
+	/**	Prefix of token	*/
+	private static final String PREFIX = "B";
+	/**	Separator of parts	*/
+	private static final String SEPARATOR = ".";
+
+	private int pageNumber = 1;
+	/**	Total of records, -1 if it is not counted	*/
+	private long count = -1;
+	/**	Values of keyset columns of last record of previous page, null for offset paging	*/
+	private List<Object> keyValues;
+
+	/**
+	 * Read token
+	 * @param sessionUuid used for tokens of old format
+	 * @param pageToken
+	 * @return
+	 */
+	public static BrowserPageToken parse(String sessionUuid, String pageToken) {
+		BrowserPageToken token = new BrowserPageToken();
+		if(Util.isEmpty(pageToken, true) || !pageToken.startsWith(PREFIX)) {
+			token.pageNumber = LimitUtil.getPageNumber(sessionUuid, pageToken);
+			return token;
+		}
+		try {
+			String[] parts = pageToken.substring(PREFIX.length()).split("\\" + SEPARATOR);
+			token.pageNumber = Math.max(1, Integer.parseInt(parts[0]));
+			token.count = Long.parseLong(parts[1]);
+			if(parts.length > 2) {
+				List<Object> keyValues = new ArrayList<Object>();
+				for(int index = 2; index < parts.length; index++) {
+					keyValues.add(decodeValue(parts[index]));
+				}
+				token.keyValues = keyValues;
+			}
+		} catch (Exception e) {
+			//	Invalid token, first page
+			token = new BrowserPageToken();
+		}
+		return token;
+	}
+
+	/**
+	 * Token for next page
+	 * @param pageNumber
+	 * @param count
+	 * @param keyValues null for offset paging
+	 */
+	public BrowserPageToken(int pageNumber, long count, List<Object> keyValues) {
+		this.pageNumber = pageNumber;
+		this.count = count;
+		this.keyValues = keyValues;
+	}
+
+	private BrowserPageToken() {
+	}
+
+	/**
+	 * Write token
+	 * @return
+	 */
+	public String toToken() {
+		StringBuffer token = new StringBuffer(PREFIX)
+			.append(pageNumber)
+			.append(SEPARATOR).append(count);
+		if(keyValues != null) {
+			keyValues.forEach(value -> token.append(SEPARATOR).append(encodeValue(value)));
+		}
+		return token.toString();
+	}
+
+	/**
+	 * Encode value with type: N number, T timestamp, S string
+	 * @param value
+	 * @return
+	 */
+	private static String encodeValue(Object value) {
+		String type;
+		String text;
+		if(value instanceof Timestamp) {
+			type = "T";
+			text = value.toString();
+		} else if(value instanceof Number) {
+			type = "N";
+			text = new BigDecimal(value.toString()).toPlainString();
+		} else {
+			type = "S";
+			text = String.valueOf(value);
+		}
+		return type + Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode value with type
+	 * @param value
+	 * @return
+	 */
+	private static Object decodeValue(String value) {
+		String type = value.substring(0, 1);
+		String text = new String(Base64.getUrlDecoder().decode(value.substring(1)), StandardCharsets.UTF_8);
+		if("T".equals(type)) {
+			return Timestamp.valueOf(text);
+		} else if("N".equals(type)) {
+			return new BigDecimal(text);
+		}
+		return text;
+	}
+
+	public int getPageNumber() {
+		return pageNumber;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public boolean isCounted() {
+		return count >= 0;
+	}
+
+	public List<Object> getKeyValues() {
+		return keyValues;
+	}
+
+	public boolean isKeyset() {
+		return keyValues != null && !keyValues.isEmpty();
+	}
+}
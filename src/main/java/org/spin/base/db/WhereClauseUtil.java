@@ -772,12 +772,8 @@ public class WhereClauseUtil {
 			return null;
 		}
 
-		StringBuffer whereClause = new StringBuffer();
-		if (!Util.isEmpty(criteria.getWhereClause(), true)) {
-			whereClause.append("(").append(criteria.getWhereClause()).append(")");
-		}
 		if (criteria.getConditionsList() == null || criteria.getConditionsList().size() <= 0) {
-			return whereClause.toString();
+			return getBrowserWhereClauseFromCriteria(new HashMap<>(), criteria, filterValues);
 		}
 
  		// Add browse field to map
@@ -786,6 +782,29 @@ public class WhereClauseUtil {
 		for (MBrowseField browseField : browseFieldsList) {
 			browseFields.put(browseField.getAD_View_Column().getColumnName(), browseField);
 		}
+		return getBrowserWhereClauseFromCriteria(browseFields, criteria, filterValues);
+	}
+
+	/**
+	 * Get Where clause for Smart Browse by Criteria Conditions with fields already mapped
+	 *
+	 * @param browseFields fields by view column name
+	 * @param criteria
+	 * @param filterValues
+	 * @return where clasuse with generated restrictions
+	 */
+	public static String getBrowserWhereClauseFromCriteria(Map<String, MBrowseField> browseFields, Criteria criteria, List<Object> filterValues) {
+		if (criteria == null) {
+			return null;
+		}
+
+		StringBuffer whereClause = new StringBuffer();
+		if (!Util.isEmpty(criteria.getWhereClause(), true)) {
+			whereClause.append("(").append(criteria.getWhereClause()).append(")");
+		}
+		if (criteria.getConditionsList() == null || criteria.getConditionsList().size() <= 0) {
+			return whereClause.toString();
+		}
 		List<Condition> parametersList = criteria.getConditionsList();
 		HashMap<String, String> rangeAdd = new HashMap<>();
 		
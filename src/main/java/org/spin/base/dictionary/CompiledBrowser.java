@@ -0,0 +1,435 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.dictionary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.adempiere.core.domains.models.I_AD_Browse;
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.model.MBrowse;
+import org.adempiere.model.MBrowseField;
+import org.adempiere.model.MView;
+import org.adempiere.model.MViewColumn;
+import org.adempiere.model.MViewDefinition;
+import org.compiere.model.MColumn;
+import org.compiere.model.MRole;
+import org.compiere.model.Query;
+import org.compiere.util.Env;
+import org.compiere.util.Util;
+import org.spin.backend.grpc.common.Criteria;
+import org.spin.backend.grpc.common.KeyValue;
+import org.spin.base.db.OrderByUtil;
+import org.spin.base.db.QueryUtil;
+import org.spin.base.db.WhereClauseUtil;
+import org.spin.base.util.ContextManager;
+import org.spin.base.util.ValueUtil;
+import org.spin.util.ASPUtil;
+
+/**
+ * Smart browser ready for list items: SQL with view joins and references, table of
+ * parent view definition, order by, fields by column for criteria parameters and fields
+ * by upper case column for convert result set.
+ * Compiled browsers are cached by browser, language, role and user (customization), the cache is bounded and it
+ * is cleared when the dictionary version change.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class CompiledBrowser {
+
+	/**	Maximum compiled browsers	*/
+	private static final int MAXIMUM_CACHE_SIZE = 200;
+	/**	Compiled browsers by uuid, language, role and user, least recently used is removed	*/
+	private static Map<String, CompiledBrowser> cache = Collections.synchronizedMap(
+		new LinkedHashMap<String, CompiledBrowser>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CompiledBrowser> eldest) {
+				return size() > MAXIMUM_CACHE_SIZE;
+			}
+		}
+	);
+	/**	Dictionary version of cached values	*/
+	private static volatile long dictionaryVersion = -1;
+
+	private MBrowse browser;
+	/**	Select with joins of view and references, without context parsed	*/
+	private String query;
+	/**	Select of key and values of selection (editable and identifier fields) without references, null without key	*/
+	private String selectionQuery;
+	private String tableName;
+	private String tableNameAlias;
+	private String orderByClause;
+	/**	Fields by view column name, used for criteria	*/
+	private Map<String, MBrowseField> parameterFields = new HashMap<String, MBrowseField>();
+	/**	Fields by upper case view column name, used for convert values	*/
+	private Map<String, MBrowseField> resultFields = new HashMap<String, MBrowseField>();
+	/**	SQL and result column of order by columns and key, empty if keyset paging is not supported	*/
+	private List<String> keysetColumnsSQL = new ArrayList<String>();
+	private List<String> keysetColumnNames = new ArrayList<String>();
+
+	/**
+	 * Get compiled browser for language, role and user of context
+	 * @param uuid
+	 * @return null if browser does not exist
+	 */
+	public static CompiledBrowser get(String uuid) {
+		validateDictionaryVersion();
+		Properties context = Env.getCtx();
+		//	Browser and fields can be customized by user (AD_BrowseCustom)
+		String key = uuid + "|" + Env.getAD_Language(context) + "|" + Env.getAD_Role_ID(context) + "|" + Env.getAD_User_ID(context);
+		CompiledBrowser compiledBrowser = cache.get(key);
+		if(compiledBrowser != null) {
+			return compiledBrowser;
+		}
+		MBrowse browser = new Query(context, I_AD_Browse.Table_Name, I_AD_Browse.COLUMNNAME_UUID + " = ?", null)
+			.setParameters(uuid)
+			.setOnlyActiveRecords(true)
+			.first();
+		if(browser == null) {
+			return null;
+		}
+		browser = ASPUtil.getInstance(context).getBrowse(browser.getAD_Browse_ID());
+		if(browser == null || browser.getAD_Browse_ID() <= 0) {
+			return null;
+		}
+		compiledBrowser = new CompiledBrowser(browser);
+		cache.put(key, compiledBrowser);
+		return compiledBrowser;
+	}
+
+	/**
+	 * Clear cache after a dictionary change
+	 */
+	private static void validateDictionaryVersion() {
+		long currentVersion = DictionaryVersionUtil.getCachedDictionaryVersion();
+		if(currentVersion == dictionaryVersion) {
+			return;
+		}
+		synchronized (CompiledBrowser.class) {
+			if(currentVersion != dictionaryVersion) {
+				cache.clear();
+				dictionaryVersion = currentVersion;
+			}
+		}
+	}
+
+	/**
+	 * Compile browser
+	 * @param browser
+	 */
+	private CompiledBrowser(MBrowse browser) {
+		this.browser = browser;
+		this.query = QueryUtil.getBrowserQueryWithReferences(browser);
+		MView view = browser.getAD_View();
+		MViewDefinition parentDefinition = view.getParentViewDefinition();
+		this.tableNameAlias = parentDefinition.getTableAlias();
+		this.tableName = parentDefinition.getAD_Table().getTableName();
+		this.orderByClause = OrderByUtil.getBrowseOrderBy(browser);
+		for(MBrowseField field : ASPUtil.getInstance().getBrowseFields(browser.getAD_Browse_ID())) {
+			String columnName = field.getAD_View_Column().getColumnName();
+			parameterFields.put(columnName, field);
+			resultFields.put(columnName.toUpperCase(), field);
+		}
+		loadKeysetColumns();
+		loadSelectionQuery();
+	}
+
+	/**
+	 * Load query of selection: key and values saved with selection of browser (the editable and
+	 * identifier fields), the display values of references are not read
+	 */
+	private void loadSelectionQuery() {
+		MBrowseField keyField = browser.getFieldKey();
+		if(keyField == null || keyField.get_ID() <= 0) {
+			return;
+		}
+		MViewColumn keyColumn = MViewColumn.getById(Env.getCtx(), keyField.getAD_View_Column_ID(), null);
+		if(Util.isEmpty(keyColumn.getColumnSQL(), true)) {
+			return;
+		}
+		StringBuffer sql = new StringBuffer("SELECT DISTINCT ")
+			.append(keyColumn.getColumnSQL()).append(" AS \"").append(keyColumn.getColumnName()).append("\"");
+		for(MBrowseField field : ASPUtil.getInstance().getBrowseDisplayFields(browser.getAD_Browse_ID())) {
+			if(field.getAD_Browse_Field_ID() == keyField.getAD_Browse_Field_ID()
+					|| (field.isReadOnly() && !field.isIdentifier())) {
+				continue;
+			}
+			MViewColumn viewColumn = MViewColumn.getById(Env.getCtx(), field.getAD_View_Column_ID(), null);
+			if(Util.isEmpty(viewColumn.getColumnSQL(), true)) {
+				continue;
+			}
+			sql.append(", ").append(viewColumn.getColumnSQL()).append(" AS \"").append(viewColumn.getColumnName()).append("\"");
+		}
+		MView view = new MView(Env.getCtx(), browser.getAD_View_ID());
+		sql.append(" FROM").append(view.getFromClause());
+		selectionQuery = sql.toString();
+	}
+
+	/**
+	 * Load order by columns and key column as keyset, all of them must be displayed
+	 * for read values of last record and they must not be null (key or mandatory columns without
+	 * outer join) because null values are excluded by restriction of next page, else keyset paging
+	 * is not supported
+	 */
+	private void loadKeysetColumns() {
+		List<MBrowseField> displayFields = ASPUtil.getInstance().getBrowseDisplayFields(browser.getAD_Browse_ID());
+		List<MBrowseField> keysetFields = new ArrayList<MBrowseField>(
+			ASPUtil.getInstance().getBrowseOrderByFields(browser.getAD_Browse_ID())
+		);
+		MBrowseField keyField = displayFields.stream()
+			.filter(MBrowseField::isKey)
+			.findFirst()
+			.orElse(null);
+		if(keyField == null) {
+			return;
+		}
+		if(keysetFields.stream().noneMatch(field -> field.getAD_Browse_Field_ID() == keyField.getAD_Browse_Field_ID())) {
+			keysetFields.add(keyField);
+		}
+		List<String> columnsSQL = new ArrayList<String>();
+		List<String> columnNames = new ArrayList<String>();
+		for(MBrowseField field : keysetFields) {
+			boolean isDisplayed = displayFields.stream()
+				.anyMatch(displayField -> displayField.getAD_Browse_Field_ID() == field.getAD_Browse_Field_ID());
+			MViewColumn viewColumn = MViewColumn.getById(Env.getCtx(), field.getAD_View_Column_ID(), null);
+			if(!isDisplayed || Util.isEmpty(viewColumn.getColumnSQL(), true)) {
+				return;
+			}
+			//	Restriction of next page does not include null values
+			if(!field.isKey() && !isNotNullColumn(viewColumn)) {
+				return;
+			}
+			columnsSQL.add(viewColumn.getColumnSQL());
+			columnNames.add(viewColumn.getColumnName());
+		}
+		keysetColumnsSQL = columnsSQL;
+		keysetColumnNames = columnNames;
+	}
+
+	/**
+	 * Verify if column of view can not be null: a mandatory column of table of view definition
+	 * without outer join
+	 * @param viewColumn
+	 * @return
+	 */
+	private boolean isNotNullColumn(MViewColumn viewColumn) {
+		if(viewColumn.getAD_Column_ID() <= 0) {
+			return false;
+		}
+		MColumn column = MColumn.get(Env.getCtx(), viewColumn.getAD_Column_ID());
+		if(column == null
+				|| !(column.isKey() || column.isMandatory())
+				|| !Util.isEmpty(column.getColumnSQL(), true)) {
+			return false;
+		}
+		MViewDefinition viewDefinition = MViewDefinition.get(Env.getCtx(), viewColumn.getAD_View_Definition_ID());
+		String joinClause = viewDefinition.getJoinClause();
+		if(Util.isEmpty(joinClause, true)) {
+			return true;
+		}
+		joinClause = joinClause.toUpperCase();
+		return !joinClause.contains("LEFT")
+			&& !joinClause.contains("RIGHT")
+			&& !joinClause.contains("FULL")
+			&& !joinClause.contains("OUTER");
+	}
+
+	public MBrowse getBrowser() {
+		return browser;
+	}
+
+	public String getQuery() {
+		return query;
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	public String getTableNameAlias() {
+		return tableNameAlias;
+	}
+
+	public String getOrderByClause() {
+		return orderByClause;
+	}
+
+	/**
+	 * Verify if browser can be paged by values of order by columns and key
+	 * @return
+	 */
+	public boolean isKeysetSupported() {
+		return !keysetColumnsSQL.isEmpty();
+	}
+
+	/**
+	 * Get order by columns with key as last column
+	 * @return
+	 */
+	public String getKeysetOrderByClause() {
+		return String.join(", ", keysetColumnsSQL);
+	}
+
+	/**
+	 * Get names of keyset columns on result
+	 * @return
+	 */
+	public List<String> getKeysetColumnNames() {
+		return Collections.unmodifiableList(keysetColumnNames);
+	}
+
+	/**
+	 * Get restriction for records after values of last record, all columns are ascending:
+	 * (c1 &gt; ?) OR (c1 = ? AND c2 &gt; ?) ...
+	 * @param keyValues values of last record
+	 * @param parameters the values are added
+	 * @return
+	 */
+	public String getKeysetWhereClause(List<Object> keyValues, List<Object> parameters) {
+		StringBuffer whereClause = new StringBuffer();
+		for(int index = 0; index < keysetColumnsSQL.size(); index++) {
+			if(whereClause.length() > 0) {
+				whereClause.append(" OR ");
+			}
+			whereClause.append("(");
+			for(int previousIndex = 0; previousIndex < index; previousIndex++) {
+				whereClause.append(keysetColumnsSQL.get(previousIndex)).append(" = ? AND ");
+				parameters.add(keyValues.get(previousIndex));
+			}
+			whereClause.append(keysetColumnsSQL.get(index)).append(" > ?)");
+			parameters.add(keyValues.get(index));
+		}
+		return whereClause.toString();
+	}
+
+	/**
+	 * Get query with context and criteria parsed, role access, browser where clause and
+	 * criteria restrictions, used for list items and for select records by criteria
+	 * @param criteria
+	 * @param contextAttributes
+	 * @param filterValues the values of criteria are added
+	 * @return
+	 */
+	public String getQueryWithCriteria(Criteria criteria, List<KeyValue> contextAttributes, List<Object> filterValues) {
+		return getQueryWithCriteria(query, criteria, contextAttributes, filterValues);
+	}
+
+	/**
+	 * Get query of selection (key and values saved with selection) with context and criteria parsed,
+	 * role access, browser where clause and criteria restrictions, used for select records by criteria
+	 * @param criteria
+	 * @param contextAttributes
+	 * @param filterValues the values of criteria are added
+	 * @return
+	 */
+	public String getSelectionQueryWithCriteria(Criteria criteria, List<KeyValue> contextAttributes, List<Object> filterValues) {
+		if(selectionQuery == null) {
+			throw new AdempiereException("@AD_Browse_ID@ @IsKey@ @NotFound@");
+		}
+		return getQueryWithCriteria(selectionQuery, criteria, contextAttributes, filterValues);
+	}
+
+	/**
+	 * Add context, role access and criteria to query
+	 * @param baseQuery
+	 * @param criteria
+	 * @param contextAttributes
+	 * @param filterValues
+	 * @return
+	 */
+	private String getQueryWithCriteria(String baseQuery, Criteria criteria, List<KeyValue> contextAttributes, List<Object> filterValues) {
+		HashMap<String, Object> parameterMap = new HashMap<>();
+		//	Populate map
+		criteria.getConditionsList().forEach(condition -> {
+			parameterMap.put(condition.getColumnName(), ValueUtil.getObjectFromValue(condition.getValue()));
+		});
+
+		//	Fill Env.getCtx()
+		Properties context = Env.getCtx();
+		int windowNo = ThreadLocalRandom.current().nextInt(1, 8996 + 1);
+		ContextManager.setContextWithAttributes(windowNo, context, contextAttributes);
+		ContextManager.setContextWithAttributes(windowNo, context, parameterMap, false);
+
+		//	get query columns
+		String sql = Env.parseContext(context, windowNo, baseQuery, false, true);
+		if (Util.isEmpty(sql, true)) {
+			throw new AdempiereException("@AD_Browse_ID@ @SQL@ @Unparseable@");
+		}
+
+		String sqlWithRoleAccess = MRole.getDefault(context, false)
+			.addAccessSQL(
+				sql,
+				tableNameAlias,
+				MRole.SQL_FULLYQUALIFIED,
+				MRole.SQL_RO
+			);
+
+		StringBuffer whereClause = new StringBuffer();
+		String where = browser.getWhereClause();
+		if (!Util.isEmpty(where, true)) {
+			String parsedWhereClause = Env.parseContext(context, windowNo, where, false, true);
+			if (Util.isEmpty(parsedWhereClause, true)) {
+				throw new AdempiereException("@AD_Browse_ID@ @WhereClause@ @Unparseable@");
+			}
+			whereClause
+				.append(" AND (")
+				.append(parsedWhereClause)
+				.append(")")
+			;
+		}
+
+		//	For dynamic condition
+		String dynamicWhere = WhereClauseUtil.getBrowserWhereClauseFromCriteria(
+			parameterFields,
+			criteria,
+			filterValues
+		);
+		if (!Util.isEmpty(dynamicWhere, true)) {
+			String parsedDynamicWhere = Env.parseContext(context, windowNo, dynamicWhere, false);
+			if (Util.isEmpty(parsedDynamicWhere, true)) {
+				throw new AdempiereException("@AD_Browse_ID@ @WhereClause@ @Unparseable@");
+			}
+			//	Add
+			whereClause.append(" AND (")
+				.append(parsedDynamicWhere)
+				.append(") ")
+			;
+		}
+		if (!Util.isEmpty(whereClause.toString(), true)) {
+			// includes first AND
+			sqlWithRoleAccess += whereClause;
+		}
+		return sqlWithRoleAccess;
+	}
+
+	public Map<String, MBrowseField> getParameterFields() {
+		return Collections.unmodifiableMap(parameterFields);
+	}
+
+	/**
+	 * Get field of column of result set
+	 * @param columnName
+	 * @return null for display columns
+	 */
+	public MBrowseField getResultField(String columnName) {
+		return resultFields.get(columnName.toUpperCase());
+	}
+}
@@ -0,0 +1,336 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.dictionary;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.spin.backend.grpc.dictionary.Browser;
+import org.spin.backend.grpc.dictionary.Process;
+import org.spin.backend.grpc.dictionary.Reference;
+import org.spin.backend.grpc.dictionary.Window;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+
+/**
+ * Converted dictionary of a language, client and role stored on a local file.
+ * The file is memory mapped and each definition is parsed only when it is requested.
+ * Layout: header (magic, format, dictionary version, client, role, language)
+ * followed by entries (type, id, uuid, size, protobuf bytes) until end of file.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class DictionarySnapshot {
+
+	/**	File identifier	*/
+	private static final int MAGIC = 0x41445350;
+	/**	Layout version	*/
+	private static final int FORMAT_VERSION = 1;
+	/**	Entry types	*/
+	public static final byte TYPE_WINDOW = 'W';
+	public static final byte TYPE_PROCESS = 'P';
+	public static final byte TYPE_BROWSER = 'B';
+	public static final byte TYPE_REFERENCE = 'R';
+
+	/**	Mapped file	*/
+	private MappedByteBuffer buffer;
+	/**	Entry position and size by type and id or uuid	*/
+	private Map<String, int[]> index = new HashMap<String, int[]>();
+	/**	Header	*/
+	private long dictionaryVersion;
+	private int clientId;
+	private int roleId;
+	private String language;
+	private int entries;
+
+	/**
+	 * Get file name for a language, client and role
+	 * @param language
+	 * @param clientId
+	 * @param roleId
+	 * @return
+	 */
+	public static String getFileName(String language, int clientId, int roleId) {
+		return "dictionary_" + language + "_" + clientId + "_" + roleId + ".snapshot";
+	}
+
+	/**
+	 * Map a snapshot file and read the index of entries
+	 * @param file
+	 * @return
+	 * @throws IOException
+	 */
+	public static DictionarySnapshot load(File file) throws IOException {
+		DictionarySnapshot snapshot = new DictionarySnapshot();
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+				FileChannel channel = randomAccessFile.getChannel()) {
+			snapshot.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		ByteBuffer reader = snapshot.buffer.duplicate();
+		if(reader.remaining() < 8
+				|| reader.getInt() != MAGIC
+				|| reader.getInt() != FORMAT_VERSION) {
+			throw new IOException("Invalid Dictionary Snapshot: " + file.getName());
+		}
+		snapshot.dictionaryVersion = reader.getLong();
+		snapshot.clientId = reader.getInt();
+		snapshot.roleId = reader.getInt();
+		snapshot.language = readString(reader);
+		while(reader.hasRemaining()) {
+			byte type = reader.get();
+			int id = reader.getInt();
+			String uuid = readString(reader);
+			int size = reader.getInt();
+			int[] position = new int[] {reader.position(), size};
+			snapshot.index.put(getKey(type, String.valueOf(id)), position);
+			if(uuid.length() > 0) {
+				snapshot.index.put(getKey(type, uuid), position);
+			}
+			reader.position(reader.position() + size);
+			snapshot.entries++;
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Read a string written as size and UTF-8 bytes
+	 * @param reader
+	 * @return
+	 */
+	private static String readString(ByteBuffer reader) {
+		byte[] value = new byte[reader.getInt()];
+		reader.get(value);
+		return new String(value, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Key of index
+	 * @param type
+	 * @param idOrUuid
+	 * @return
+	 */
+	private static String getKey(byte type, String idOrUuid) {
+		return (char) type + "|" + idOrUuid;
+	}
+
+	/**
+	 * Get bytes of entry, null if it is not found
+	 * @param type
+	 * @param id
+	 * @param uuid
+	 * @return
+	 */
+	private ByteBuffer getEntry(byte type, int id, String uuid) {
+		int[] position = null;
+		if(id > 0) {
+			position = index.get(getKey(type, String.valueOf(id)));
+		} else if(uuid != null && uuid.length() > 0) {
+			position = index.get(getKey(type, uuid));
+		}
+		if(position == null) {
+			return null;
+		}
+		ByteBuffer entry = buffer.duplicate();
+		entry.position(position[0]);
+		entry.limit(position[0] + position[1]);
+		return entry.slice();
+	}
+
+	/**
+	 * Get window with tabs and fields
+	 * @param id
+	 * @param uuid
+	 * @return null if it is not in snapshot
+	 * @throws InvalidProtocolBufferException
+	 */
+	public Window getWindow(int id, String uuid) throws InvalidProtocolBufferException {
+		ByteBuffer entry = getEntry(TYPE_WINDOW, id, uuid);
+		if(entry == null) {
+			return null;
+		}
+		return Window.parseFrom(entry);
+	}
+
+	/**
+	 * Get process with parameters
+	 * @param id
+	 * @param uuid
+	 * @return null if it is not in snapshot
+	 * @throws InvalidProtocolBufferException
+	 */
+	public Process getProcess(int id, String uuid) throws InvalidProtocolBufferException {
+		ByteBuffer entry = getEntry(TYPE_PROCESS, id, uuid);
+		if(entry == null) {
+			return null;
+		}
+		return Process.parseFrom(entry);
+	}
+
+	/**
+	 * Get browser with fields
+	 * @param id
+	 * @param uuid
+	 * @return null if it is not in snapshot
+	 * @throws InvalidProtocolBufferException
+	 */
+	public Browser getBrowser(int id, String uuid) throws InvalidProtocolBufferException {
+		ByteBuffer entry = getEntry(TYPE_BROWSER, id, uuid);
+		if(entry == null) {
+			return null;
+		}
+		return Browser.parseFrom(entry);
+	}
+
+	/**
+	 * Get reference
+	 * @param id
+	 * @param uuid
+	 * @return null if it is not in snapshot
+	 * @throws InvalidProtocolBufferException
+	 */
+	public Reference getReference(int id, String uuid) throws InvalidProtocolBufferException {
+		ByteBuffer entry = getEntry(TYPE_REFERENCE, id, uuid);
+		if(entry == null) {
+			return null;
+		}
+		return Reference.parseFrom(entry);
+	}
+
+	public long getDictionaryVersion() {
+		return dictionaryVersion;
+	}
+
+	public int getClientId() {
+		return clientId;
+	}
+
+	public int getRoleId() {
+		return roleId;
+	}
+
+	public String getLanguage() {
+		return language;
+	}
+
+	public int getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Write a snapshot to a temporary file, it replaces the target file only when it is closed
+	 */
+	public static class Writer implements Closeable {
+		/**	Target	*/
+		private File file;
+		/**	Temporary file	*/
+		private File temporaryFile;
+		private DataOutputStream output;
+		/**	Quantity by type	*/
+		private Map<Byte, Integer> quantities = new HashMap<Byte, Integer>();
+
+		/**
+		 * Open writer and write header
+		 * @param file
+		 * @param dictionaryVersion
+		 * @param language
+		 * @param clientId
+		 * @param roleId
+		 * @throws IOException
+		 */
+		public Writer(File file, long dictionaryVersion, String language, int clientId, int roleId) throws IOException {
+			this.file = file;
+			this.temporaryFile = new File(file.getParentFile(), file.getName() + ".tmp");
+			this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)));
+			output.writeInt(MAGIC);
+			output.writeInt(FORMAT_VERSION);
+			output.writeLong(dictionaryVersion);
+			output.writeInt(clientId);
+			output.writeInt(roleId);
+			writeString(language);
+		}
+
+		/**
+		 * Write a string as size and UTF-8 bytes
+		 * @param value
+		 * @throws IOException
+		 */
+		private void writeString(String value) throws IOException {
+			byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+			output.writeInt(bytes.length);
+			output.write(bytes);
+		}
+
+		/**
+		 * Add a converted definition
+		 * @param type
+		 * @param id
+		 * @param uuid
+		 * @param message
+		 * @throws IOException
+		 */
+		public void add(byte type, int id, String uuid, MessageLite message) throws IOException {
+			byte[] bytes = message.toByteArray();
+			output.writeByte(type);
+			output.writeInt(id);
+			writeString(uuid);
+			output.writeInt(bytes.length);
+			output.write(bytes);
+			quantities.merge(type, 1, Integer::sum);
+		}
+
+		/**
+		 * Get quantity of definitions written by type
+		 * @param type
+		 * @return
+		 */
+		public int getQuantity(byte type) {
+			return quantities.getOrDefault(type, 0);
+		}
+
+		/**
+		 * Delete temporary file without replace target
+		 */
+		public void discard() {
+			try {
+				output.close();
+			} catch (IOException e) {
+				//	Nothing
+			}
+			temporaryFile.delete();
+		}
+
+		@Override
+		public void close() throws IOException {
+			output.close();
+			if(temporaryFile.exists()) {
+				Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,150 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.dictionary;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.compiere.util.CCache;
+import org.compiere.util.CLogger;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.compiere.util.Util;
+import org.spin.base.setup.SetupLoader;
+
+/**
+ * Hold loaded dictionary snapshots by language, client and role.
+ * A snapshot is used only while its version is the current dictionary version,
+ * else the dictionary is converted from database as usual.
+ * Snapshots are built without user customization, then users with own
+ * customization of windows, processes or browsers always get a live conversion.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class DictionarySnapshotUtil {
+
+	/**	Logger			*/
+	private static CLogger log = CLogger.getCLogger(DictionarySnapshotUtil.class);
+	/**	Default folder	*/
+	private static final String DEFAULT_PATH = "dictionary_snapshot";
+	/**	Loaded snapshots	*/
+	private static Map<String, DictionarySnapshot> snapshots = new ConcurrentHashMap<String, DictionarySnapshot>();
+	/**	Users with customization	*/
+	private static CCache<Integer, Boolean> userCustomizationCache = new CCache<Integer, Boolean>("AD_WindowCustom_Snapshot", 30, 10);
+
+	/**
+	 * Get folder of snapshots
+	 * @return
+	 */
+	public static File getSnapshotFolder() {
+		String path = null;
+		if(SetupLoader.getInstance() != null
+				&& SetupLoader.getInstance().getServer() != null) {
+			path = SetupLoader.getInstance().getServer().getDictionary_snapshot_path();
+		}
+		if(Util.isEmpty(path, true)) {
+			path = DEFAULT_PATH;
+		}
+		return new File(path);
+	}
+
+	/**
+	 * Load all snapshots of folder that match with current dictionary version
+	 */
+	public static void loadSnapshots() {
+		File folder = getSnapshotFolder();
+		File[] files = folder.listFiles((directory, name) -> name.endsWith(".snapshot"));
+		if(files == null || files.length == 0) {
+			return;
+		}
+		long version = DictionaryVersionUtil.getDictionaryVersion();
+		for(File file : files) {
+			try {
+				DictionarySnapshot snapshot = DictionarySnapshot.load(file);
+				if(snapshot.getDictionaryVersion() != version) {
+					log.warning("Dictionary Snapshot " + file.getName() + " is outdated, it will be ignored");
+					continue;
+				}
+				addSnapshot(snapshot);
+				log.info("Dictionary Snapshot " + file.getName() + " loaded with " + snapshot.getEntries() + " entries");
+			} catch (Exception e) {
+				log.log(Level.WARNING, "Dictionary Snapshot " + file.getName() + " can not be loaded", e);
+			}
+		}
+	}
+
+	/**
+	 * Add or replace a snapshot
+	 * @param snapshot
+	 */
+	public static void addSnapshot(DictionarySnapshot snapshot) {
+		snapshots.put(getKey(snapshot.getLanguage(), snapshot.getClientId(), snapshot.getRoleId()), snapshot);
+	}
+
+	/**
+	 * Get a valid snapshot for context
+	 * @param context
+	 * @return null when it does not exist, it is outdated or user has customization
+	 */
+	public static DictionarySnapshot getSnapshot(Properties context) {
+		if(snapshots.isEmpty()) {
+			return null;
+		}
+		String key = getKey(Env.getAD_Language(context), Env.getAD_Client_ID(context), Env.getAD_Role_ID(context));
+		DictionarySnapshot snapshot = snapshots.get(key);
+		if(snapshot == null) {
+			return null;
+		}
+		if(snapshot.getDictionaryVersion() != DictionaryVersionUtil.getCachedDictionaryVersion()) {
+			snapshots.remove(key, snapshot);
+			log.warning("Dictionary Snapshot " + key + " is outdated, it is removed");
+			return null;
+		}
+		if(hasUserCustomization(Env.getAD_User_ID(context))) {
+			return null;
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Verify if user has customization of windows, processes or browsers
+	 * @param userId
+	 * @return
+	 */
+	public static boolean hasUserCustomization(int userId) {
+		Boolean hasCustomization = userCustomizationCache.get(userId);
+		if(hasCustomization == null) {
+			final String sql = "SELECT 1 FROM AD_WindowCustom WHERE AD_User_ID = ? "
+				+ "UNION ALL SELECT 1 FROM AD_ProcessCustom WHERE AD_User_ID = ? "
+				+ "UNION ALL SELECT 1 FROM AD_BrowseCustom WHERE AD_User_ID = ?";
+			hasCustomization = DB.getSQLValueEx(null, sql, userId, userId, userId) > 0;
+			userCustomizationCache.put(userId, hasCustomization);
+		}
+		return hasCustomization;
+	}
+
+	/**
+	 * Key of snapshot
+	 * @param language
+	 * @param clientId
+	 * @param roleId
+	 * @return
+	 */
+	private static String getKey(String language, int clientId, int roleId) {
+		return language + "|" + clientId + "|" + roleId;
+	}
+}
@@ -0,0 +1,230 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.dictionary;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.compiere.util.DB;
+
+/**
+ * Dictionary version based on the <code>Updated</code> column of the AD tables
+ * read by window, tab, field, process and reference converters.
+ * A version is the ceiling (in milliseconds) of the last update, so any record
+ * changed after it can be found with <code>Updated &gt; version</code>.
+ * Note: physically deleted records can not be detected, deactivate them instead.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class DictionaryVersionUtil {
+
+	/**	Tables that affect the converted dictionary	*/
+	public static final List<String> DICTIONARY_TABLES = Arrays.asList(
+		"AD_Window", "AD_Window_Trl", "AD_WindowCustom",
+		"AD_Tab", "AD_Tab_Trl", "AD_TabCustom",
+		"AD_Field", "AD_Field_Trl", "AD_FieldCustom",
+		"AD_Column", "AD_Element", "AD_Element_Trl",
+		"AD_Table", "AD_FieldGroup",
+		"AD_Process", "AD_Process_Trl", "AD_ProcessCustom",
+		"AD_Process_Para", "AD_Process_Para_Trl", "AD_ProcessParaCustom",
+		"AD_Browse", "AD_Browse_Field", "AD_BrowseCustom", "AD_BrowseFieldCustom",
+		"AD_Form", "AD_Form_Trl",
+		"AD_Reference", "AD_Ref_List", "AD_Ref_List_Trl", "AD_Ref_Table", "AD_Val_Rule"
+	);
+
+	/**	Time for read the dictionary version again	*/
+	private static final long VERSION_CHECK_MILLISECONDS = 60 * 1000;
+	/**	Last version read from database	*/
+	private static volatile long cachedVersion = -1;
+	private static volatile long cachedVersionChecked = 0;
+	/**	A thread is reading version again	*/
+	private static final AtomicBoolean isRefreshingVersion = new AtomicBoolean(false);
+
+	/**
+	 * Get current dictionary version, 0 if it can not be calculated.
+	 * It is read from all dictionary tables and it replace the cached version, requests must use
+	 * {@link #getCachedDictionaryVersion()}
+	 * @return epoch milliseconds of last dictionary change
+	 */
+	public static long getDictionaryVersion() {
+		StringBuffer sql = new StringBuffer("SELECT MAX(Updated) FROM (");
+		for (int index = 0; index < DICTIONARY_TABLES.size(); index++) {
+			if (index > 0) {
+				sql.append(" UNION ALL ");
+			}
+			sql.append("SELECT MAX(Updated) AS Updated FROM ").append(DICTIONARY_TABLES.get(index));
+		}
+		sql.append(") dv");
+		Timestamp lastUpdated = DB.getSQLValueTS(null, sql.toString());
+		long version = toVersion(lastUpdated);
+		cachedVersion = version;
+		cachedVersionChecked = System.currentTimeMillis();
+		return version;
+	}
+
+	/**
+	 * Get dictionary version read from database at most once a minute, used by caches
+	 * that must be discarded after a dictionary change.
+	 * Only a thread read it again, other threads get the previous version meanwhile
+	 * (the first read is waited by all threads)
+	 * @return
+	 */
+	public static long getCachedDictionaryVersion() {
+		long version = cachedVersion;
+		if(version >= 0
+				&& System.currentTimeMillis() - cachedVersionChecked <= VERSION_CHECK_MILLISECONDS) {
+			return version;
+		}
+		if(version < 0) {
+			synchronized (DictionaryVersionUtil.class) {
+				if(cachedVersion < 0) {
+					getDictionaryVersion();
+				}
+				return cachedVersion;
+			}
+		}
+		if(isRefreshingVersion.compareAndSet(false, true)) {
+			try {
+				if(System.currentTimeMillis() - cachedVersionChecked > VERSION_CHECK_MILLISECONDS) {
+					getDictionaryVersion();
+				}
+			} finally {
+				isRefreshingVersion.set(false);
+			}
+		}
+		return cachedVersion;
+	}
+
+	/**
+	 * Convert a timestamp to version, rounded up to the next millisecond
+	 * @param updated
+	 * @return
+	 */
+	public static long toVersion(Timestamp updated) {
+		if (updated == null) {
+			return 0;
+		}
+		long version = updated.getTime();
+		if (updated.getNanos() % 1000000 != 0) {
+			version++;
+		}
+		return version;
+	}
+
+	/**
+	 * Convert a version to timestamp used for compare
+	 * @param version
+	 * @return
+	 */
+	public static Timestamp fromVersion(long version) {
+		return new Timestamp(version);
+	}
+
+	/**
+	 * Windows changed after version, include customization
+	 * @param version
+	 * @return
+	 */
+	public static int[] getChangedWindowIds(long version) {
+		Timestamp updated = fromVersion(version);
+		final String sql = "SELECT w.AD_Window_ID FROM AD_Window w "
+			+ "WHERE w.Updated > ? "
+			+ "OR EXISTS(SELECT 1 FROM AD_Window_Trl wt WHERE wt.AD_Window_ID = w.AD_Window_ID AND wt.Updated > ?) "
+			+ "OR EXISTS(SELECT 1 FROM AD_WindowCustom wc WHERE wc.AD_Window_ID = w.AD_Window_ID AND wc.Updated > ?) "
+			+ "ORDER BY w.AD_Window_ID"
+		;
+		return DB.getIDsEx(null, sql, updated, updated, updated);
+	}
+
+	/**
+	 * Tabs changed after version, include change of table and customization
+	 * @param version
+	 * @return
+	 */
+	public static int[] getChangedTabIds(long version) {
+		Timestamp updated = fromVersion(version);
+		final String sql = "SELECT t.AD_Tab_ID FROM AD_Tab t "
+			+ "INNER JOIN AD_Table tb ON(tb.AD_Table_ID = t.AD_Table_ID) "
+			+ "WHERE t.Updated > ? "
+			+ "OR tb.Updated > ? "
+			+ "OR EXISTS(SELECT 1 FROM AD_Tab_Trl tt WHERE tt.AD_Tab_ID = t.AD_Tab_ID AND tt.Updated > ?) "
+			+ "OR EXISTS(SELECT 1 FROM AD_TabCustom tc WHERE tc.AD_Tab_ID = t.AD_Tab_ID AND tc.Updated > ?) "
+			+ "ORDER BY t.AD_Window_ID, t.SeqNo"
+		;
+		return DB.getIDsEx(null, sql, updated, updated, updated, updated);
+	}
+
+	/**
+	 * Fields changed after version, include change of column, element, field group, validation rule and customization
+	 * @param version
+	 * @return
+	 */
+	public static int[] getChangedFieldIds(long version) {
+		Timestamp updated = fromVersion(version);
+		final String sql = "SELECT f.AD_Field_ID FROM AD_Field f "
+			+ "INNER JOIN AD_Column c ON(c.AD_Column_ID = f.AD_Column_ID) "
+			+ "LEFT JOIN AD_Element e ON(e.AD_Element_ID = c.AD_Element_ID) "
+			+ "LEFT JOIN AD_FieldGroup fg ON(fg.AD_FieldGroup_ID = f.AD_FieldGroup_ID) "
+			+ "WHERE f.Updated > ? "
+			+ "OR c.Updated > ? "
+			+ "OR e.Updated > ? "
+			+ "OR fg.Updated > ? "
+			+ "OR EXISTS(SELECT 1 FROM AD_Field_Trl ft WHERE ft.AD_Field_ID = f.AD_Field_ID AND ft.Updated > ?) "
+			+ "OR EXISTS(SELECT 1 FROM AD_FieldCustom fc WHERE fc.AD_Field_ID = f.AD_Field_ID AND fc.Updated > ?) "
+			+ "OR EXISTS(SELECT 1 FROM AD_Val_Rule vr WHERE vr.AD_Val_Rule_ID IN(f.AD_Val_Rule_ID, c.AD_Val_Rule_ID) AND vr.Updated > ?) "
+			+ "ORDER BY f.AD_Tab_ID, f.SeqNo"
+		;
+		return DB.getIDsEx(null, sql, updated, updated, updated, updated, updated, updated, updated);
+	}
+
+	/**
+	 * Processes changed after version, include change of parameters and customization
+	 * @param version
+	 * @return
+	 */
+	public static int[] getChangedProcessIds(long version) {
+		Timestamp updated = fromVersion(version);
+		final String sql = "SELECT p.AD_Process_ID FROM AD_Process p "
+			+ "WHERE p.Updated > ? "
+			+ "OR EXISTS(SELECT 1 FROM AD_Process_Trl pt WHERE pt.AD_Process_ID = p.AD_Process_ID AND pt.Updated > ?) "
+			+ "OR EXISTS(SELECT 1 FROM AD_ProcessCustom pc WHERE pc.AD_Process_ID = p.AD_Process_ID AND pc.Updated > ?) "
+			+ "OR EXISTS(SELECT 1 FROM AD_Process_Para pp "
+				+ "WHERE pp.AD_Process_ID = p.AD_Process_ID "
+				+ "AND (pp.Updated > ? "
+				+ "OR EXISTS(SELECT 1 FROM AD_Process_Para_Trl ppt WHERE ppt.AD_Process_Para_ID = pp.AD_Process_Para_ID AND ppt.Updated > ?) "
+				+ "OR EXISTS(SELECT 1 FROM AD_ProcessParaCustom ppc WHERE ppc.AD_Process_Para_ID = pp.AD_Process_Para_ID AND ppc.Updated > ?))) "
+			+ "ORDER BY p.AD_Process_ID"
+		;
+		return DB.getIDsEx(null, sql, updated, updated, updated, updated, updated, updated);
+	}
+
+	/**
+	 * References changed after version, include list values and table definition
+	 * @param version
+	 * @return
+	 */
+	public static int[] getChangedReferenceIds(long version) {
+		Timestamp updated = fromVersion(version);
+		final String sql = "SELECT r.AD_Reference_ID FROM AD_Reference r "
+			+ "WHERE r.Updated > ? "
+			+ "OR EXISTS(SELECT 1 FROM AD_Ref_List rl WHERE rl.AD_Reference_ID = r.AD_Reference_ID AND rl.Updated > ?) "
+			+ "OR EXISTS(SELECT 1 FROM AD_Ref_Table rt WHERE rt.AD_Reference_ID = r.AD_Reference_ID AND rt.Updated > ?) "
+			+ "ORDER BY r.AD_Reference_ID"
+		;
+		return DB.getIDsEx(null, sql, updated, updated, updated);
+	}
+
+}
@@ -0,0 +1,89 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.dictionary;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.io.RandomAccessSourceFactory;
+import com.itextpdf.text.pdf.PdfCopy;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.RandomAccessFileOrArray;
+
+/**
+ * Merge PDF documents appending one by one to an output stream.
+ * Each document is read partially from file and its pages are written and released
+ * before the next document is appended, then memory does not depend of quantity of documents.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class PdfStreamMerger implements Closeable {
+
+	private Document document;
+	private PdfCopy copy;
+	/**	Quantity of pages appended	*/
+	private int pages = 0;
+
+	/**
+	 * Open merged document on output stream
+	 * @param outputStream it is closed when merger is closed
+	 * @throws DocumentException
+	 */
+	public PdfStreamMerger(OutputStream outputStream) throws DocumentException {
+		document = new Document();
+		copy = new PdfCopy(document, outputStream);
+		document.open();
+	}
+
+	/**
+	 * Append all pages of a PDF file
+	 * @param file
+	 * @throws IOException
+	 * @throws DocumentException
+	 */
+	public void append(File file) throws IOException, DocumentException {
+		PdfReader reader = new PdfReader(
+			new RandomAccessFileOrArray(new RandomAccessSourceFactory().createBestSource(file.getAbsolutePath())),
+			null
+		);
+		try {
+			for(int page = 1; page <= reader.getNumberOfPages(); page++) {
+				copy.addPage(copy.getImportedPage(reader, page));
+				pages++;
+			}
+			//	Write pending objects of document and release it
+			copy.freeReader(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	public int getPages() {
+		return pages;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(pages == 0) {
+			//	A document without pages can not be closed
+			document.newPage();
+			copy.setPageEmpty(false);
+		}
+		document.close();
+	}
+}
@@ -0,0 +1,289 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.dictionary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.compiere.model.MTable;
+import org.compiere.util.CLogger;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.compiere.util.Util;
+import org.spin.backend.grpc.common.GetReportOutputRequest;
+import org.spin.backend.grpc.common.ReportOutput;
+import org.spin.base.setup.ReportCache;
+import org.spin.base.setup.ReportCacheDefinition;
+import org.spin.base.setup.SetupLoader;
+
+/**
+ * Report outputs saved on local disk by print format, report view, parameters,
+ * role, language and output type. Only reports defined on setup are cached, each
+ * output is valid for time to live and the least used outputs are deleted when
+ * the folder is bigger than maximum size.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class ReportOutputCache {
+
+	/**	Logger			*/
+	private static CLogger log = CLogger.getCLogger(ReportOutputCache.class);
+	/**	Default folder	*/
+	private static final String DEFAULT_PATH = "report_cache";
+	/**	File extension	*/
+	private static final String EXTENSION = ".report";
+	/**	Last access of outputs by key	*/
+	private static Map<String, Long> lastAccess = new ConcurrentHashMap<String, Long>();
+	/**	Time that a data version is reused: 10 seconds	*/
+	private static final long DATA_VERSION_TIME_TO_LIVE = 10 * 1000;
+	/**	Data version by table and client	*/
+	private static Map<String, DataVersion> dataVersions = new ConcurrentHashMap<String, DataVersion>();
+
+	/**
+	 * Data version read at a time
+	 */
+	private static class DataVersion {
+		private long time = System.currentTimeMillis();
+		private String version;
+
+		private DataVersion(String version) {
+			this.version = version;
+		}
+	}
+
+	/**
+	 * Get setup of cache
+	 * @return
+	 */
+	private static ReportCache getSetup() {
+		if(SetupLoader.getInstance() == null
+				|| SetupLoader.getInstance().getServer() == null) {
+			return null;
+		}
+		return SetupLoader.getInstance().getServer().getReport_cache();
+	}
+
+	/**
+	 * Get folder of cached outputs
+	 * @return
+	 */
+	private static File getFolder() {
+		String path = getSetup().getPath();
+		if(Util.isEmpty(path, true)) {
+			path = DEFAULT_PATH;
+		}
+		return new File(path);
+	}
+
+	/**
+	 * Get definition of report if it can be cached
+	 * @param printFormatUuid
+	 * @param reportViewUuid
+	 * @return null when cache is disabled or report is not defined
+	 */
+	public static ReportCacheDefinition getDefinition(String printFormatUuid, String reportViewUuid) {
+		ReportCache setup = getSetup();
+		if(setup == null || !setup.getIs_enabled()) {
+			return null;
+		}
+		return setup.getReports().stream()
+			.filter(definition -> !Util.isEmpty(definition.getUuid(), true))
+			.filter(definition -> definition.getUuid().equals(printFormatUuid) || definition.getUuid().equals(reportViewUuid))
+			.findFirst()
+			.orElse(null);
+	}
+
+	/**
+	 * Get key of output for request with client, role, user, organization, warehouse, date and
+	 * language of session, they can be used by where clause or data of report (e.g. @#AD_User_ID@)
+	 * @param definition
+	 * @param request
+	 * @return
+	 */
+	public static String getKey(ReportCacheDefinition definition, GetReportOutputRequest request) {
+		Properties context = Env.getCtx();
+		StringBuffer key = new StringBuffer(request.toString())
+			.append("|").append(Env.getAD_Client_ID(context))
+			.append("|").append(Env.getAD_Role_ID(context))
+			.append("|").append(Env.getAD_User_ID(context))
+			.append("|").append(Env.getAD_Org_ID(context))
+			.append("|").append(Env.getContextAsInt(context, "#M_Warehouse_ID"))
+			.append("|").append(Env.getContext(context, "#Date"))
+			.append("|").append(Env.getAD_Language(context));
+		if(definition.getIs_check_data_changes()) {
+			key.append("|").append(getDataVersion(request.getCriteria().getTableName()));
+		}
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+			StringBuffer hexKey = new StringBuffer();
+			for(byte value : hash) {
+				hexKey.append(String.format("%02x", value));
+			}
+			return hexKey.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new AdempiereException(e);
+		}
+	}
+
+	/**
+	 * Get quantity and last update of records of table for client. It is a COUNT and MAX(Updated)
+	 * of whole table for client, then it is only enabled for reports with is_check_data_changes and
+	 * the result is reused by table and client for 10 seconds, the changes of this time can be
+	 * served from cache until time to live of output.
+	 * @param tableName
+	 * @return
+	 */
+	private static String getDataVersion(String tableName) {
+		MTable table = MTable.get(Env.getCtx(), tableName);
+		if(table == null || table.getAD_Table_ID() <= 0) {
+			return "";
+		}
+		String versionKey = table.getTableName() + "|" + Env.getAD_Client_ID(Env.getCtx());
+		DataVersion dataVersion = dataVersions.get(versionKey);
+		if(dataVersion == null
+				|| System.currentTimeMillis() - dataVersion.time >= DATA_VERSION_TIME_TO_LIVE) {
+			dataVersion = new DataVersion(readDataVersion(table));
+			dataVersions.put(versionKey, dataVersion);
+		}
+		return dataVersion.version;
+	}
+
+	/**
+	 * Read quantity and last update of records of table for client
+	 * @param table
+	 * @return
+	 */
+	private static String readDataVersion(MTable table) {
+		String sql = "SELECT COUNT(*), MAX(Updated) FROM " + table.getTableName() + " WHERE AD_Client_ID IN (0, ?)";
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try {
+			pstmt = DB.prepareStatement(sql, null);
+			pstmt.setInt(1, Env.getAD_Client_ID(Env.getCtx()));
+			rs = pstmt.executeQuery();
+			if(rs.next()) {
+				return rs.getLong(1) + "|" + rs.getTimestamp(2);
+			}
+		} catch (Exception e) {
+			log.warning(e.getLocalizedMessage());
+		} finally {
+			DB.close(rs, pstmt);
+		}
+		return "";
+	}
+
+	/**
+	 * Get cached output
+	 * @param definition
+	 * @param key
+	 * @return null if it does not exist or it is expired
+	 */
+	public static ReportOutput get(ReportCacheDefinition definition, String key) {
+		File file = new File(getFolder(), key + EXTENSION);
+		if(!file.exists()) {
+			return null;
+		}
+		long timeToLive = definition.getTime_to_live() > 0 ? definition.getTime_to_live() : getSetup().getTime_to_live();
+		if(System.currentTimeMillis() - file.lastModified() > timeToLive * 1000) {
+			file.delete();
+			lastAccess.remove(key);
+			return null;
+		}
+		try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+			ReportOutput output = ReportOutput.parseFrom(inputStream);
+			lastAccess.put(key, System.currentTimeMillis());
+			return output;
+		} catch (IOException e) {
+			log.log(Level.WARNING, "Report Cache " + key + " can not be read", e);
+			file.delete();
+			return null;
+		}
+	}
+
+	/**
+	 * Save output and delete least used outputs if folder is bigger than maximum size
+	 * @param key
+	 * @param output
+	 */
+	public static void put(String key, ReportOutput output) {
+		File folder = getFolder();
+		folder.mkdirs();
+		File file = new File(folder, key + EXTENSION);
+		File temporaryFile = new File(folder, key + EXTENSION + ".tmp");
+		try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(temporaryFile))) {
+			output.writeTo(outputStream);
+		} catch (IOException e) {
+			log.log(Level.WARNING, "Report Cache " + key + " can not be saved", e);
+			temporaryFile.delete();
+			return;
+		}
+		try {
+			Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			lastAccess.put(key, System.currentTimeMillis());
+		} catch (IOException e) {
+			log.log(Level.WARNING, "Report Cache " + key + " can not be saved", e);
+			temporaryFile.delete();
+			return;
+		}
+		deleteLeastUsed(folder);
+	}
+
+	/**
+	 * Delete least used outputs until folder size is less than maximum size
+	 * @param folder
+	 */
+	private static synchronized void deleteLeastUsed(File folder) {
+		long maximumSize = getSetup().getMaximum_size() * 1024L * 1024L;
+		File[] files = folder.listFiles((directory, name) -> name.endsWith(EXTENSION));
+		if(maximumSize <= 0 || files == null) {
+			return;
+		}
+		long size = Arrays.stream(files).mapToLong(File::length).sum();
+		if(size <= maximumSize) {
+			return;
+		}
+		Arrays.sort(files, Comparator.comparingLong(file -> {
+			String key = file.getName().substring(0, file.getName().length() - EXTENSION.length());
+			return lastAccess.getOrDefault(key, file.lastModified());
+		}));
+		for(File file : files) {
+			if(size <= maximumSize) {
+				break;
+			}
+			size -= file.length();
+			file.delete();
+			lastAccess.remove(file.getName().substring(0, file.getName().length() - EXTENSION.length()));
+		}
+	}
+}
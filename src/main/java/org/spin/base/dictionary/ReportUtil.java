@@ -22,16 +22,23 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.compiere.model.MProcessPara;
 import org.compiere.model.MQuery;
 import org.compiere.model.MTable;
+import org.compiere.model.PrintInfo;
+import org.compiere.print.MPrintFormat;
 import org.compiere.print.ReportEngine;
 import org.compiere.util.Env;
+import org.compiere.util.Language;
 import org.compiere.util.Util;
 import org.spin.backend.grpc.common.Condition;
 import org.spin.backend.grpc.common.Criteria;
@@ -155,6 +162,107 @@ public class ReportUtil {
 	}
 
 
+	/**
+	 * Get extension of output for report type
+	 * @param reportEngine
+	 * @param reportType
+	 * @return null if report type is not supported
+	 */
+	public static String getOutputExtension(ReportEngine reportEngine, String reportType) {
+		ReportExportHandler exportHandler = new ReportExportHandler(Env.getCtx(), reportEngine);
+		AbstractExportFormat exporter = exportHandler.getExporterFromExtension(reportType);
+		if(exporter == null) {
+			return null;
+		}
+		return exporter.getExtension();
+	}
+
+	/**
+	 * Write output of report directly to a stream for text formats (html, csv, ssv, txt, xml) and postscript,
+	 * other formats are exported to a temporary file that is copied to stream and deleted
+	 * @param reportEngine
+	 * @param reportType
+	 * @param outputStream it is closed after write
+	 * @throws IOException
+	 */
+	public static void writeOutput(ReportEngine reportEngine, String reportType, OutputStream outputStream) throws IOException {
+		String extension = getOutputExtension(reportEngine, reportType);
+		if(extension == null) {
+			throw new IOException("Unsupported Report Type: " + reportType);
+		}
+		Language language = reportEngine.getPrintFormat().getLanguage();
+		Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+		boolean isWritten = true;
+		if(extension.equals("html") || extension.equals("htm")) {
+			isWritten = reportEngine.createHTML(writer, false, language);
+		} else if(extension.equals("csv")) {
+			isWritten = reportEngine.createCSV(writer, ',', language);
+		} else if(extension.equals("ssv")) {
+			isWritten = reportEngine.createCSV(writer, ';', language);
+		} else if(extension.equals("txt")) {
+			isWritten = reportEngine.createCSV(writer, '\t', language);
+		} else if(extension.equals("xml")) {
+			isWritten = reportEngine.createXML(writer);
+		} else if(extension.equals("ps")) {
+			isWritten = reportEngine.createPS(outputStream);
+		} else {
+			//	Exporters only write to file
+			File file = createOutput(reportEngine, reportType);
+			if(file == null) {
+				throw new IOException("Report Output Not Created: " + reportType);
+			}
+			try (InputStream inputStream = new FileInputStream(file)) {
+				byte[] buffer = new byte[8192];
+				int size;
+				while((size = inputStream.read(buffer)) != -1) {
+					outputStream.write(buffer, 0, size);
+				}
+			} finally {
+				file.delete();
+			}
+		}
+		//	Flush pending characters and close stream
+		writer.close();
+		if(!isWritten) {
+			throw new IOException("Report Output Not Created: " + reportType);
+		}
+	}
+
+	/**	Document type of report engine by table	*/
+	private static final Map<String, Integer> documentTypes = new HashMap<String, Integer>();
+	static {
+		documentTypes.put("C_Order", ReportEngine.ORDER);
+		documentTypes.put("M_InOut", ReportEngine.SHIPMENT);
+		documentTypes.put("C_Invoice", ReportEngine.INVOICE);
+		documentTypes.put("C_Project", ReportEngine.PROJECT);
+		documentTypes.put("C_RfQResponse", ReportEngine.RFQ);
+		documentTypes.put("C_PaySelectionCheck", ReportEngine.CHECK);
+		documentTypes.put("C_DunningRunEntry", ReportEngine.DUNNING);
+		documentTypes.put("PP_Order", ReportEngine.MANUFACTURING_ORDER);
+		documentTypes.put("DD_Order", ReportEngine.DISTRIBUTION_ORDER);
+	}
+
+	/**
+	 * Get report engine for print a record, without print format the print format of document type is used
+	 * @param table
+	 * @param recordId
+	 * @param printFormat
+	 * @return null if table is not a document and print format is not defined
+	 */
+	public static ReportEngine getDocumentReportEngine(MTable table, int recordId, MPrintFormat printFormat) {
+		if(printFormat == null) {
+			Integer documentType = documentTypes.get(table.getTableName());
+			if(documentType == null) {
+				return null;
+			}
+			return ReportEngine.get(Env.getCtx(), documentType, recordId);
+		}
+		MQuery query = new MQuery(table.getTableName());
+		query.addRestriction(table.getKeyColumns()[0], MQuery.EQUAL, recordId);
+		PrintInfo printInformation = new PrintInfo(printFormat.getName(), table.getAD_Table_ID(), recordId, 0);
+		return new ReportEngine(Env.getCtx(), printFormat, query, printInformation);
+	}
+
 	public static OutputStream mergePdfFiles(List<File> inputFilesList, File outputFile) throws Exception {
 		List<InputStream> inputStreamsList = new ArrayList<InputStream>();
 		inputFilesList.stream().forEach(inputFile -> {
@@ -0,0 +1,182 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.dictionary;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.adempiere.core.domains.models.I_AD_Column;
+import org.adempiere.core.domains.models.I_AD_Element;
+import org.adempiere.core.domains.models.I_AD_FieldCustom;
+import org.adempiere.core.domains.models.I_AD_FieldGroup;
+import org.adempiere.core.domains.models.X_AD_FieldGroup;
+import org.compiere.model.MColumn;
+import org.compiere.model.MFieldCustom;
+import org.compiere.model.M_Element;
+import org.compiere.model.Query;
+import org.compiere.util.Env;
+
+/**
+ * Rows used for convert all fields of a window, loaded with a few queries
+ * instead of a query for each field. It is read only after load, then can be
+ * shared between threads that convert fields of the same window.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class WindowPrefetch {
+
+	/**	Fields of window	*/
+	private static final String WINDOW_FIELDS = "SELECT f.AD_Field_ID FROM AD_Field f "
+		+ "INNER JOIN AD_Tab t ON(t.AD_Tab_ID = f.AD_Tab_ID) "
+		+ "WHERE t.AD_Window_ID = ?";
+	/**	Columns of window fields	*/
+	private static final String WINDOW_COLUMNS = "SELECT f.AD_Column_ID FROM AD_Field f "
+		+ "INNER JOIN AD_Tab t ON(t.AD_Tab_ID = f.AD_Tab_ID) "
+		+ "WHERE t.AD_Window_ID = ?";
+
+	/**	Columns	*/
+	private Map<Integer, MColumn> columns = new HashMap<Integer, MColumn>();
+	/**	Elements	*/
+	private Map<Integer, M_Element> elements = new HashMap<Integer, M_Element>();
+	/**	Field Groups	*/
+	private Map<Integer, X_AD_FieldGroup> fieldGroups = new HashMap<Integer, X_AD_FieldGroup>();
+	/**	Field customization by field	*/
+	private Map<Integer, MFieldCustom> fieldCustoms = new HashMap<Integer, MFieldCustom>();
+
+	/**
+	 * Load all rows for window
+	 * @param context
+	 * @param windowId
+	 * @return
+	 */
+	public static WindowPrefetch load(Properties context, int windowId) {
+		WindowPrefetch prefetch = new WindowPrefetch();
+		//	Columns
+		List<MColumn> columnsList = new Query(
+			context,
+			I_AD_Column.Table_Name,
+			I_AD_Column.COLUMNNAME_AD_Column_ID + " IN(" + WINDOW_COLUMNS + ")",
+			null
+		)
+			.setParameters(windowId)
+			.list();
+		columnsList.forEach(column -> prefetch.columns.put(column.getAD_Column_ID(), column));
+		//	Elements
+		List<M_Element> elementsList = new Query(
+			context,
+			I_AD_Element.Table_Name,
+			I_AD_Element.COLUMNNAME_AD_Element_ID + " IN(SELECT c.AD_Element_ID FROM AD_Column c WHERE c.AD_Column_ID IN(" + WINDOW_COLUMNS + "))",
+			null
+		)
+			.setParameters(windowId)
+			.list();
+		elementsList.forEach(element -> prefetch.elements.put(element.getAD_Element_ID(), element));
+		//	Field Groups
+		List<X_AD_FieldGroup> fieldGroupsList = new Query(
+			context,
+			I_AD_FieldGroup.Table_Name,
+			I_AD_FieldGroup.COLUMNNAME_AD_FieldGroup_ID + " IN(SELECT f.AD_FieldGroup_ID FROM AD_Field f "
+				+ "INNER JOIN AD_Tab t ON(t.AD_Tab_ID = f.AD_Tab_ID) "
+				+ "WHERE t.AD_Window_ID = ?)",
+			null
+		)
+			.setParameters(windowId)
+			.list();
+		fieldGroupsList.forEach(fieldGroup -> prefetch.fieldGroups.put(fieldGroup.getAD_FieldGroup_ID(), fieldGroup));
+		//	Field Custom, user customization has priority over role
+		prefetch.loadFieldCustoms(context, windowId, "wc.AD_Role_ID = ?", Env.getAD_Role_ID(context));
+		prefetch.loadFieldCustoms(context, windowId, "wc.AD_User_ID = ?", Env.getAD_User_ID(context));
+		return prefetch;
+	}
+
+	/**
+	 * Load field customization of window, replace previous loaded values
+	 * @param context
+	 * @param windowId
+	 * @param restriction
+	 * @param restrictionId
+	 */
+	private void loadFieldCustoms(Properties context, int windowId, String restriction, int restrictionId) {
+		final String whereClause = "AD_Field_ID IN(" + WINDOW_FIELDS + ") AND EXISTS( "
+			+ "SELECT 1 FROM AD_WindowCustom AS wc "
+			+ "INNER JOIN AD_TabCustom AS tc "
+			+ "	ON tc.AD_WindowCustom_ID = wc.AD_WindowCustom_ID "
+			+ "	AND tc.AD_TabCustom_ID = AD_FieldCustom.AD_TabCustom_ID "
+			+ "WHERE " + restriction + " "
+		+ ")";
+		List<MFieldCustom> fieldCustomsList = new Query(
+			context,
+			I_AD_FieldCustom.Table_Name,
+			whereClause,
+			null
+		)
+			.setParameters(windowId, restrictionId)
+			.list();
+		fieldCustomsList.forEach(fieldCustom -> fieldCustoms.put(fieldCustom.getAD_Field_ID(), fieldCustom));
+	}
+
+	/**
+	 * Get column, if it is not prefetched get it from cache
+	 * @param context
+	 * @param columnId
+	 * @return
+	 */
+	public MColumn getColumn(Properties context, int columnId) {
+		MColumn column = columns.get(columnId);
+		if (column == null) {
+			column = MColumn.get(context, columnId);
+		}
+		return column;
+	}
+
+	/**
+	 * Get element, if it is not prefetched it is loaded
+	 * @param context
+	 * @param elementId
+	 * @return
+	 */
+	public M_Element getElement(Properties context, int elementId) {
+		M_Element element = elements.get(elementId);
+		if (element == null) {
+			element = new M_Element(context, elementId, null);
+		}
+		return element;
+	}
+
+	/**
+	 * Get field group, if it is not prefetched it is loaded
+	 * @param context
+	 * @param fieldGroupId
+	 * @return
+	 */
+	public X_AD_FieldGroup getFieldGroup(Properties context, int fieldGroupId) {
+		X_AD_FieldGroup fieldGroup = fieldGroups.get(fieldGroupId);
+		if (fieldGroup == null) {
+			fieldGroup = new X_AD_FieldGroup(context, fieldGroupId, null);
+		}
+		return fieldGroup;
+	}
+
+	/**
+	 * Get customization of field for current user or role, can be null
+	 * @param fieldId
+	 * @return
+	 */
+	public MFieldCustom getFieldCustom(int fieldId) {
+		return fieldCustoms.get(fieldId);
+	}
+
+}
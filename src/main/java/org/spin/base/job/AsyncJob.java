@@ -0,0 +1,256 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.job;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.spin.backend.grpc.common.Job;
+import org.spin.backend.grpc.common.JobStatus;
+import org.spin.backend.grpc.common.ProcessLog;
+import org.spin.backend.grpc.common.ReportOutput;
+import org.spin.base.util.ValueUtil;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * State and result of a job, listeners are notified on each change of status.
+ * The output stream of report is written on a temporary file, then finished jobs do not keep
+ * report bytes on memory. Status changes are sent without output stream, the file is read only
+ * when a completed job is requested with output.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class AsyncJob {
+
+	/**
+	 * Work of job, it set the result on job
+	 */
+	public interface JobTask {
+		void run(AsyncJob job) throws Exception;
+	}
+
+	private String id;
+	private String name;
+	private int clientId;
+	private int userId;
+	/**	Read without lock for count pending jobs and remove expired jobs	*/
+	private volatile JobStatus status = JobStatus.QUEUED;
+	private long created;
+	private long started;
+	private volatile long finished;
+	private String errorMessage;
+	private ProcessLog processLog;
+	/**	Report output without output stream	*/
+	private ReportOutput reportOutput;
+	/**	Output stream of report	*/
+	private File reportOutputFile;
+	/**	Observers of changes	*/
+	private List<Consumer<Job>> listeners = new ArrayList<Consumer<Job>>();
+
+	/**
+	 * New queued job
+	 * @param id
+	 * @param name
+	 * @param clientId
+	 * @param userId
+	 */
+	public AsyncJob(String id, String name, int clientId, int userId) {
+		this.id = id;
+		this.name = name;
+		this.clientId = clientId;
+		this.userId = userId;
+		this.created = System.currentTimeMillis();
+	}
+
+	/**
+	 * Run task and set status
+	 * @param task
+	 */
+	void run(JobTask task) {
+		started = System.currentTimeMillis();
+		setStatus(JobStatus.RUNNING);
+		try {
+			task.run(this);
+			finished = System.currentTimeMillis();
+			setStatus(JobStatus.COMPLETED);
+		} catch (Throwable e) {
+			//	Errors (e.g. out of memory) also finish the job
+			errorMessage = e.getLocalizedMessage();
+			if(errorMessage == null) {
+				errorMessage = e.getClass().getName();
+			}
+			finished = System.currentTimeMillis();
+			setStatus(JobStatus.FAILED);
+		}
+	}
+
+	/**
+	 * Change status and notify listeners, listeners are removed when job is finished
+	 * @param status
+	 */
+	private synchronized void setStatus(JobStatus status) {
+		this.status = status;
+		Job job = toJob();
+		listeners.forEach(listener -> listener.accept(job));
+		if(isFinished()) {
+			listeners.clear();
+		}
+	}
+
+	/**
+	 * Add listener, it receive the current state immediately
+	 * @param listener
+	 */
+	public synchronized void addListener(Consumer<Job> listener) {
+		listener.accept(toJob());
+		if(!isFinished()) {
+			listeners.add(listener);
+		}
+	}
+
+	/**
+	 * Remove listener (e.g. the client is disconnected)
+	 * @param listener
+	 */
+	public synchronized void removeListener(Consumer<Job> listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Convert to gRPC without output stream of report, used for status changes
+	 * @return
+	 */
+	public synchronized Job toJob() {
+		return toJobBuilder().build();
+	}
+
+	/**
+	 * Convert to gRPC with output stream of report read from file when job is completed
+	 * @return
+	 */
+	public synchronized Job toJobWithOutput() {
+		Job.Builder builder = toJobBuilder();
+		if(status == JobStatus.COMPLETED
+				&& reportOutputFile != null) {
+			builder.setReportOutput(getReportOutput());
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Convert to gRPC builder without output stream
+	 * @return
+	 */
+	private Job.Builder toJobBuilder() {
+		Job.Builder builder = Job.newBuilder()
+			.setId(id)
+			.setName(ValueUtil.validateNull(name))
+			.setStatus(status)
+			.setCreated(created)
+			.setStarted(started)
+			.setFinished(finished)
+			.setErrorMessage(ValueUtil.validateNull(errorMessage));
+		if(processLog != null) {
+			builder.setProcessLog(processLog);
+		}
+		if(reportOutput != null) {
+			builder.setReportOutput(reportOutput);
+		}
+		return builder;
+	}
+
+	public boolean isFinished() {
+		return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public int getClientId() {
+		return clientId;
+	}
+
+	public int getUserId() {
+		return userId;
+	}
+
+	public long getFinished() {
+		return finished;
+	}
+
+	public synchronized void setProcessLog(ProcessLog processLog) {
+		this.processLog = processLog;
+	}
+
+	/**
+	 * Set report output, the output stream is kept on a temporary file
+	 * @param reportOutput
+	 */
+	public synchronized void setReportOutput(ReportOutput reportOutput) {
+		release();
+		if(reportOutput.getOutputStream().isEmpty()) {
+			this.reportOutput = reportOutput;
+			return;
+		}
+		try {
+			//	It is deleted on release when the job expires
+			File file = File.createTempFile("job-" + id + "-", ".out");
+			try (OutputStream outputStream = new FileOutputStream(file)) {
+				reportOutput.getOutputStream().writeTo(outputStream);
+			}
+			this.reportOutputFile = file;
+			this.reportOutput = reportOutput.toBuilder()
+				.clearOutputStream()
+				.build();
+		} catch (Exception e) {
+			throw new AdempiereException(e);
+		}
+	}
+
+	/**
+	 * Get report output with output stream read from file
+	 * @return
+	 */
+	private ReportOutput getReportOutput() {
+		if(reportOutputFile == null) {
+			return reportOutput;
+		}
+		try (InputStream inputStream = new FileInputStream(reportOutputFile)) {
+			return reportOutput.toBuilder()
+				.setOutputStream(ByteString.readFrom(inputStream))
+				.build();
+		} catch (Exception e) {
+			throw new AdempiereException(e);
+		}
+	}
+
+	/**
+	 * Delete file of report output, it is called when the job is removed
+	 */
+	public synchronized void release() {
+		if(reportOutputFile != null) {
+			reportOutputFile.delete();
+			reportOutputFile = null;
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.job;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.compiere.util.CLogger;
+import org.compiere.util.Env;
+import org.spin.base.setup.SetupLoader;
+import org.spin.base.util.ParallelExecutorUtil;
+
+import io.grpc.Status;
+
+/**
+ * Run processes and reports on background, the job is kept after client disconnect
+ * until an hour after it is finished (the report output is kept on a file), expired jobs are
+ * removed and their files deleted by a timer. Each client
+ * can have a limited quantity of jobs waiting or running, then a client can not fill the
+ * queue of others, and the queue of all clients is bounded. A job that exceeds a limit is
+ * rejected with RESOURCE_EXHAUSTED.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class JobManager {
+
+	/**	Logger			*/
+	private static CLogger log = CLogger.getCLogger(JobManager.class);
+	/**	Time that a finished job is kept: 1 hour	*/
+	private static final long RETENTION = 60 * 60 * 1000;
+	/**	Time between removal of expired jobs: 5 minutes	*/
+	private static final long EXPIRATION_CHECK = 5 * 60 * 1000;
+	/**	Jobs by id	*/
+	private static Map<String, AsyncJob> jobs = new ConcurrentHashMap<String, AsyncJob>();
+	/**	Executor	*/
+	private static ExecutorService executor = null;
+	/**	Timer of expired jobs	*/
+	private static ScheduledExecutorService scheduler = null;
+
+	/**
+	 * Get executor, it is created with threads and queue size of setup
+	 * @return
+	 */
+	private static synchronized ExecutorService getExecutor() {
+		if(executor == null) {
+			int threads = SetupLoader.getInstance().getServer().getJob_threads();
+			if(threads <= 0) {
+				threads = 1;
+			}
+			executor = ParallelExecutorUtil.newRejectingExecutor(
+				"async-job",
+				threads,
+				SetupLoader.getInstance().getServer().getJob_queue_size()
+			);
+			scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "async-job-expiration");
+				thread.setDaemon(true);
+				return thread;
+			});
+			scheduler.scheduleWithFixedDelay(() -> {
+				try {
+					removeExpiredJobs();
+				} catch (Exception e) {
+					log.warning(e.getLocalizedMessage());
+				}
+			}, EXPIRATION_CHECK, EXPIRATION_CHECK, TimeUnit.MILLISECONDS);
+		}
+		return executor;
+	}
+
+	/**
+	 * Submit a job for client and user of context
+	 * @param context
+	 * @param name
+	 * @param task
+	 * @return
+	 */
+	public static AsyncJob submit(Properties context, String name, AsyncJob.JobTask task) {
+		int clientId = Env.getAD_Client_ID(context);
+		int userId = Env.getAD_User_ID(context);
+		AsyncJob job = new AsyncJob(UUID.randomUUID().toString(), name, clientId, userId);
+		synchronized (jobs) {
+			int maximum = SetupLoader.getInstance().getServer().getJob_queue_size_per_client();
+			long pending = jobs.values().stream()
+				.filter(pendingJob -> pendingJob.getClientId() == clientId && !pendingJob.isFinished())
+				.count();
+			if(maximum > 0 && pending >= maximum) {
+				throw Status.RESOURCE_EXHAUSTED
+					.withDescription("@AD_Client_ID@ " + clientId + ": maximum pending jobs " + maximum)
+					.asRuntimeException();
+			}
+			jobs.put(job.getId(), job);
+		}
+		try {
+			getExecutor().submit(ParallelExecutorUtil.withDetachedContextCopy(context, () -> {
+				job.run(task);
+				return null;
+			}));
+		} catch (RejectedExecutionException e) {
+			jobs.remove(job.getId());
+			throw Status.RESOURCE_EXHAUSTED
+				.withDescription("Maximum queued jobs " + SetupLoader.getInstance().getServer().getJob_queue_size())
+				.asRuntimeException();
+		}
+		log.fine("Job " + job.getId() + " submitted: " + name);
+		return job;
+	}
+
+	/**
+	 * Get job of user of context
+	 * @param context
+	 * @param id
+	 * @return
+	 */
+	public static AsyncJob getJob(Properties context, String id) {
+		AsyncJob job = jobs.get(id);
+		if(job == null
+				|| job.getClientId() != Env.getAD_Client_ID(context)
+				|| job.getUserId() != Env.getAD_User_ID(context)) {
+			throw new AdempiereException("@NotFound@ " + id);
+		}
+		return job;
+	}
+
+	/**
+	 * Remove finished jobs after retention time and release their files
+	 */
+	private static void removeExpiredJobs() {
+		long expiredTime = System.currentTimeMillis() - RETENTION;
+		jobs.values().removeIf(job -> {
+			if(job.isFinished() && job.getFinished() < expiredTime) {
+				job.release();
+				return true;
+			}
+			return false;
+		});
+	}
+}
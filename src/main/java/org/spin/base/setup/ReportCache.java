@@ -0,0 +1,83 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.setup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache of report outputs on local disk, only reports defined are cached
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class ReportCache {
+	/**	Is Enabled	*/
+	private boolean is_enabled;
+	/**	Folder of cached outputs	*/
+	private String path;
+	/**	Default time to live in seconds	*/
+	private int time_to_live = 600;
+	/**	Maximum size of folder in MB	*/
+	private int maximum_size = 512;
+	/**	Reports that can be cached	*/
+	private List<ReportCacheDefinition> reports = new ArrayList<ReportCacheDefinition>();
+
+	/**
+	 * Default constructor without parameters
+	 */
+	public ReportCache() {
+
+	}
+
+	/**
+	 * @return the is_enabled
+	 */
+	public final boolean getIs_enabled() {
+		return is_enabled;
+	}
+
+	/**
+	 * @return the path
+	 */
+	public final String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return the time_to_live
+	 */
+	public final int getTime_to_live() {
+		return time_to_live;
+	}
+
+	/**
+	 * @return the maximum_size
+	 */
+	public final int getMaximum_size() {
+		return maximum_size;
+	}
+
+	/**
+	 * @return the reports
+	 */
+	public final List<ReportCacheDefinition> getReports() {
+		return reports;
+	}
+
+	@Override
+	public String toString() {
+		return "ReportCache [is_enabled=" + is_enabled + ", path=" + path + ", time_to_live=" + time_to_live
+				+ ", maximum_size=" + maximum_size + ", reports=" + reports + "]";
+	}
+}
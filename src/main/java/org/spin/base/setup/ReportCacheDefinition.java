@@ -0,0 +1,62 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.setup;
+
+/**
+ * Report that can be cached, it is a print format or report view
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class ReportCacheDefinition {
+	/**	Print Format or Report View UUID	*/
+	private String uuid;
+	/**	Time to live in seconds, 0 for default of cache	*/
+	private int time_to_live;
+	/**	Add quantity and last update of records to key	*/
+	private boolean is_check_data_changes;
+
+	/**
+	 * Default constructor without parameters
+	 */
+	public ReportCacheDefinition() {
+
+	}
+
+	/**
+	 * @return the uuid
+	 */
+	public final String getUuid() {
+		return uuid;
+	}
+
+	/**
+	 * @return the time_to_live
+	 */
+	public final int getTime_to_live() {
+		return time_to_live;
+	}
+
+	/**
+	 * @return the is_check_data_changes
+	 */
+	public final boolean getIs_check_data_changes() {
+		return is_check_data_changes;
+	}
+
+	@Override
+	public String toString() {
+		return "ReportCacheDefinition [uuid=" + uuid + ", time_to_live=" + time_to_live
+				+ ", is_check_data_changes=" + is_check_data_changes + "]";
+	}
+}
@@ -15,6 +15,7 @@
  ************************************************************************************/
 package org.spin.base.setup;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 
@@ -44,6 +45,26 @@ public class Server {
 	private boolean is_enabled_all_services;
 	/**	Embedded services	*/
 	private List<String> services;
+	/**	Threads for build dictionary definitions, 1 or less for build on request thread	*/
+	private int dictionary_build_threads = Runtime.getRuntime().availableProcessors();
+	/**	Folder of dictionary snapshots	*/
+	private String dictionary_snapshot_path;
+	/**	Definitions loaded on start	*/
+	private Warmup warmup;
+	/**	Threads for run asynchronous jobs	*/
+	private int job_threads = 4;
+	/**	Maximum queued jobs of all clients	*/
+	private int job_queue_size = 200;
+	/**	Maximum queued and running jobs of a client	*/
+	private int job_queue_size_per_client = 20;
+	/**	Cache of report outputs	*/
+	private ReportCache report_cache;
+	/**	Seconds that responses of idempotency keys are kept, 0 for disable	*/
+	private long idempotency_time_to_live = 600;
+	/**	Save sequences of tab with a batch update when the table does not have logic on save	*/
+	private boolean is_batch_tab_sequences = false;
+	/**	Tables without model validators listening changes, their sequences are saved with a batch update	*/
+	private List<String> batch_tab_sequences_tables = new ArrayList<String>();
 
 	/**
 	 * Default constructor
@@ -165,6 +186,97 @@ public class Server {
 		return expiration;
 	}
 
+	/**
+	 * Threads used for convert tabs and fields of a window
+	 * @return
+	 */
+	public int getDictionary_build_threads() {
+		return dictionary_build_threads;
+	}
+
+	/**
+	 * Folder for save and load dictionary snapshots
+	 * @return
+	 */
+	public String getDictionary_snapshot_path() {
+		return dictionary_snapshot_path;
+	}
+
+	/**
+	 * Warmup setup, disabled when it is not defined
+	 * @return
+	 */
+	public Warmup getWarmup() {
+		if(warmup == null) {
+			warmup = new Warmup();
+		}
+		return warmup;
+	}
+
+	/**
+	 * Threads used for run asynchronous jobs
+	 * @return
+	 */
+	public int getJob_threads() {
+		return job_threads;
+	}
+
+	/**
+	 * Maximum jobs waiting for a thread (all clients)
+	 * @return
+	 */
+	public int getJob_queue_size() {
+		return job_queue_size;
+	}
+
+	/**
+	 * Maximum jobs of a client waiting or running
+	 * @return
+	 */
+	public int getJob_queue_size_per_client() {
+		return job_queue_size_per_client;
+	}
+
+	/**
+	 * Cache of report outputs, disabled when it is not defined
+	 * @return
+	 */
+	public ReportCache getReport_cache() {
+		if(report_cache == null) {
+			report_cache = new ReportCache();
+		}
+		return report_cache;
+	}
+
+	/**
+	 * Seconds that the response of a call with idempotency key is kept
+	 * @return
+	 */
+	public long getIdempotency_time_to_live() {
+		return idempotency_time_to_live;
+	}
+
+	/**
+	 * Sequences of tab can be saved with a batch update, the installation must not have
+	 * model validators registered out of AD_ModelValidator (e.g. on startup of plugins)
+	 * @return
+	 */
+	public boolean getIs_batch_tab_sequences() {
+		return is_batch_tab_sequences;
+	}
+
+	/**
+	 * Tables that sequences of tab are saved with a batch update even with model validators
+	 * registered, the administrator verified that none of them listen changes of table
+	 * @return
+	 */
+	public List<String> getBatch_tab_sequences_tables() {
+		if(batch_tab_sequences_tables == null) {
+			batch_tab_sequences_tables = new ArrayList<String>();
+		}
+		return batch_tab_sequences_tables;
+	}
+
 	/**
 	 * Validate is a service is enabled
 	 * @param serviceName
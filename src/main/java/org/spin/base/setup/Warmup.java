@@ -0,0 +1,102 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.setup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Definitions loaded before the server reports it is ready
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class Warmup {
+	/**	Is Enabled	*/
+	private boolean is_enabled;
+	/**	User for session of warmup	*/
+	private int user_id;
+	/**	Language of session, empty for base language	*/
+	private String language;
+	/**	Roles used for load menu and windows, empty for default role of user	*/
+	private List<Integer> roles = new ArrayList<Integer>();
+	/**	Windows UUID	*/
+	private List<String> windows = new ArrayList<String>();
+	/**	Table Names	*/
+	private List<String> tables = new ArrayList<String>();
+	/**	Point of Sales UUID	*/
+	private List<String> point_of_sales = new ArrayList<String>();
+
+	/**
+	 * Default constructor without parameters
+	 */
+	public Warmup() {
+
+	}
+
+	/**
+	 * @return the is_enabled
+	 */
+	public final boolean getIs_enabled() {
+		return is_enabled;
+	}
+
+	/**
+	 * @return the user_id
+	 */
+	public final int getUser_id() {
+		return user_id;
+	}
+
+	/**
+	 * @return the language
+	 */
+	public final String getLanguage() {
+		return language;
+	}
+
+	/**
+	 * @return the roles
+	 */
+	public final List<Integer> getRoles() {
+		return roles;
+	}
+
+	/**
+	 * @return the windows
+	 */
+	public final List<String> getWindows() {
+		return windows;
+	}
+
+	/**
+	 * @return the tables
+	 */
+	public final List<String> getTables() {
+		return tables;
+	}
+
+	/**
+	 * @return the point_of_sales
+	 */
+	public final List<String> getPoint_of_sales() {
+		return point_of_sales;
+	}
+
+	@Override
+	public String toString() {
+		return "Warmup [is_enabled=" + is_enabled + ", user_id=" + user_id + ", language=" + language
+				+ ", roles=" + roles + ", windows=" + windows + ", tables=" + tables
+				+ ", point_of_sales=" + point_of_sales + "]";
+	}
+}
@@ -0,0 +1,203 @@
+/*************************************************************************************
+ * Product: Adempiere ERP & CRM Smart Business Solution                              *
+ * This program is free software; you can redistribute it and/or modify it          *
+ * under the terms version 2 or later of the GNU General Public License as published *
+ * by the Free Software Foundation. This program is distributed in the hope         *
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even the implied        *
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.                  *
+ * See the GNU General Public License for more details.                              *
+ * You should have received a copy of the GNU General Public License along           *
+ * with this program; if not, write to the Free Software Foundation, Inc.,           *
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA.                            *
+ * For the text or an alternative of this public license, you may reach us           *
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, S.A. All Rights Reserved. *
+ * Contributor(s): Yamel Senih www.erpya.com                                         *
+ *************************************************************************************/
+
+package org.spin.base.ui;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.compiere.model.GridField;
+import org.compiere.model.GridFieldVO;
+import org.compiere.model.GridTab;
+import org.compiere.model.GridTabVO;
+import org.compiere.model.GridWindow;
+import org.compiere.model.GridWindowVO;
+import org.compiere.model.MField;
+import org.compiere.model.MQuery;
+import org.compiere.model.MTab;
+import org.spin.base.dictionary.DictionaryVersionUtil;
+import org.spin.base.util.SessionManager;
+
+/**
+ * Grid used for run callouts of a tab, it is created once for each session, window number and tab.
+ * The grid is opened without records and each callout run on a new row, then the table
+ * is never queried and the window, tab and field definitions are not loaded again.
+ * The grid is created out of any global lock, concurrent requests of same key wait the same creation.
+ * Callers must synchronize on the runtime while the row is used.
+ * @author Yamel Senih, ysenih@erpya.com , http://www.erpya.com
+ */
+public class CalloutRuntime {
+
+	/**	Maximum grids kept in memory	*/
+	private static final int MAXIMUM_SIZE = 500;
+	/**	Grids by session, window number and tab, the least recently used is removed when it is full	*/
+	private static Map<String, RuntimeHolder> runtimes = new ConcurrentHashMap<String, RuntimeHolder>();
+
+	/**
+	 * Grid being created or created for a key
+	 */
+	private static class RuntimeHolder {
+		private Properties context;
+		private int tabNo;
+		private long dictionaryVersion;
+		private FutureTask<CalloutRuntime> task;
+		private volatile long lastAccess = System.currentTimeMillis();
+
+		private RuntimeHolder(Properties context, MTab tab, int windowNo, int tabNo, long dictionaryVersion) {
+			this.context = context;
+			this.tabNo = tabNo;
+			this.dictionaryVersion = dictionaryVersion;
+			this.task = new FutureTask<CalloutRuntime>(() -> new CalloutRuntime(context, tab, windowNo, tabNo, dictionaryVersion));
+		}
+
+		private boolean isValid(Properties context, int tabNo, long dictionaryVersion) {
+			return this.context == context
+				&& this.tabNo == tabNo
+				&& this.dictionaryVersion == dictionaryVersion;
+		}
+	}
+
+	/**	Context used for create grid	*/
+	private Properties context;
+	/**	Dictionary version used for create grid	*/
+	private long dictionaryVersion;
+	private int windowNo;
+	private int tabNo;
+	private MTab tab;
+	private GridTab gridTab;
+	/**	Fields used for call callouts by column name	*/
+	private Map<String, GridField> calloutFields = new HashMap<String, GridField>();
+
+	/**
+	 * Get grid for tab, it is created if it does not exist or dictionary was changed
+	 * @param context
+	 * @param tab
+	 * @param windowNo
+	 * @param tabNo
+	 * @param isCached false when window number is not stable, then grid is not saved
+	 * @return
+	 */
+	public static CalloutRuntime get(Properties context, MTab tab, int windowNo, int tabNo, boolean isCached) {
+		long dictionaryVersion = DictionaryVersionUtil.getCachedDictionaryVersion();
+		if(!isCached) {
+			return new CalloutRuntime(context, tab, windowNo, tabNo, dictionaryVersion);
+		}
+		String key = SessionManager.getSessionId() + "|" + windowNo + "|" + tab.getAD_Tab_ID();
+		//	Only holder is created on map, the grid is created after
+		RuntimeHolder holder = runtimes.compute(key, (currentKey, current) -> {
+			if(current != null
+					&& current.isValid(context, tabNo, dictionaryVersion)) {
+				return current;
+			}
+			return new RuntimeHolder(context, tab, windowNo, tabNo, dictionaryVersion);
+		});
+		holder.lastAccess = System.currentTimeMillis();
+		removeEldest();
+		//	It is created once, other threads wait it
+		holder.task.run();
+		try {
+			return holder.task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AdempiereException(e);
+		} catch (ExecutionException e) {
+			runtimes.remove(key, holder);
+			Throwable cause = e.getCause();
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new AdempiereException(cause);
+		}
+	}
+
+	/**
+	 * Remove least recently used grid when maximum size is exceeded
+	 */
+	private static void removeEldest() {
+		if(runtimes.size() <= MAXIMUM_SIZE) {
+			return;
+		}
+		runtimes.entrySet().stream()
+			.min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+			.ifPresent(eldest -> runtimes.remove(eldest.getKey(), eldest.getValue()));
+	}
+
+	/**
+	 * Create grid without records
+	 * @param context
+	 * @param tab
+	 * @param windowNo
+	 * @param tabNo
+	 * @param dictionaryVersion
+	 */
+	private CalloutRuntime(Properties context, MTab tab, int windowNo, int tabNo, long dictionaryVersion) {
+		this.context = context;
+		this.tab = tab;
+		this.windowNo = windowNo;
+		this.tabNo = tabNo;
+		this.dictionaryVersion = dictionaryVersion;
+		GridWindowVO gridWindowVo = GridWindowVO.create(context, windowNo, tab.getAD_Window_ID());
+		GridWindow gridWindow = new GridWindow(gridWindowVo, true);
+		GridTabVO gridTabVo = GridTabVO.create(gridWindowVo, tabNo, tab, false, true);
+		gridTab = new GridTab(gridTabVo, gridWindow, true);
+		//	Open without read records
+		gridTab.setQuery(MQuery.getNoRecordQuery(tab.getAD_Table().getTableName(), true));
+		gridTab.query(false);
+		gridTab.clearSelection();
+	}
+
+	/**
+	 * Discard current row and create a new row with default values
+	 */
+	public void newRow() {
+		gridTab.dataIgnore();
+		gridTab.dataNew(false);
+	}
+
+	/**
+	 * Get field used for call callout of column
+	 * @param field
+	 * @return
+	 */
+	public GridField getCalloutField(MField field) {
+		String key = String.valueOf(field.getAD_Field_ID());
+		GridField gridField = calloutFields.get(key);
+		if(gridField == null) {
+			GridFieldVO gridFieldVo = GridFieldVO.create(context, windowNo, tabNo, tab.getAD_Window_ID(), tab.getAD_Tab_ID(), false, field);
+			gridField = new GridField(gridFieldVo);
+			calloutFields.put(key, gridField);
+		}
+		return gridField;
+	}
+
+	public GridTab getGridTab() {
+		return gridTab;
+	}
+
+	public int getWindowNo() {
+		return windowNo;
+	}
+
+	public int getTabNo() {
+		return tabNo;
+	}
+}
@@ -0,0 +1,194 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.ui;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.adempiere.core.domains.models.I_AD_Element;
+import org.adempiere.exceptions.AdempiereException;
+import org.compiere.model.MLookupInfo;
+import org.compiere.model.MRole;
+import org.compiere.util.CLogger;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.spin.backend.grpc.common.LookupItem;
+import org.spin.base.util.LookupUtil;
+
+/**
+ * Display values of lookup records resolved by many keys: the direct query of reference
+ * is changed from <code>Key = ?</code> to <code>Key IN (?, ...)</code>, then a query is
+ * used for all keys of the same reference. Resolved values are kept on a bounded cache
+ * by query, role, language and key during a minute.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class LookupDisplayValueUtil {
+
+	/**	Logger			*/
+	private static CLogger log = CLogger.getCLogger(LookupDisplayValueUtil.class);
+	/**	Maximum keys on a query	*/
+	private static final int MAXIMUM_KEYS_BY_QUERY = 1000;
+	/**	Maximum cached display values	*/
+	private static final int MAXIMUM_CACHE_SIZE = 10000;
+	/**	Time of cached display value: 1 minute	*/
+	private static final long TIME_TO_LIVE = 60 * 1000;
+	/**	Restriction by key of direct query	*/
+	private static final Pattern KEY_RESTRICTION = Pattern.compile("=\\s*\\?");
+	/**	Display values by query, role, language and key, least recently used is removed	*/
+	private static Map<String, CachedItem> cache = Collections.synchronizedMap(
+		new LinkedHashMap<String, CachedItem>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedItem> eldest) {
+				return size() > MAXIMUM_CACHE_SIZE;
+			}
+		}
+	);
+
+	/**
+	 * Cached lookup item with time of load
+	 */
+	private static class CachedItem {
+		private LookupItem item;
+		private long loaded;
+
+		private CachedItem(LookupItem item) {
+			this.item = item;
+			this.loaded = System.currentTimeMillis();
+		}
+
+		private boolean isExpired() {
+			return System.currentTimeMillis() - loaded > TIME_TO_LIVE;
+		}
+	}
+
+	/**
+	 * Get lookup items of keys
+	 * @param reference
+	 * @param parsedDirectQuery direct query with context parsed
+	 * @param keys
+	 * @return items by key, keys without record or without access are not included
+	 */
+	public static Map<Integer, LookupItem> getLookupItems(MLookupInfo reference, String parsedDirectQuery, List<Integer> keys) {
+		Properties context = Env.getCtx();
+		String cachePrefix = parsedDirectQuery + "|" + Env.getAD_Role_ID(context) + "|" + Env.getAD_Language(context) + "|";
+		Map<Integer, LookupItem> items = new HashMap<Integer, LookupItem>();
+		List<Integer> pendingKeys = new ArrayList<Integer>();
+		keys.stream().distinct().forEach(key -> {
+			CachedItem cachedItem = cache.get(cachePrefix + key);
+			if(cachedItem != null && !cachedItem.isExpired()) {
+				items.put(key, cachedItem.item);
+			} else {
+				pendingKeys.add(key);
+			}
+		});
+		if(pendingKeys.isEmpty()) {
+			return items;
+		}
+		Matcher matcher = KEY_RESTRICTION.matcher(parsedDirectQuery);
+		int restrictionStart = -1;
+		int restrictionEnd = -1;
+		while(matcher.find()) {
+			restrictionStart = matcher.start();
+			restrictionEnd = matcher.end();
+		}
+		boolean isOnlyKeyParameter = parsedDirectQuery.chars().filter(character -> character == '?').count() == 1;
+		for(int index = 0; index < pendingKeys.size(); index += MAXIMUM_KEYS_BY_QUERY) {
+			List<Integer> keysOfQuery = pendingKeys.subList(index, Math.min(index + MAXIMUM_KEYS_BY_QUERY, pendingKeys.size()));
+			if(restrictionStart < 0 || !isOnlyKeyParameter) {
+				//	Query is not known, a query by key
+				for(Integer key : keysOfQuery) {
+					loadItems(reference, parsedDirectQuery, Collections.singletonList(key), items);
+				}
+				continue;
+			}
+			String sql = parsedDirectQuery.substring(0, restrictionStart)
+				+ " IN (" + keysOfQuery.stream().map(key -> "?").collect(Collectors.joining(", ")) + ") "
+				+ parsedDirectQuery.substring(restrictionEnd);
+			loadItems(reference, sql, keysOfQuery, items);
+		}
+		pendingKeys.forEach(key -> {
+			LookupItem item = items.get(key);
+			if(item != null) {
+				cache.put(cachePrefix + key, new CachedItem(item));
+			}
+		});
+		return items;
+	}
+
+	/**
+	 * Run query with role access and add items
+	 * @param reference
+	 * @param sql
+	 * @param keys parameters
+	 * @param items
+	 */
+	private static void loadItems(MLookupInfo reference, String sql, List<Integer> keys, Map<Integer, LookupItem> items) {
+		String sqlWithAccess = MRole.getDefault(Env.getCtx(), false).addAccessSQL(sql,
+			reference.TableName, MRole.SQL_FULLYQUALIFIED, MRole.SQL_RO);
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try {
+			pstmt = DB.prepareStatement(sqlWithAccess, null);
+			for(int index = 0; index < keys.size(); index++) {
+				pstmt.setInt(index + 1, keys.get(index));
+			}
+			rs = pstmt.executeQuery();
+			ResultSetMetaData metaData = rs.getMetaData();
+			int uuidIndex = -1;
+			for(int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
+				if(metaData.getColumnName(columnIndex).equalsIgnoreCase(I_AD_Element.COLUMNNAME_UUID)) {
+					uuidIndex = columnIndex;
+					break;
+				}
+			}
+			int keyValueType = metaData.getColumnType(1);
+			boolean isStringKey = keyValueType == Types.VARCHAR
+				|| keyValueType == Types.NVARCHAR
+				|| keyValueType == Types.CHAR
+				|| keyValueType == Types.NCHAR;
+			while(rs.next()) {
+				//	1 = Key Column
+				//	2 = Optional Value
+				//	3 = Display Value
+				Object keyValue = isStringKey ? rs.getString(2) : rs.getInt(1);
+				String uuid = uuidIndex != -1 ? rs.getString(uuidIndex) : null;
+				LookupItem item = LookupUtil.convertObjectFromResult(keyValue, uuid, rs.getString(2), rs.getString(3)).build();
+				if(!isStringKey) {
+					items.put(rs.getInt(1), item);
+				} else if(keys.size() == 1) {
+					items.put(keys.get(0), item);
+				}
+			}
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			throw new AdempiereException(e);
+		} finally {
+			DB.close(rs, pstmt);
+		}
+	}
+}
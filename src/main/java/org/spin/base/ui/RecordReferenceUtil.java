@@ -0,0 +1,183 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.ui;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.model.ZoomInfoFactory;
+import org.compiere.model.MQuery;
+import org.compiere.model.PO;
+import org.compiere.util.CCache;
+import org.compiere.util.CLogger;
+import org.compiere.util.Env;
+import org.spin.base.util.ParallelExecutorUtil;
+
+import io.grpc.Status;
+
+/**
+ * Zoom references of records with records count, used for list references and exists references.
+ * The targets and counts are retrieved with {@link ZoomInfoFactory} (zoom conditions, zoom providers
+ * and sales / purchase windows), it already counts records of each target, then they are not
+ * queried again. It is a single task of record on a bounded executor, requests for the same record
+ * wait the same task. When it is not finished before deadline the request fails with DEADLINE_EXCEEDED
+ * (the task continue on background and its result is cached), when the executor is full it fails with
+ * RESOURCE_EXHAUSTED instead of run on request thread. References are cached for a minute by record,
+ * client, role and user.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class RecordReferenceUtil {
+
+	/**	Logger			*/
+	private static CLogger log = CLogger.getCLogger(RecordReferenceUtil.class);
+	/**	Maximum time waiting for references	*/
+	private static final long DEADLINE_SECONDS = 15;
+	/**	References with records by table, record, window, client, role and user	*/
+	private static CCache<String, List<RecordReference>> referencesCache = new CCache<String, List<RecordReference>>("Record_References", 50, 1);
+	/**	References being retrieved	*/
+	private static Map<String, Future<List<RecordReference>>> pendingReferences = new ConcurrentHashMap<String, Future<List<RecordReference>>>();
+	/**	Executor, a task by record	*/
+	private static ExecutorService executor = ParallelExecutorUtil.newRejectingExecutor(
+		"record-references",
+		Math.max(2, Runtime.getRuntime().availableProcessors()),
+		100
+	);
+
+	/**
+	 * Reference of a record with records
+	 */
+	public static class RecordReference {
+		private String tableName;
+		private String columnName;
+		private Object value;
+		private int windowId;
+		private String displayName;
+		private String whereClause;
+		private int recordCount;
+
+		private RecordReference(ZoomInfoFactory.ZoomInfo zoomInfo) {
+			MQuery query = zoomInfo.query;
+			this.tableName = query.getZoomTableName();
+			this.columnName = query.getZoomColumnName();
+			this.value = query.getZoomValue();
+			this.windowId = zoomInfo.windowId;
+			this.displayName = zoomInfo.destinationDisplay;
+			this.whereClause = query.getWhereClause();
+			this.recordCount = query.getRecordCount();
+		}
+
+		public String getTableName() {
+			return tableName;
+		}
+
+		public String getColumnName() {
+			return columnName;
+		}
+
+		public Object getValue() {
+			return value;
+		}
+
+		public int getWindowId() {
+			return windowId;
+		}
+
+		public String getDisplayName() {
+			return displayName;
+		}
+
+		public String getWhereClause() {
+			return whereClause;
+		}
+
+		public int getRecordCount() {
+			return recordCount;
+		}
+	}
+
+	/**
+	 * Get zoom references of record that have records
+	 * @param entity
+	 * @param windowId
+	 * @return
+	 */
+	public static List<RecordReference> getReferencesWithRecords(PO entity, int windowId) {
+		Properties context = Env.getCtx();
+		String key = entity.get_TableName() + "|" + entity.get_ID() + "|" + windowId
+			+ "|" + Env.getAD_Client_ID(context) + "|" + Env.getAD_Role_ID(context)
+			+ "|" + Env.getAD_User_ID(context);
+		List<RecordReference> references = referencesCache.get(key);
+		if(references != null) {
+			return references;
+		}
+		//	It is shared by requests of record and it continue after deadline of request
+		FutureTask<List<RecordReference>> task = new FutureTask<List<RecordReference>>(
+			ParallelExecutorUtil.withDetachedContextCopy(context, () -> {
+				try {
+					List<RecordReference> recordReferences = ZoomInfoFactory.retrieveZoomInfos(entity, windowId)
+						.stream()
+						.filter(zoomInfo -> zoomInfo.query.getRecordCount() > 0)
+						.map(RecordReference::new)
+						.collect(Collectors.toList());
+					referencesCache.put(key, recordReferences);
+					return recordReferences;
+				} finally {
+					pendingReferences.remove(key);
+				}
+			})
+		);
+		Future<List<RecordReference>> pending = pendingReferences.putIfAbsent(key, task);
+		if(pending == null) {
+			pending = task;
+			try {
+				executor.execute(task);
+			} catch (RejectedExecutionException e) {
+				pendingReferences.remove(key, task);
+				throw Status.RESOURCE_EXHAUSTED
+					.withDescription("References of " + entity.get_TableName() + " can not be retrieved now")
+					.asRuntimeException();
+			}
+		}
+		try {
+			return pending.get(DEADLINE_SECONDS, TimeUnit.SECONDS);
+		} catch (TimeoutException e) {
+			//	It continue on background and it is cached when it is finished
+			log.warning("References of " + key + " not retrieved after " + DEADLINE_SECONDS + " seconds");
+			throw Status.DEADLINE_EXCEEDED
+				.withDescription("References of " + entity.get_TableName() + " not retrieved after " + DEADLINE_SECONDS + " seconds")
+				.asRuntimeException();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AdempiereException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new AdempiereException(cause);
+		}
+	}
+}
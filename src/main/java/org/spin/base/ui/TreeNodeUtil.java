@@ -0,0 +1,333 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.ui;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.compiere.model.MRole;
+import org.compiere.model.MTable;
+import org.compiere.model.MTree_Base;
+import org.compiere.util.CCache;
+import org.compiere.util.CLogger;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.compiere.util.Util;
+import org.spin.backend.grpc.common.TreeNode;
+import org.spin.base.util.ValueUtil;
+
+/**
+ * Children of tree nodes loaded by parent, used for load a tree level by level.
+ * The parent and sequence of all nodes of a tree (adjacency list) are cached, the cache
+ * is reloaded when the quantity or the last update of nodes of tree change (checked at most
+ * once each 10 seconds).
+ * Children are filtered by role access and where clause before page and count them, name,
+ * description and UUID are read only for the nodes of requested page (translated when the
+ * language of session is not the base language).
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class TreeNodeUtil {
+
+	/**	Logger			*/
+	private static CLogger log = CLogger.getCLogger(TreeNodeUtil.class);
+	/**	Time for check version of tree again	*/
+	private static final long VERSION_CHECK_MILLISECONDS = 10 * 1000;
+	/**	Maximum nodes by query (IN list)	*/
+	private static final int MAXIMUM_NODES_BY_QUERY = 1000;
+	/**	Adjacency list by tree	*/
+	private static CCache<Integer, TreeAdjacency> adjacencyCache = new CCache<Integer, TreeAdjacency>("Tree_Adjacency", 20, 0);
+
+	/**
+	 * Children and sequence of nodes of a tree
+	 */
+	private static class TreeAdjacency {
+		/**	Quantity and last update of nodes	*/
+		private String version;
+		/**	Last check of version	*/
+		private volatile long versionChecked;
+		/**	Children sorted by sequence	*/
+		private Map<Integer, List<Integer>> children = new HashMap<Integer, List<Integer>>();
+		/**	Sequence of node	*/
+		private Map<Integer, Integer> sequences = new HashMap<Integer, Integer>();
+		/**	Parent of node	*/
+		private Map<Integer, Integer> parents = new HashMap<Integer, Integer>();
+	}
+
+	/**
+	 * Get node table of tree
+	 * @param treeId
+	 * @return
+	 */
+	private static String getNodeTableName(int treeId) {
+		MTree_Base tree = MTree_Base.get(Env.getCtx(), treeId, null);
+		if(tree == null || tree.getAD_Tree_ID() <= 0) {
+			throw new AdempiereException("@AD_Tree_ID@ @NotFound@");
+		}
+		return tree.getNodeTableName();
+	}
+
+	/**
+	 * Get quantity and last update of nodes of tree
+	 * @param nodeTableName
+	 * @param treeId
+	 * @return
+	 */
+	private static String getVersion(String nodeTableName, int treeId) {
+		String sql = "SELECT COUNT(*), MAX(Updated) FROM " + nodeTableName + " WHERE AD_Tree_ID = ?";
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try {
+			pstmt = DB.prepareStatement(sql, null);
+			pstmt.setInt(1, treeId);
+			rs = pstmt.executeQuery();
+			if(rs.next()) {
+				return rs.getLong(1) + "|" + rs.getTimestamp(2);
+			}
+		} catch (Exception e) {
+			log.warning(e.getLocalizedMessage());
+		} finally {
+			DB.close(rs, pstmt);
+		}
+		return "";
+	}
+
+	/**
+	 * Get adjacency list of tree, it is reloaded if nodes of tree change
+	 * @param treeId
+	 * @return
+	 */
+	private static TreeAdjacency getAdjacency(int treeId) {
+		long now = System.currentTimeMillis();
+		TreeAdjacency adjacency = adjacencyCache.get(treeId);
+		if(adjacency != null && now - adjacency.versionChecked <= VERSION_CHECK_MILLISECONDS) {
+			return adjacency;
+		}
+		String nodeTableName = getNodeTableName(treeId);
+		String version = getVersion(nodeTableName, treeId);
+		if(adjacency != null && adjacency.version.equals(version)) {
+			adjacency.versionChecked = now;
+			return adjacency;
+		}
+		adjacency = new TreeAdjacency();
+		adjacency.version = version;
+		adjacency.versionChecked = now;
+		String sql = "SELECT Node_ID, COALESCE(Parent_ID, 0), SeqNo FROM " + nodeTableName
+			+ " WHERE AD_Tree_ID = ? AND IsActive = 'Y' ORDER BY COALESCE(Parent_ID, 0), SeqNo, Node_ID";
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try {
+			pstmt = DB.prepareStatement(sql, null);
+			pstmt.setInt(1, treeId);
+			rs = pstmt.executeQuery();
+			while(rs.next()) {
+				int nodeId = rs.getInt(1);
+				int parentId = rs.getInt(2);
+				if(nodeId == 0) {
+					//	Root
+					continue;
+				}
+				adjacency.children.computeIfAbsent(parentId, key -> new ArrayList<Integer>()).add(nodeId);
+				adjacency.sequences.put(nodeId, rs.getInt(3));
+				adjacency.parents.put(nodeId, parentId);
+			}
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			throw new AdempiereException(e);
+		} finally {
+			DB.close(rs, pstmt);
+		}
+		adjacencyCache.put(treeId, adjacency);
+		return adjacency;
+	}
+
+	/**
+	 * Get children of node sorted by sequence with role access and where clause
+	 * @param table
+	 * @param treeId
+	 * @param parentId 0 for root
+	 * @param whereClause optional
+	 * @return
+	 */
+	public static List<Integer> getChildren(MTable table, int treeId, int parentId, String whereClause) {
+		List<Integer> children = getAdjacency(treeId).children.getOrDefault(parentId, Collections.emptyList());
+		Set<Integer> accessibleNodeIds = getAccessibleNodeIds(table, children, whereClause);
+		return children.stream()
+			.filter(accessibleNodeIds::contains)
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Get nodes with role access and where clause, they are read by blocks of nodes
+	 * @param table
+	 * @param nodeIds
+	 * @param whereClause optional
+	 * @return
+	 */
+	private static Set<Integer> getAccessibleNodeIds(MTable table, List<Integer> nodeIds, String whereClause) {
+		Set<Integer> accessibleNodeIds = new HashSet<Integer>();
+		String keyColumnName = table.getTableName() + "." + table.getKeyColumns()[0];
+		for(int fromIndex = 0; fromIndex < nodeIds.size(); fromIndex += MAXIMUM_NODES_BY_QUERY) {
+			List<Integer> blockNodeIds = nodeIds.subList(fromIndex, Math.min(fromIndex + MAXIMUM_NODES_BY_QUERY, nodeIds.size()));
+			StringBuffer sql = new StringBuffer("SELECT ").append(keyColumnName)
+				.append(" FROM ").append(table.getTableName())
+				.append(" WHERE ").append(keyColumnName)
+				.append(" IN (")
+				.append(blockNodeIds.stream().map(String::valueOf).collect(Collectors.joining(", ")))
+				.append(")");
+			if(!Util.isEmpty(whereClause, true)) {
+				sql.append(" AND (").append(whereClause).append(")");
+			}
+			String sqlWithAccess = MRole.getDefault().addAccessSQL(sql.toString(), table.getTableName(), MRole.SQL_FULLYQUALIFIED, MRole.SQL_RO);
+			PreparedStatement pstmt = null;
+			ResultSet rs = null;
+			try {
+				pstmt = DB.prepareStatement(sqlWithAccess, null);
+				rs = pstmt.executeQuery();
+				while(rs.next()) {
+					accessibleNodeIds.add(rs.getInt(1));
+				}
+			} catch (Exception e) {
+				log.severe(e.getLocalizedMessage());
+				throw new AdempiereException(e);
+			} finally {
+				DB.close(rs, pstmt);
+			}
+		}
+		return accessibleNodeIds;
+	}
+
+	/**
+	 * Convert a page of nodes (with access, see {@link #getChildren(MTable, int, int, String)}), name,
+	 * description and UUID are read from table (and its translation) with one query, a node has
+	 * children when it has children with access and where clause
+	 * @param table
+	 * @param treeId
+	 * @param nodeIds
+	 * @param whereClause optional
+	 * @return nodes on same order of node ids
+	 */
+	public static List<TreeNode.Builder> convertNodes(MTable table, int treeId, List<Integer> nodeIds, String whereClause) {
+		if(nodeIds == null || nodeIds.isEmpty()) {
+			return new ArrayList<TreeNode.Builder>();
+		}
+		TreeAdjacency adjacency = getAdjacency(treeId);
+		//	Children of page with access
+		List<Integer> childNodeIds = nodeIds.stream()
+			.flatMap(nodeId -> adjacency.children.getOrDefault(nodeId, Collections.emptyList()).stream())
+			.collect(Collectors.toList());
+		Set<Integer> accessibleChildNodeIds = getAccessibleNodeIds(table, childNodeIds, whereClause);
+		String keyColumnName = table.getKeyColumns()[0];
+		//	Translation
+		MTable translationTable = null;
+		if(!Env.isBaseLanguage(Env.getCtx(), table.getTableName())) {
+			translationTable = MTable.get(Env.getCtx(), table.getTableName() + "_Trl");
+			if(translationTable != null && translationTable.getAD_Table_ID() <= 0) {
+				translationTable = null;
+			}
+		}
+		StringBuffer sql = new StringBuffer("SELECT ")
+			.append(table.getTableName()).append(".").append(keyColumnName)
+			.append(", ").append(getTranslatedColumnOrNull(table, translationTable, "Name"))
+			.append(", ").append(getTranslatedColumnOrNull(table, translationTable, "Description"))
+			.append(", ").append(table.getColumn("IsSummary") != null ? table.getTableName() + ".IsSummary" : "'N'")
+			.append(", ").append(getColumnOrNull(table, "UUID"))
+			.append(" FROM ").append(table.getTableName());
+		if(translationTable != null) {
+			sql.append(" LEFT JOIN ").append(translationTable.getTableName()).append(" trl ON(")
+				.append("trl.").append(keyColumnName).append(" = ")
+				.append(table.getTableName()).append(".").append(keyColumnName)
+				.append(" AND trl.AD_Language = ?)");
+		}
+		sql.append(" WHERE ").append(table.getTableName()).append(".").append(keyColumnName)
+			.append(" IN (")
+			.append(nodeIds.stream().map(String::valueOf).collect(Collectors.joining(", ")))
+			.append(")");
+		Map<Integer, TreeNode.Builder> nodes = new LinkedHashMap<Integer, TreeNode.Builder>();
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try {
+			pstmt = DB.prepareStatement(sql.toString(), null);
+			if(translationTable != null) {
+				pstmt.setString(1, Env.getAD_Language(Env.getCtx()));
+			}
+			rs = pstmt.executeQuery();
+			while(rs.next()) {
+				int nodeId = rs.getInt(1);
+				boolean isWithChildren = adjacency.children.getOrDefault(nodeId, Collections.emptyList()).stream()
+					.anyMatch(accessibleChildNodeIds::contains);
+				nodes.put(nodeId, TreeNode.newBuilder()
+					.setId(nodeId)
+					.setRecordId(nodeId)
+					.setRecordUuid(ValueUtil.validateNull(rs.getString(5)))
+					.setSequence(String.valueOf(adjacency.sequences.getOrDefault(nodeId, 0)))
+					.setName(ValueUtil.validateNull(rs.getString(2)))
+					.setDescription(ValueUtil.validateNull(rs.getString(3)))
+					.setParentId(adjacency.parents.getOrDefault(nodeId, 0))
+					.setIsSummary("Y".equals(rs.getString(4)))
+					.setIsActive(true)
+					.setHasChildren(isWithChildren)
+				);
+			}
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			throw new AdempiereException(e);
+		} finally {
+			DB.close(rs, pstmt);
+		}
+		return nodeIds.stream()
+			.filter(nodes::containsKey)
+			.map(nodes::get)
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Get fully qualified column or NULL if table does not have column
+	 * @param table
+	 * @param columnName
+	 * @return
+	 */
+	private static String getColumnOrNull(MTable table, String columnName) {
+		if(table.getColumn(columnName) == null) {
+			return "NULL";
+		}
+		return table.getTableName() + "." + columnName;
+	}
+
+	/**
+	 * Get translated column with value of table when it is not translated, or column of table
+	 * if translation table does not have column
+	 * @param table
+	 * @param translationTable null if it is not translated
+	 * @param columnName
+	 * @return
+	 */
+	private static String getTranslatedColumnOrNull(MTable table, MTable translationTable, String columnName) {
+		String column = getColumnOrNull(table, columnName);
+		if(translationTable == null || translationTable.getColumn(columnName) == null) {
+			return column;
+		}
+		return "COALESCE(trl." + columnName + ", " + column + ")";
+	}
+}
@@ -0,0 +1,367 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.compiere.model.MClient;
+import org.compiere.model.MRole;
+import org.compiere.model.ModelValidationEngine;
+import org.compiere.model.ModelValidator;
+import org.compiere.model.PO;
+import org.compiere.util.CLogger;
+import org.compiere.util.Env;
+import org.compiere.util.Trx;
+import org.compiere.util.TrxEventListener;
+import org.spin.backend.grpc.common.EntityChange;
+import org.spin.backend.grpc.common.EntityChangeType;
+
+import io.grpc.stub.ServerCallStreamObserver;
+
+/**
+ * Feed of changes of records for subscribers by table or record.
+ * Changes are received from a model validator registered by client and table on first
+ * subscription, then only changes saved by this server are notified. Changes of a transaction
+ * are published after commit (discarded on rollback) and each subscriber only receives changes
+ * of records with access (organization and record access of its role).
+ * The changes of a subscriber are coalesced by record and sent each half second when
+ * the stream is ready (backpressure), if too many changes are pending they are replaced
+ * by a change of table (client must reload all records).
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class EntityChangeFeed {
+
+	/**	Logger			*/
+	private static CLogger log = CLogger.getCLogger(EntityChangeFeed.class);
+	/**	Time between sends of pending changes	*/
+	private static final long FLUSH_MILLISECONDS = 500;
+	/**	Maximum pending changes of a subscriber	*/
+	private static final int MAXIMUM_PENDING_CHANGES = 1000;
+	/**	Subscribers by table name (upper case)	*/
+	private static Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<String, List<Subscriber>>();
+	/**	Client and table with validator registered	*/
+	private static Set<String> registeredTables = ConcurrentHashMap.newKeySet();
+	/**	Validator by client	*/
+	private static Map<Integer, ChangeValidator> validators = new ConcurrentHashMap<Integer, ChangeValidator>();
+	/**	Changes waiting for commit by transaction name	*/
+	private static Map<String, List<RecordChange>> transactionChanges = new ConcurrentHashMap<String, List<RecordChange>>();
+	/**	Send of pending changes	*/
+	private static ScheduledExecutorService scheduler = null;
+
+	/**
+	 * Change of a record with values for validate access of subscribers
+	 */
+	private static class RecordChange {
+		private int clientId;
+		private int tableId;
+		private int organizationId;
+		private EntityChange change;
+
+		private RecordChange(int clientId, PO entity, EntityChangeType changeType) {
+			this.clientId = clientId;
+			this.tableId = entity.get_Table_ID();
+			this.organizationId = entity.getAD_Org_ID();
+			this.change = EntityChange.newBuilder()
+				.setTableName(entity.get_TableName())
+				.setRecordId(entity.get_ID())
+				.setRecordUuid(ValueUtil.validateNull(entity.get_UUID()))
+				.setChangeType(changeType)
+				.setChanged(System.currentTimeMillis())
+				.build();
+		}
+	}
+
+	/**
+	 * Publish changes of transaction after commit
+	 */
+	private static class TransactionChangeListener implements TrxEventListener {
+		private String transactionName;
+
+		private TransactionChangeListener(String transactionName) {
+			this.transactionName = transactionName;
+		}
+
+		@Override
+		public void afterCommit(Trx trx, boolean success) {
+			List<RecordChange> changes = transactionChanges.remove(transactionName);
+			if(!success || changes == null) {
+				return;
+			}
+			changes.forEach(recordChange -> {
+				try {
+					publish(recordChange);
+				} catch (Exception e) {
+					log.warning(e.getLocalizedMessage());
+				}
+			});
+		}
+
+		@Override
+		public void afterRollback(Trx trx, boolean success) {
+			transactionChanges.remove(transactionName);
+		}
+
+		@Override
+		public void afterClose(Trx trx) {
+			transactionChanges.remove(transactionName);
+		}
+	}
+
+	/**
+	 * Subscription of a stream
+	 */
+	private static class Subscriber {
+		private ServerCallStreamObserver<EntityChange> observer;
+		private int clientId;
+		private int roleId;
+		private int userId;
+		private Properties context;
+		private String tableName;
+		/**	0 for all records	*/
+		private int recordId;
+		/**	Pending changes by record	*/
+		private Map<Integer, EntityChange> pendingChanges = new LinkedHashMap<Integer, EntityChange>();
+		private boolean isTableChanged = false;
+
+		private Subscriber(ServerCallStreamObserver<EntityChange> observer, Properties context, String tableName, int recordId) {
+			this.observer = observer;
+			this.context = context;
+			this.clientId = Env.getAD_Client_ID(context);
+			this.roleId = Env.getAD_Role_ID(context);
+			this.userId = Env.getAD_User_ID(context);
+			this.tableName = tableName;
+			this.recordId = recordId;
+		}
+
+		/**
+		 * Verify if role of subscriber has access to organization and record of change
+		 * @param recordChange
+		 * @return
+		 */
+		private boolean isAccessible(RecordChange recordChange) {
+			MRole role = MRole.get(context, roleId, userId, false);
+			return role.isOrgAccess(recordChange.organizationId, false)
+				&& role.isRecordAccess(recordChange.tableId, recordChange.change.getRecordId(), true);
+		}
+
+		/**
+		 * Add a change, a previous change of same record is replaced
+		 * @param change
+		 */
+		private synchronized void addChange(EntityChange change) {
+			if(isTableChanged) {
+				return;
+			}
+			EntityChange previousChange = pendingChanges.get(change.getRecordId());
+			if(previousChange != null
+					&& previousChange.getChangeType() == EntityChangeType.ENTITY_CREATED
+					&& change.getChangeType() == EntityChangeType.ENTITY_UPDATED) {
+				//	It is new for subscriber
+				change = change.toBuilder()
+					.setChangeType(EntityChangeType.ENTITY_CREATED)
+					.build();
+			}
+			pendingChanges.put(change.getRecordId(), change);
+			if(pendingChanges.size() > MAXIMUM_PENDING_CHANGES) {
+				pendingChanges.clear();
+				isTableChanged = true;
+			}
+		}
+
+		/**
+		 * Send pending changes while stream is ready
+		 */
+		private synchronized void flush() {
+			if(observer.isCancelled()) {
+				return;
+			}
+			if(isTableChanged) {
+				if(!observer.isReady()) {
+					return;
+				}
+				observer.onNext(EntityChange.newBuilder()
+					.setTableName(tableName)
+					.setChangeType(EntityChangeType.ENTITY_TABLE_CHANGED)
+					.setChanged(System.currentTimeMillis())
+					.build()
+				);
+				isTableChanged = false;
+			}
+			Iterator<EntityChange> changes = pendingChanges.values().iterator();
+			while(changes.hasNext() && observer.isReady()) {
+				observer.onNext(changes.next());
+				changes.remove();
+			}
+		}
+	}
+
+	/**
+	 * Validator of a client, it publish changes of registered tables
+	 */
+	private static class ChangeValidator implements ModelValidator {
+		private int clientId;
+
+		private ChangeValidator(int clientId) {
+			this.clientId = clientId;
+		}
+
+		@Override
+		public void initialize(ModelValidationEngine engine, MClient client) {
+			//	Registered by subscriptions
+		}
+
+		@Override
+		public int getAD_Client_ID() {
+			return clientId;
+		}
+
+		@Override
+		public String login(int AD_Org_ID, int AD_Role_ID, int AD_User_ID) {
+			return null;
+		}
+
+		@Override
+		public String modelChange(PO entity, int type) throws Exception {
+			EntityChangeType changeType;
+			if(type == TYPE_AFTER_NEW) {
+				changeType = EntityChangeType.ENTITY_CREATED;
+			} else if(type == TYPE_AFTER_CHANGE) {
+				changeType = EntityChangeType.ENTITY_UPDATED;
+			} else if(type == TYPE_AFTER_DELETE) {
+				changeType = EntityChangeType.ENTITY_DELETED;
+			} else {
+				return null;
+			}
+			try {
+				addChange(new RecordChange(clientId, entity, changeType), entity.get_TrxName());
+			} catch (Exception e) {
+				//	A subscriber can not fail the save of record
+				log.warning(e.getLocalizedMessage());
+			}
+			return null;
+		}
+
+		@Override
+		public String docValidate(PO entity, int timing) {
+			return null;
+		}
+	}
+
+	/**
+	 * Subscribe a stream to changes of table or record, the stream is unsubscribed when it is cancelled
+	 * @param observer
+	 * @param context session context, it is copied for validate access of changes
+	 * @param tableName
+	 * @param recordId 0 for all records
+	 */
+	public static void subscribe(ServerCallStreamObserver<EntityChange> observer, Properties context, String tableName, int recordId) {
+		Properties subscriberContext = new Properties();
+		subscriberContext.putAll(context);
+		int clientId = Env.getAD_Client_ID(subscriberContext);
+		Subscriber subscriber = new Subscriber(observer, subscriberContext, tableName, recordId);
+		List<Subscriber> tableSubscribers = subscribers.computeIfAbsent(tableName.toUpperCase(), key -> new CopyOnWriteArrayList<Subscriber>());
+		tableSubscribers.add(subscriber);
+		observer.setOnCancelHandler(() -> tableSubscribers.remove(subscriber));
+		observer.setOnReadyHandler(() -> subscriber.flush());
+		registerValidator(clientId, tableName);
+		startScheduler();
+	}
+
+	/**
+	 * Register validator of client for table once
+	 * @param clientId
+	 * @param tableName
+	 */
+	private static void registerValidator(int clientId, String tableName) {
+		if(!registeredTables.add(clientId + "|" + tableName.toUpperCase())) {
+			return;
+		}
+		ChangeValidator validator = validators.computeIfAbsent(clientId, key -> new ChangeValidator(clientId));
+		ModelValidationEngine.get().addModelChange(tableName, validator);
+	}
+
+	/**
+	 * Start send of pending changes
+	 */
+	private static synchronized void startScheduler() {
+		if(scheduler != null) {
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "entity-change-feed");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(() -> {
+			subscribers.values().forEach(tableSubscribers -> tableSubscribers.forEach(subscriber -> {
+				try {
+					subscriber.flush();
+				} catch (Exception e) {
+					log.warning(e.getLocalizedMessage());
+				}
+			}));
+		}, FLUSH_MILLISECONDS, FLUSH_MILLISECONDS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Add change of record, it is published after commit of transaction or now without transaction
+	 * @param recordChange
+	 * @param transactionName
+	 */
+	private static void addChange(RecordChange recordChange, String transactionName) {
+		Trx transaction = transactionName == null ? null : Trx.get(transactionName, false);
+		if(transaction == null) {
+			publish(recordChange);
+			return;
+		}
+		transactionChanges.computeIfAbsent(transactionName, key -> {
+			transaction.addTrxEventListener(new TransactionChangeListener(transactionName));
+			return new CopyOnWriteArrayList<RecordChange>();
+		}).add(recordChange);
+	}
+
+	/**
+	 * Add change of record to subscribers of table or record with access to record
+	 * @param recordChange
+	 */
+	private static void publish(RecordChange recordChange) {
+		EntityChange change = recordChange.change;
+		List<Subscriber> tableSubscribers = subscribers.get(change.getTableName().toUpperCase());
+		if(tableSubscribers == null || tableSubscribers.isEmpty()) {
+			return;
+		}
+		int recordId = change.getRecordId();
+		List<Subscriber> recordSubscribers = new ArrayList<Subscriber>();
+		tableSubscribers.forEach(subscriber -> {
+			if(subscriber.clientId == recordChange.clientId
+					&& (subscriber.recordId <= 0 || subscriber.recordId == recordId)
+					&& subscriber.isAccessible(recordChange)) {
+				recordSubscribers.add(subscriber);
+			}
+		});
+		recordSubscribers.forEach(subscriber -> subscriber.addChange(change));
+	}
+}
@@ -0,0 +1,167 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.spin.authentication.AuthorizationServerInterceptor;
+
+import io.grpc.Context;
+
+/**
+ * Bounded executors for run parts of a request in parallel.
+ * Each task run with a copy of session context, then <code>Env.getCtx()</code>
+ * works on worker threads as on request thread.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class ParallelExecutorUtil {
+
+	/**
+	 * Create a bounded executor, when queue is full the task is run on caller thread
+	 * @param name thread name prefix
+	 * @param threads maximum threads
+	 * @param queueSize maximum pending tasks
+	 * @return
+	 */
+	public static ExecutorService newBoundedExecutor(String name, int threads, int queueSize) {
+		return newBoundedExecutor(name, threads, queueSize, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	/**
+	 * Create a bounded executor, when queue is full the task is rejected with {@link RejectedExecutionException},
+	 * used for tasks that must not run on caller thread
+	 * @param name thread name prefix
+	 * @param threads maximum threads
+	 * @param queueSize maximum pending tasks
+	 * @return
+	 */
+	public static ExecutorService newRejectingExecutor(String name, int threads, int queueSize) {
+		return newBoundedExecutor(name, threads, queueSize, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * Create a bounded executor
+	 * @param name
+	 * @param threads
+	 * @param queueSize
+	 * @param rejectedHandler
+	 * @return
+	 */
+	private static ExecutorService newBoundedExecutor(String name, int threads, int queueSize, RejectedExecutionHandler rejectedHandler) {
+		AtomicInteger threadNo = new AtomicInteger(1);
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, name + "-" + threadNo.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(
+			threads, threads,
+			60, TimeUnit.SECONDS,
+			new ArrayBlockingQueue<Runnable>(Math.max(queueSize, 1)),
+			threadFactory,
+			rejectedHandler
+		);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Wrap a task for run with a copy of context as session context
+	 * @param context
+	 * @param task
+	 * @return
+	 */
+	public static <T> Callable<T> withContextCopy(Properties context, Callable<T> task) {
+		Properties contextCopy = (Properties) context.clone();
+		return Context.current()
+			.withValue(AuthorizationServerInterceptor.SESSION_CONTEXT, contextCopy)
+			.wrap(task);
+	}
+
+	/**
+	 * Wrap a task that is run after request is finished (background job) with a copy of context
+	 * as session context, it is not a child of request context, then it is not cancelled when the
+	 * request is finished and it does not have deadline of request
+	 * @param context
+	 * @param task
+	 * @return
+	 */
+	public static <T> Callable<T> withDetachedContextCopy(Properties context, Callable<T> task) {
+		Properties contextCopy = (Properties) context.clone();
+		return Context.ROOT
+			.withValue(AuthorizationServerInterceptor.SESSION_CONTEXT, contextCopy)
+			.wrap(task);
+	}
+
+	/**
+	 * Run all tasks and get results in the same order, tasks must not wait for other tasks of same executor.
+	 * Without executor all tasks are run on caller thread.
+	 * @param executor
+	 * @param context
+	 * @param tasks
+	 * @return
+	 */
+	public static <T> List<T> invokeAll(ExecutorService executor, Properties context, List<Callable<T>> tasks) {
+		List<T> results = new ArrayList<T>();
+		if (executor == null || tasks.size() <= 1) {
+			for (Callable<T> task : tasks) {
+				try {
+					results.add(task.call());
+				} catch (RuntimeException e) {
+					throw e;
+				} catch (Exception e) {
+					throw new AdempiereException(e);
+				}
+			}
+			return results;
+		}
+		List<Future<T>> futures = new ArrayList<Future<T>>();
+		for (Callable<T> task : tasks) {
+			futures.add(executor.submit(withContextCopy(context, task)));
+		}
+		try {
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			futures.forEach(future -> future.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new AdempiereException(e);
+		} catch (ExecutionException e) {
+			futures.forEach(future -> future.cancel(true));
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new AdempiereException(cause);
+		}
+		return results;
+	}
+
+}
@@ -53,6 +53,24 @@ public class ReferenceInfo {
 		hasJoinValue = false;
 		language = Language.AD_Language_en_US;
 	}
+	/**
+	 * Copy of reference information, aliases are changed by each query that use it
+	 * @return
+	 */
+	public ReferenceInfo copy() {
+		ReferenceInfo referenceInfo = new ReferenceInfo();
+		referenceInfo.displayColumnValue = displayColumnValue;
+		referenceInfo.displayColumnAlias = displayColumnAlias;
+		referenceInfo.columnName = columnName;
+		referenceInfo.joinColumnName = joinColumnName;
+		referenceInfo.tableName = tableName;
+		referenceInfo.tableAlias = tableAlias;
+		referenceInfo.language = language;
+		referenceInfo.referenceId = referenceId;
+		referenceInfo.hasJoinValue = hasJoinValue;
+		return referenceInfo;
+	}
+
 	/**	Display column Value: Test.Name	*/
 	private String displayColumnValue;
 	/**	Display column Alias: TestName	*/
@@ -0,0 +1,123 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Date;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.compiere.util.Env;
+import org.compiere.util.Util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Record references as signed tokens (HS256 with a key derived from secret key of session tokens).
+ * The token contains table, where clause and client, then any server can verify
+ * and use it without keep the where clause on memory.
+ * The derived key and the audience of token make that a session token is never accepted
+ * as reference token, and a reference token is never accepted as session token.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class ReferenceTokenUtil {
+
+	/**	Claims	*/
+	private static final String CLAIM_TABLE_NAME = "TableName";
+	private static final String CLAIM_WHERE_CLAUSE = "WhereClause";
+	private static final String CLAIM_CLIENT_ID = "AD_Client_ID";
+	/**	Audience of reference tokens	*/
+	private static final String AUDIENCE = "record-reference";
+	/**	Used for derive key of reference tokens from secret key	*/
+	private static final String KEY_DERIVATION = "ReferenceToken";
+	/**	Time of validity: 1 day	*/
+	private static final long EXPIRATION = 24 * 60 * 60 * 1000;
+
+	/**
+	 * Create a signed reference token
+	 * @param tableName
+	 * @param whereClause
+	 * @return
+	 */
+	public static String createToken(String tableName, String whereClause) {
+		long now = System.currentTimeMillis();
+		return Jwts.builder()
+			.claim(CLAIM_TABLE_NAME, tableName)
+			.claim(CLAIM_WHERE_CLAUSE, whereClause)
+			.claim(CLAIM_CLIENT_ID, Env.getAD_Client_ID(Env.getCtx()))
+			.setAudience(AUDIENCE)
+			.setIssuedAt(new Date(now))
+			.setExpiration(new Date(now + EXPIRATION))
+			.signWith(getSigningKey(), SignatureAlgorithm.HS256)
+			.compact();
+	}
+
+	/**
+	 * Verify token and get where clause
+	 * @param token
+	 * @param tableName table of request, the token must be created for the same table
+	 * @return
+	 */
+	public static String getWhereClause(String token, String tableName) {
+		if(Util.isEmpty(token, true)) {
+			return null;
+		}
+		Claims claims = null;
+		try {
+			claims = Jwts.parserBuilder()
+				.setSigningKey(getSigningKey())
+				.requireAudience(AUDIENCE)
+				.build()
+				.parseClaimsJws(token)
+				.getBody();
+		} catch (JwtException | IllegalArgumentException e) {
+			throw new AdempiereException("@Invalid@ @Reference@: " + e.getLocalizedMessage());
+		}
+		Integer clientId = claims.get(CLAIM_CLIENT_ID, Integer.class);
+		if(clientId == null
+				|| clientId != Env.getAD_Client_ID(Env.getCtx())) {
+			throw new AdempiereException("@Invalid@ @Reference@ @AD_Client_ID@");
+		}
+		String referenceTableName = claims.get(CLAIM_TABLE_NAME, String.class);
+		if(!Util.isEmpty(tableName, true)
+				&& !tableName.equalsIgnoreCase(referenceTableName)) {
+			throw new AdempiereException("@Invalid@ @Reference@ @AD_Table_ID@");
+		}
+		return claims.get(CLAIM_WHERE_CLAUSE, String.class);
+	}
+
+	/**
+	 * Get key of reference tokens, it is derived (HMAC-SHA256) from secret key of session tokens
+	 * @return
+	 */
+	private static Key getSigningKey() {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(Decoders.BASE64.decode(SessionManager.getSecretKey()), "HmacSHA256"));
+			return Keys.hmacShaKeyFor(mac.doFinal(KEY_DERIVATION.getBytes(StandardCharsets.UTF_8)));
+		} catch (GeneralSecurityException e) {
+			throw new AdempiereException(e);
+		}
+	}
+}
@@ -15,15 +15,20 @@
  *************************************************************************************/
 package org.spin.base.util;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.core.domains.models.I_AD_Image;
 import org.adempiere.core.domains.models.I_AD_Reference;
 import org.adempiere.core.domains.models.I_C_Location;
@@ -40,6 +45,7 @@ import org.compiere.util.DisplayType;
 import org.compiere.util.Env;
 import org.compiere.util.Language;
 import org.compiere.util.Util;
+import org.spin.base.dictionary.DictionaryVersionUtil;
 import org.spin.util.AttachmentUtil;
 
 
@@ -49,17 +55,29 @@ import org.spin.util.AttachmentUtil;
  */
 public class ReferenceUtil {
 	/**	Instance	*/
-	private static ReferenceUtil instance = null;
+	private static volatile ReferenceUtil instance = null;
+	/**	Maximum reference information cached	*/
+	private static final int MAXIMUM_CACHE_SIZE = 5000;
 	/**	Context	*/
 	private Properties context;
-	/**	Local cache	*/
-	private Map<String, ReferenceInfo> referenceInfoMap;
+	/**	Local cache, each key is computed only once by the first thread that request it	*/
+	private Map<String, FutureTask<ReferenceInfo>> referenceInfoMap = new ConcurrentHashMap<String, FutureTask<ReferenceInfo>>();
+	/**	Keys in order of creation, used for remove the oldest when cache is full	*/
+	private Queue<String> referenceInfoKeys = new ConcurrentLinkedQueue<String>();
+	/**	Dictionary version of cached values	*/
+	private volatile long dictionaryVersion = -1;
 	
 	public static ReferenceUtil getInstance(Properties context) {
-		if(instance == null) {
-			instance = new ReferenceUtil(context);
+		ReferenceUtil referenceUtil = instance;
+		if(referenceUtil == null) {
+			synchronized (ReferenceUtil.class) {
+				if(instance == null) {
+					instance = new ReferenceUtil(context);
+				}
+				referenceUtil = instance;
+			}
 		}
-		return instance;
+		return referenceUtil;
 	}
 	
 	/**
@@ -68,7 +86,6 @@ public class ReferenceUtil {
 	 */
 	private ReferenceUtil(Properties context) {
 		this.context = context;
-		referenceInfoMap = new HashMap<String, ReferenceInfo>();
 	}
 
 	/**
@@ -109,16 +126,86 @@ public class ReferenceUtil {
 		if(!validateReference(referenceId)) {
 			return null;
 		}
-		String key = referenceId + "|" + referenceValueId + "|" + columnName + "|" + language;
-		ReferenceInfo referenceInfo = referenceInfoMap.get(key);
-		Language languageValue = Language.getLanguage(Env.getAD_Language(Env.getCtx()));
-		if (referenceInfo != null) {
-			// get from cache
-			return referenceInfo;
+		validateDictionaryVersion();
+		String sessionLanguage = Env.getAD_Language(Env.getCtx());
+		String key = referenceId + "|" + referenceValueId + "|" + columnName + "|" + tableName + "|" + language + "|" + sessionLanguage;
+		FutureTask<ReferenceInfo> referenceInfoTask = referenceInfoMap.get(key);
+		if(referenceInfoTask == null) {
+			FutureTask<ReferenceInfo> newReferenceInfoTask = new FutureTask<ReferenceInfo>(
+				() -> createReferenceInfo(referenceId, referenceValueId, columnName, language, tableName)
+			);
+			referenceInfoTask = referenceInfoMap.putIfAbsent(key, newReferenceInfoTask);
+			if(referenceInfoTask == null) {
+				referenceInfoTask = newReferenceInfoTask;
+				referenceInfoKeys.add(key);
+				removeOldest();
+				// computed on this thread, other threads wait for it
+				newReferenceInfoTask.run();
+			}
+		}
+		ReferenceInfo referenceInfo = null;
+		try {
+			referenceInfo = referenceInfoTask.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AdempiereException(e);
+		} catch (ExecutionException e) {
+			referenceInfoMap.remove(key, referenceInfoTask);
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new AdempiereException(e.getCause());
+		}
+		if(referenceInfo == null) {
+			return null;
 		}
+		//	Cached value is never changed by queries
+		return referenceInfo.copy();
+	}
+
+	/**
+	 * Clear cache after a dictionary change
+	 */
+	private void validateDictionaryVersion() {
+		long currentVersion = DictionaryVersionUtil.getCachedDictionaryVersion();
+		if(currentVersion == dictionaryVersion) {
+			return;
+		}
+		synchronized (this) {
+			if(currentVersion != dictionaryVersion) {
+				referenceInfoMap.clear();
+				referenceInfoKeys.clear();
+				dictionaryVersion = currentVersion;
+			}
+		}
+	}
 
+	/**
+	 * Remove oldest values while cache is full
+	 */
+	private void removeOldest() {
+		while(referenceInfoMap.size() > MAXIMUM_CACHE_SIZE) {
+			String oldestKey = referenceInfoKeys.poll();
+			if(oldestKey == null) {
+				break;
+			}
+			referenceInfoMap.remove(oldestKey);
+		}
+	}
+
+	/**
+	 * Create Reference information, can return null if reference is invalid
+	 * @param referenceId
+	 * @param referenceValueId
+	 * @param columnName
+	 * @param language
+	 * @param tableName
+	 * @return
+	 */
+	private ReferenceInfo createReferenceInfo(int referenceId, int referenceValueId, String columnName, String language, String tableName) {
+		Language languageValue = Language.getLanguage(Env.getAD_Language(Env.getCtx()));
 		// new instance generated
-		referenceInfo = new ReferenceInfo();
+		ReferenceInfo referenceInfo = new ReferenceInfo();
 		if (DisplayType.ID == referenceId) {
 			// TODO: Improve regex with count records
 			if (columnName.equals(tableName + "_ID")) {
@@ -185,7 +185,11 @@ public class SessionManager {
 		return bearerToken;
 	}
 	
-	private static String getSecretKey() {
+	/**
+	 * Get secret key used for sign tokens
+	 * @return
+	 */
+	static String getSecretKey() {
 		String secretKey = MSysConfig.getValue(JWTUtil.ECA52_JWT_SECRET_KEY, Env.getAD_Client_ID(Env.getCtx()));
 		if(Util.isEmpty(secretKey)) {
 			secretKey = SetupLoader.getInstance().getServer().getSecret_key();
@@ -0,0 +1,159 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.base.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Function;
+
+import com.google.protobuf.ByteString;
+
+import io.grpc.stub.ServerCallStreamObserver;
+
+/**
+ * Output stream that send written bytes as chunks of a server streaming call.
+ * A chunk is sent only when the call is ready (flow control), then the writer wait
+ * while client does not read and only one chunk is kept on memory.
+ * Note: the stream must be written on other thread than the service method, the ready and
+ * cancel handlers are not called while the service method is running.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class StreamObserverOutputStream<T> extends OutputStream {
+
+	/**	Default size of chunk: 64 KB	*/
+	public static final int CHUNK_SIZE = 64 * 1024;
+	/**	Call	*/
+	private ServerCallStreamObserver<T> observer;
+	/**	Convert bytes to message	*/
+	private Function<ByteString, T> converter;
+	/**	Pending bytes	*/
+	private byte[] buffer;
+	private int count = 0;
+	/**	Lock for wait ready	*/
+	private final Object lock = new Object();
+	private volatile boolean isCancelled = false;
+	private boolean isClosed = false;
+
+	/**
+	 * Create stream for call, it must be created before the service method returns
+	 * @param observer
+	 * @param converter
+	 */
+	public StreamObserverOutputStream(ServerCallStreamObserver<T> observer, Function<ByteString, T> converter) {
+		this.observer = observer;
+		this.converter = converter;
+		this.buffer = new byte[CHUNK_SIZE];
+		observer.setOnReadyHandler(() -> {
+			synchronized (lock) {
+				lock.notifyAll();
+			}
+		});
+		observer.setOnCancelHandler(() -> {
+			isCancelled = true;
+			synchronized (lock) {
+				lock.notifyAll();
+			}
+		});
+	}
+
+	@Override
+	public void write(int value) throws IOException {
+		if(count == buffer.length) {
+			sendChunk();
+		}
+		buffer[count++] = (byte) value;
+	}
+
+	@Override
+	public void write(byte[] values, int offset, int length) throws IOException {
+		while(length > 0) {
+			if(count == buffer.length) {
+				sendChunk();
+			}
+			int size = Math.min(length, buffer.length - count);
+			System.arraycopy(values, offset, buffer, count, size);
+			count += size;
+			offset += size;
+			length -= size;
+		}
+	}
+
+	/**
+	 * Write all bytes of input stream
+	 * @param input
+	 * @throws IOException
+	 */
+	public void writeFrom(InputStream input) throws IOException {
+		int size;
+		while((size = input.read(buffer, count, buffer.length - count)) != -1) {
+			count += size;
+			if(count == buffer.length) {
+				sendChunk();
+			}
+		}
+	}
+
+	/**
+	 * Partial chunks are not sent on flush, they are sent when the chunk is full or stream is closed
+	 */
+	@Override
+	public void flush() throws IOException {
+		if(isCancelled()) {
+			throw new IOException("Call Cancelled");
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(isClosed) {
+			return;
+		}
+		isClosed = true;
+		if(count > 0) {
+			sendChunk();
+		}
+	}
+
+	/**
+	 * Verify if client cancel the call
+	 * @return
+	 */
+	public boolean isCancelled() {
+		return isCancelled || observer.isCancelled();
+	}
+
+	/**
+	 * Wait until call is ready and send pending bytes
+	 * @throws IOException
+	 */
+	private void sendChunk() throws IOException {
+		synchronized (lock) {
+			while(!observer.isReady() && !isCancelled()) {
+				try {
+					lock.wait(1000);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException(e);
+				}
+			}
+		}
+		if(isCancelled()) {
+			throw new IOException("Call Cancelled");
+		}
+		observer.onNext(converter.apply(ByteString.copyFrom(buffer, 0, count)));
+		count = 0;
+	}
+}
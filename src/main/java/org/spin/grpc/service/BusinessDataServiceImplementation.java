@@ -21,11 +21,16 @@ import java.io.IOException;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.adempiere.exceptions.AdempiereException;
@@ -48,7 +53,6 @@ import org.compiere.model.Query;
 import org.compiere.print.MPrintFormat;
 import org.compiere.process.DocAction;
 import org.compiere.process.ProcessInfo;
-import org.compiere.util.CCache;
 import org.compiere.util.CLogger;
 import org.compiere.util.DB;
 import org.compiere.util.Env;
@@ -61,20 +65,31 @@ import org.spin.base.db.CountUtil;
 import org.spin.base.db.LimitUtil;
 import org.spin.base.db.ParameterUtil;
 import org.spin.base.db.WhereClauseUtil;
+import org.spin.base.dictionary.CompiledBrowser;
 import org.spin.base.dictionary.DictionaryUtil;
+import org.spin.base.job.AsyncJob;
+import org.spin.base.job.JobManager;
 import org.spin.base.util.ConvertUtil;
+import org.spin.base.util.EntityChangeFeed;
 import org.spin.base.util.FileUtil;
 import org.spin.base.util.RecordUtil;
+import org.spin.base.util.ReferenceTokenUtil;
 import org.spin.base.util.SessionManager;
 import org.spin.base.util.ValueUtil;
 import org.spin.base.workflow.WorkflowUtil;
 import org.spin.backend.grpc.common.BusinessDataGrpc.BusinessDataImplBase;
+import org.spin.backend.grpc.common.CreateEntitiesRequest;
 import org.spin.backend.grpc.common.CreateEntityRequest;
 import org.spin.backend.grpc.common.Criteria;
 import org.spin.backend.grpc.common.DeleteEntityRequest;
 import org.spin.backend.grpc.common.Empty;
 import org.spin.backend.grpc.common.Entity;
+import org.spin.backend.grpc.common.EntityChange;
 import org.spin.backend.grpc.common.GetEntityRequest;
+import org.spin.backend.grpc.common.GetJobRequest;
+import org.spin.backend.grpc.common.GetReportOutputRequest;
+import org.spin.backend.grpc.common.Job;
+import org.spin.backend.grpc.common.JobStatus;
 import org.spin.backend.grpc.common.KeyValue;
 import org.spin.backend.grpc.common.KeyValueSelection;
 import org.spin.backend.grpc.common.ListEntitiesRequest;
@@ -83,12 +98,20 @@ import org.spin.backend.grpc.common.ProcessInfoLog;
 import org.spin.backend.grpc.common.ProcessLog;
 import org.spin.backend.grpc.common.ReportOutput;
 import org.spin.backend.grpc.common.RunBusinessProcessRequest;
+import org.spin.backend.grpc.common.SaveEntitiesResponse;
+import org.spin.backend.grpc.common.SaveEntityRequest;
+import org.spin.backend.grpc.common.SaveEntityResult;
+import org.spin.backend.grpc.common.SubmitJobRequest;
+import org.spin.backend.grpc.common.UpdateEntitiesRequest;
 import org.spin.backend.grpc.common.UpdateEntityRequest;
 import org.spin.backend.grpc.common.Value;
+import org.spin.backend.grpc.common.WatchEntityChangesRequest;
 
 import com.google.protobuf.ByteString;
 
 import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 
 /**
@@ -99,8 +122,11 @@ import io.grpc.stub.StreamObserver;
 public class BusinessDataServiceImplementation extends BusinessDataImplBase {
 	/**	Logger			*/
 	private CLogger log = CLogger.getCLogger(BusinessDataServiceImplementation.class);
-	/**	Reference cache	*/
-	private static CCache<String, String> referenceWhereClauseCache = new CCache<String, String>("Reference_WhereClause", 30, 0);	//	no time-out
+	/**	Default records by transaction of bulk save	*/
+	private static final int DEFAULT_BATCH_SIZE = 100;
+	/**	Maximum records by transaction of bulk save	*/
+	private static final int MAXIMUM_BATCH_SIZE = 1000;
+
 	@Override
 	public void getEntity(GetEntityRequest request, StreamObserver<Entity> responseObserver) {
 		try {
@@ -157,6 +183,97 @@ public class BusinessDataServiceImplementation extends BusinessDataImplBase {
 		}
 	}
 	
+	@Override
+	public void createEntities(CreateEntitiesRequest request, StreamObserver<SaveEntitiesResponse> responseObserver) {
+		try {
+			if(request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			List<SaveEntityRequest> entities = request.getEntitiesList().stream()
+				.map(entity -> SaveEntityRequest.newBuilder().setCreate(entity).build())
+				.collect(Collectors.toList());
+			SaveEntitiesResponse.Builder response = saveEntities(Env.getCtx(), entities, request.getBatchSize());
+			responseObserver.onNext(response.build());
+			responseObserver.onCompleted();
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			responseObserver.onError(Status.INTERNAL
+					.withDescription(e.getLocalizedMessage())
+					.withCause(e)
+					.asRuntimeException());
+		}
+	}
+
+	@Override
+	public void updateEntities(UpdateEntitiesRequest request, StreamObserver<SaveEntitiesResponse> responseObserver) {
+		try {
+			if(request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			List<SaveEntityRequest> entities = request.getEntitiesList().stream()
+				.map(entity -> SaveEntityRequest.newBuilder().setUpdate(entity).build())
+				.collect(Collectors.toList());
+			SaveEntitiesResponse.Builder response = saveEntities(Env.getCtx(), entities, request.getBatchSize());
+			responseObserver.onNext(response.build());
+			responseObserver.onCompleted();
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			responseObserver.onError(Status.INTERNAL
+					.withDescription(e.getLocalizedMessage())
+					.withCause(e)
+					.asRuntimeException());
+		}
+	}
+
+	@Override
+	public StreamObserver<SaveEntityRequest> saveEntities(StreamObserver<SaveEntitiesResponse> responseObserver) {
+		SaveEntitiesResponse.Builder response = SaveEntitiesResponse.newBuilder();
+		Map<String, Integer> referenceIds = new HashMap<String, Integer>();
+		List<SaveEntityRequest> batch = new ArrayList<SaveEntityRequest>();
+		return new StreamObserver<SaveEntityRequest>() {
+			private int batchSize = 0;
+			private int index = 0;
+
+			@Override
+			public void onNext(SaveEntityRequest request) {
+				if(batchSize <= 0) {
+					batchSize = getBatchSize(request.getBatchSize());
+				}
+				batch.add(request);
+				if(batch.size() >= batchSize) {
+					saveEntitiesBatch(Env.getCtx(), batch, index, referenceIds, response);
+					index += batch.size();
+					batch.clear();
+				}
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				//	Records of last batch are not saved
+				log.warning(t.getLocalizedMessage());
+			}
+
+			@Override
+			public void onCompleted() {
+				try {
+					if(!batch.isEmpty()) {
+						saveEntitiesBatch(Env.getCtx(), batch, index, referenceIds, response);
+						index += batch.size();
+						batch.clear();
+					}
+					responseObserver.onNext(response.build());
+					responseObserver.onCompleted();
+				} catch (Exception e) {
+					log.severe(e.getLocalizedMessage());
+					responseObserver.onError(Status.INTERNAL
+							.withDescription(e.getLocalizedMessage())
+							.withCause(e)
+							.asRuntimeException());
+				}
+			}
+		};
+	}
+
 	@Override
 	public void deleteEntity(DeleteEntityRequest request, StreamObserver<Empty> responseObserver) {
 		try {
@@ -219,6 +336,202 @@ public class BusinessDataServiceImplementation extends BusinessDataImplBase {
 		}
 	}
 	
+	@Override
+	public void submitJob(SubmitJobRequest request, StreamObserver<Job> responseObserver) {
+		try {
+			if (request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			AsyncJob job = submitJob(request);
+			responseObserver.onNext(job.toJob());
+			responseObserver.onCompleted();
+		} catch (StatusRuntimeException e) {
+			//	Maximum jobs of client or queue
+			log.warning(e.getLocalizedMessage());
+			responseObserver.onError(e);
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			e.printStackTrace();
+			responseObserver.onError(Status.INTERNAL
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException()
+			);
+		}
+	}
+
+	@Override
+	public void getJob(GetJobRequest request, StreamObserver<Job> responseObserver) {
+		try {
+			if (request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			AsyncJob job = JobManager.getJob(Env.getCtx(), request.getId());
+			//	Output stream of report is only sent here
+			responseObserver.onNext(job.toJobWithOutput());
+			responseObserver.onCompleted();
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			responseObserver.onError(Status.INTERNAL
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException()
+			);
+		}
+	}
+
+	@Override
+	public void watchJob(GetJobRequest request, StreamObserver<Job> responseObserver) {
+		try {
+			if (request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			AsyncJob job = JobManager.getJob(Env.getCtx(), request.getId());
+			ServerCallStreamObserver<Job> callObserver = (ServerCallStreamObserver<Job>) responseObserver;
+			Consumer<Job> listener = changedJob -> {
+				if(callObserver.isCancelled()) {
+					return;
+				}
+				callObserver.onNext(changedJob);
+				if(changedJob.getStatus() == JobStatus.COMPLETED
+						|| changedJob.getStatus() == JobStatus.FAILED) {
+					callObserver.onCompleted();
+				}
+			};
+			//	The job continue running when client is disconnected
+			callObserver.setOnCancelHandler(() -> job.removeListener(listener));
+			job.addListener(listener);
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			responseObserver.onError(Status.INTERNAL
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException()
+			);
+		}
+	}
+
+	@Override
+	public void watchEntityChanges(WatchEntityChangesRequest request, StreamObserver<EntityChange> responseObserver) {
+		try {
+			if (request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			if(Util.isEmpty(request.getTableName(), true)) {
+				throw new AdempiereException("@FillMandatory@ @AD_Table_ID@");
+			}
+			MTable table = MTable.get(Env.getCtx(), request.getTableName());
+			if(table == null || table.getAD_Table_ID() <= 0) {
+				throw new AdempiereException("@AD_Table_ID@ @NotFound@");
+			}
+			if(!MRole.getDefault().isTableAccess(table.getAD_Table_ID(), true)) {
+				throw new AdempiereException("@AccessTableNoView@");
+			}
+			int recordId = request.getRecordId();
+			if(recordId <= 0 && !Util.isEmpty(request.getRecordUuid(), true)) {
+				recordId = RecordUtil.getIdFromUuid(table.getTableName(), request.getRecordUuid(), null);
+				if(recordId <= 0) {
+					throw new AdempiereException("@Record_ID@ @NotFound@");
+				}
+			}
+			EntityChangeFeed.subscribe(
+				(ServerCallStreamObserver<EntityChange>) responseObserver,
+				Env.getCtx(),
+				table.getTableName(),
+				recordId
+			);
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			responseObserver.onError(Status.INTERNAL
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException()
+			);
+		}
+	}
+
+	/**
+	 * Submit a process or report as job
+	 * @param request
+	 * @return
+	 */
+	private AsyncJob submitJob(SubmitJobRequest request) {
+		if(request.hasProcess()) {
+			RunBusinessProcessRequest processRequest = request.getProcess();
+			int processId = processRequest.getId();
+			if(processId <= 0) {
+				processId = RecordUtil.getIdFromUuid(I_AD_Process.Table_Name, processRequest.getUuid(), null);
+			}
+			MProcess process = MProcess.get(Env.getCtx(), processId);
+			if(process == null || process.getAD_Process_ID() <= 0) {
+				throw new AdempiereException("@AD_Process_ID@ @NotFound@");
+			}
+			String name = process.getName();
+			return JobManager.submit(Env.getCtx(), name, job -> {
+				job.setProcessLog(runBusinessProcess(processRequest).build());
+			});
+		} else if(request.hasReport()) {
+			GetReportOutputRequest reportRequest = request.getReport();
+			return JobManager.submit(Env.getCtx(), reportRequest.getReportName(), job -> {
+				job.setReportOutput(new UserInterfaceServiceImplementation().getReportOutput(reportRequest).build());
+			});
+		}
+		throw new AdempiereException("@FillMandatory@ @AD_Process_ID@");
+	}
+
+	/**
+	 * Load keys and values of all records of browser that match with criteria, the records are
+	 * read with a query of browser instead of receive each record on request, only the key and
+	 * the values saved with selection (editable and identifier fields) are read
+	 * @param browse
+	 * @param criteria
+	 * @param contextAttributes
+	 * @param selectionKeys
+	 * @param selection
+	 */
+	private static void loadSelectionByCriteria(MBrowse browse, Criteria criteria, List<KeyValue> contextAttributes,
+			List<Integer> selectionKeys, LinkedHashMap<Integer, LinkedHashMap<String, Object>> selection) {
+		MBrowseField fieldKey = browse.getFieldKey();
+		if (fieldKey == null || fieldKey.get_ID() <= 0) {
+			throw new AdempiereException("@AD_Browse_ID@ @IsKey@ @NotFound@");
+		}
+		CompiledBrowser compiledBrowser = CompiledBrowser.get(browse.getUUID());
+		if (compiledBrowser == null) {
+			throw new AdempiereException("@AD_Browse_ID@ @NotFound@");
+		}
+		String keyColumnName = fieldKey.getAD_View_Column().getColumnName();
+		List<Object> filterValues = new ArrayList<Object>();
+		String sql = compiledBrowser.getSelectionQueryWithCriteria(criteria, contextAttributes, filterValues);
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try {
+			pstmt = DB.prepareStatement(sql, null);
+			ParameterUtil.setParametersFromObjectsList(pstmt, filterValues);
+			rs = pstmt.executeQuery();
+			ResultSetMetaData metaData = rs.getMetaData();
+			while(rs.next()) {
+				int selectionId = rs.getInt(keyColumnName);
+				if(selection.containsKey(selectionId)) {
+					continue;
+				}
+				LinkedHashMap<String, Object> values = new LinkedHashMap<String, Object>();
+				for (int index = 1; index <= metaData.getColumnCount(); index++) {
+					MBrowseField field = compiledBrowser.getResultField(metaData.getColumnName(index));
+					if(field == null || field.getAD_Browse_Field_ID() == fieldKey.getAD_Browse_Field_ID()) {
+						continue;
+					}
+					values.put(field.getAD_View_Column().getColumnName(), rs.getObject(index));
+				}
+				selectionKeys.add(selectionId);
+				selection.put(selectionId, values);
+			}
+		} catch (SQLException e) {
+			throw new AdempiereException(e);
+		} finally {
+			DB.close(rs, pstmt);
+		}
+	}
+
 	/**
 	 * Run a process from request
 	 * @param request
@@ -307,7 +620,7 @@ public class BusinessDataServiceImplementation extends BusinessDataImplBase {
 			builder.withReportExportFormat(reportType);
 		}
 		//	Selection
-		if(request.getBrowserId() > 0 && request.getSelectionsCount() > 0) {
+		if(request.getBrowserId() > 0 && (request.getSelectionsCount() > 0 || request.hasBrowserCriteria())) {
 			MBrowse browse = MBrowse.get(
 				Env.getCtx(),
 				request.getBrowserId()
@@ -317,6 +630,10 @@ public class BusinessDataServiceImplementation extends BusinessDataImplBase {
 			}
 			List<Integer> selectionKeys = new ArrayList<>();
 			LinkedHashMap<Integer, LinkedHashMap<String, Object>> selection = new LinkedHashMap<>();
+			if(request.getSelectionsCount() <= 0) {
+				//	All records of browser by criteria
+				loadSelectionByCriteria(browse, request.getBrowserCriteria(), request.getBrowserContextAttributesList(), selectionKeys, selection);
+			}
 			for(KeyValueSelection selectionKey : request.getSelectionsList()) {
 				selectionKeys.add(selectionKey.getSelectionId());
 				if(selectionKey.getValuesCount() > 0) {
@@ -601,17 +918,7 @@ public class BusinessDataServiceImplementation extends BusinessDataImplBase {
 		if(entity == null) {
 			throw new AdempiereException("@Error@ PO is null");
 		}
-		request.getAttributesList().forEach(attribute -> {
-			int referenceId = DictionaryUtil.getReferenceId(entity.get_Table_ID(), attribute.getKey());
-			Object value = null;
-			if(referenceId > 0) {
-				value = ValueUtil.getObjectFromReference(attribute.getValue(), referenceId);
-			} 
-			if(value == null) {
-				value = ValueUtil.getObjectFromValue(attribute.getValue());
-			}
-			entity.set_ValueOfColumn(attribute.getKey(), value);
-		});
+		setEntityValues(entity, request.getAttributesList(), new HashMap<String, Integer>());
 		//	Save entity
 		entity.saveEx();
 		//	Return
@@ -632,17 +939,7 @@ public class BusinessDataServiceImplementation extends BusinessDataImplBase {
 		PO entity = RecordUtil.getEntity(context, request.getTableName(), request.getUuid(), request.getId(), null);
 		if(entity != null
 				&& entity.get_ID() >= 0) {
-			request.getAttributesList().forEach(attribute -> {
-				int referenceId = DictionaryUtil.getReferenceId(entity.get_Table_ID(), attribute.getKey());
-				Object value = null;
-				if(referenceId > 0) {
-					value = ValueUtil.getObjectFromReference(attribute.getValue(), referenceId);
-				} 
-				if(value == null) {
-					value = ValueUtil.getObjectFromValue(attribute.getValue());
-				}
-				entity.set_ValueOfColumn(attribute.getKey(), value);
-			});
+			setEntityValues(entity, request.getAttributesList(), new HashMap<String, Integer>());
 			//	Save entity
 			entity.saveEx();
 		}
@@ -650,6 +947,163 @@ public class BusinessDataServiceImplementation extends BusinessDataImplBase {
 		return ConvertUtil.convertEntity(entity);
 	}
 
+	/**
+	 * Set values of attributes to entity
+	 * @param entity
+	 * @param attributes
+	 * @param referenceIds reference by table and column, it is filled and reused for many records
+	 */
+	private static void setEntityValues(PO entity, List<KeyValue> attributes, Map<String, Integer> referenceIds) {
+		attributes.forEach(attribute -> {
+			int referenceId = referenceIds.computeIfAbsent(
+				entity.get_Table_ID() + "|" + attribute.getKey(),
+				key -> DictionaryUtil.getReferenceId(entity.get_Table_ID(), attribute.getKey())
+			);
+			Object value = null;
+			if(referenceId > 0) {
+				value = ValueUtil.getObjectFromReference(attribute.getValue(), referenceId);
+			} 
+			if(value == null) {
+				value = ValueUtil.getObjectFromValue(attribute.getValue());
+			}
+			entity.set_ValueOfColumn(attribute.getKey(), value);
+		});
+	}
+
+	/**
+	 * Get records by transaction of bulk save
+	 * @param batchSize requested
+	 * @return
+	 */
+	private static int getBatchSize(int batchSize) {
+		if(batchSize <= 0) {
+			return DEFAULT_BATCH_SIZE;
+		}
+		return Math.min(batchSize, MAXIMUM_BATCH_SIZE);
+	}
+
+	/**
+	 * Create or update many entities, records are saved on a transaction by batch
+	 * @param context
+	 * @param entities
+	 * @param batchSize
+	 * @return
+	 */
+	private SaveEntitiesResponse.Builder saveEntities(Properties context, List<SaveEntityRequest> entities, int batchSize) {
+		SaveEntitiesResponse.Builder response = SaveEntitiesResponse.newBuilder();
+		Map<String, Integer> referenceIds = new HashMap<String, Integer>();
+		int size = getBatchSize(batchSize);
+		for(int index = 0; index < entities.size(); index += size) {
+			saveEntitiesBatch(context, entities.subList(index, Math.min(index + size, entities.size())), index, referenceIds, response);
+		}
+		return response;
+	}
+
+	/**
+	 * Save a batch of entities on a transaction, each record is saved after a savepoint,
+	 * then a record with error is rolled back without lost the others
+	 * @param context
+	 * @param batch
+	 * @param firstIndex index of first record of batch on request
+	 * @param referenceIds
+	 * @param response
+	 */
+	private void saveEntitiesBatch(Properties context, List<SaveEntityRequest> batch, int firstIndex,
+			Map<String, Integer> referenceIds, SaveEntitiesResponse.Builder response) {
+		List<SaveEntityResult.Builder> results = new ArrayList<SaveEntityResult.Builder>();
+		Trx transaction = Trx.get(Trx.createTrxName("SaveEntities"), true);
+		try {
+			for(int index = 0; index < batch.size(); index++) {
+				SaveEntityResult.Builder result = SaveEntityResult.newBuilder()
+					.setIndex(firstIndex + index);
+				Savepoint savepoint = transaction.setSavepoint("SaveEntity" + index);
+				try {
+					PO entity = saveEntity(context, batch.get(index), referenceIds, transaction.getTrxName());
+					result.setId(entity.get_ID())
+						.setUuid(ValueUtil.validateNull(entity.get_UUID()));
+				} catch (Exception e) {
+					transaction.rollback(savepoint);
+					result.setIsError(true)
+						.setErrorMessage(ValueUtil.validateNull(e.getLocalizedMessage()));
+				}
+				results.add(result);
+			}
+			transaction.commit(true);
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			transaction.rollback();
+			//	All records of batch are not saved
+			results.stream()
+				.filter(result -> !result.getIsError())
+				.forEach(result -> {
+					result.setId(0)
+						.setUuid("")
+						.setIsError(true)
+						.setErrorMessage(ValueUtil.validateNull(e.getLocalizedMessage()));
+				});
+			for(int index = results.size(); index < batch.size(); index++) {
+				results.add(SaveEntityResult.newBuilder()
+					.setIndex(firstIndex + index)
+					.setIsError(true)
+					.setErrorMessage(ValueUtil.validateNull(e.getLocalizedMessage()))
+				);
+			}
+		} finally {
+			transaction.close();
+		}
+		results.forEach(result -> {
+			if(result.getIsError()) {
+				response.setErrorCount(response.getErrorCount() + 1);
+			} else {
+				response.setSavedCount(response.getSavedCount() + 1);
+			}
+			response.addResults(result);
+		});
+	}
+
+	/**
+	 * Create or update an entity on transaction
+	 * @param context
+	 * @param request
+	 * @param referenceIds
+	 * @param transactionName
+	 * @return
+	 */
+	private PO saveEntity(Properties context, SaveEntityRequest request, Map<String, Integer> referenceIds, String transactionName) {
+		PO entity;
+		List<KeyValue> attributes;
+		if(request.hasCreate()) {
+			CreateEntityRequest createRequest = request.getCreate();
+			if(Util.isEmpty(createRequest.getTableName())) {
+				throw new AdempiereException("@AD_Table_ID@ @NotFound@");
+			}
+			MTable table = MTable.get(context, createRequest.getTableName());
+			if(table == null || table.getAD_Table_ID() <= 0) {
+				throw new AdempiereException("@AD_Table_ID@ @NotFound@");
+			}
+			entity = table.getPO(0, transactionName);
+			attributes = createRequest.getAttributesList();
+		} else if(request.hasUpdate()) {
+			UpdateEntityRequest updateRequest = request.getUpdate();
+			if(Util.isEmpty(updateRequest.getTableName())) {
+				throw new AdempiereException("@AD_Table_ID@ @NotFound@");
+			}
+			entity = RecordUtil.getEntity(context, updateRequest.getTableName(), updateRequest.getUuid(), updateRequest.getId(), transactionName);
+			if(entity == null || entity.get_ID() <= 0) {
+				throw new AdempiereException("@Record_ID@ @NotFound@");
+			}
+			attributes = updateRequest.getAttributesList();
+		} else {
+			throw new AdempiereException("@FillMandatory@ @Record_ID@");
+		}
+		if(entity == null) {
+			throw new AdempiereException("@Error@ PO is null");
+		}
+		setEntityValues(entity, attributes, referenceIds);
+		entity.saveEx();
+		return entity;
+	}
+
 	/**
 	 * Convert Object to list
 	 * @param request
@@ -670,7 +1124,7 @@ public class BusinessDataServiceImplementation extends BusinessDataImplBase {
 		}
 		//	Add from reference
 		if(!Util.isEmpty(criteria.getReferenceUuid())) {
-			String referenceWhereClause = referenceWhereClauseCache.get(criteria.getReferenceUuid());
+			String referenceWhereClause = ReferenceTokenUtil.getWhereClause(criteria.getReferenceUuid(), criteria.getTableName());
 			if(!Util.isEmpty(referenceWhereClause)) {
 				if(whereClause.length() > 0) {
 					whereClause.append(" AND ");
@@ -14,10 +14,18 @@
  ************************************************************************************/
 package org.spin.grpc.service;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 import org.adempiere.exceptions.AdempiereException;
@@ -60,6 +68,7 @@ import org.compiere.model.M_Element;
 import org.compiere.model.Query;
 import org.adempiere.core.domains.models.X_AD_FieldGroup;
 import org.adempiere.core.domains.models.X_AD_Reference;
+import org.compiere.util.CCache;
 import org.compiere.util.CLogger;
 import org.compiere.util.DB;
 import org.compiere.util.DisplayType;
@@ -71,26 +80,37 @@ import org.spin.base.db.OrderByUtil;
 import org.spin.base.db.QueryUtil;
 import org.spin.base.db.WhereClauseUtil;
 import org.spin.base.dictionary.DictionaryConvertUtil;
+import org.spin.base.dictionary.DictionarySnapshot;
+import org.spin.base.dictionary.DictionarySnapshotUtil;
+import org.spin.base.dictionary.DictionaryVersionUtil;
+import org.spin.base.dictionary.WindowPrefetch;
 import org.spin.base.dictionary.WindowUtil;
 import org.spin.base.dictionary.custom.BrowseFieldCustomUtil;
 import org.spin.base.dictionary.custom.FieldCustomUtil;
 import org.spin.base.dictionary.custom.ProcessParaCustomUtil;
+import org.spin.base.setup.SetupLoader;
 import org.spin.base.util.DictionaryUtil;
+import org.spin.base.util.ParallelExecutorUtil;
 import org.spin.base.util.RecordUtil;
 import org.spin.base.util.ReferenceUtil;
 import org.spin.base.util.ValueUtil;
 import org.spin.grpc.logic.DictionaryServiceLogic;
 import org.spin.backend.grpc.dictionary.Browser;
+import org.spin.backend.grpc.dictionary.BuildDictionarySnapshotRequest;
+import org.spin.backend.grpc.dictionary.BuildDictionarySnapshotResponse;
 import org.spin.backend.grpc.dictionary.ContextInfo;
 import org.spin.backend.grpc.dictionary.DependentField;
 import org.spin.backend.grpc.dictionary.DictionaryGrpc.DictionaryImplBase;
 import org.spin.backend.grpc.dictionary.EntityRequest;
 import org.spin.backend.grpc.dictionary.Field;
 import org.spin.backend.grpc.dictionary.FieldCondition;
+import org.spin.backend.grpc.dictionary.FieldChange;
 import org.spin.backend.grpc.dictionary.FieldDefinition;
 import org.spin.backend.grpc.dictionary.FieldGroup;
 import org.spin.backend.grpc.dictionary.FieldRequest;
 import org.spin.backend.grpc.dictionary.Form;
+import org.spin.backend.grpc.dictionary.ListDictionaryChangesRequest;
+import org.spin.backend.grpc.dictionary.ListDictionaryChangesResponse;
 import org.spin.backend.grpc.dictionary.ListFieldsRequest;
 import org.spin.backend.grpc.dictionary.ListFieldsResponse;
 import org.spin.backend.grpc.dictionary.MessageText;
@@ -99,6 +119,7 @@ import org.spin.backend.grpc.dictionary.Reference;
 import org.spin.backend.grpc.dictionary.ReferenceRequest;
 import org.spin.backend.grpc.dictionary.ReportExportType;
 import org.spin.backend.grpc.dictionary.Tab;
+import org.spin.backend.grpc.dictionary.TabChange;
 import org.spin.backend.grpc.dictionary.ValidationRule;
 import org.spin.backend.grpc.dictionary.Window;
 import org.spin.model.MADContextInfo;
@@ -108,7 +129,10 @@ import org.spin.util.ASPUtil;
 import org.spin.util.AbstractExportFormat;
 import org.spin.util.ReportExportHandler;
 
+import com.google.protobuf.InvalidProtocolBufferException;
+
 import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 
 /**
@@ -119,6 +143,16 @@ import io.grpc.stub.StreamObserver;
 public class DictionaryServiceImplementation extends DictionaryImplBase {
 	/**	Logger			*/
 	private CLogger log = CLogger.getCLogger(DictionaryServiceImplementation.class);
+	/**	Executor for convert tabs and fields	*/
+	private static ExecutorService dictionaryBuildExecutor = null;
+	/**	Only one snapshot is built at the same time	*/
+	private static AtomicBoolean isSnapshotBuilding = new AtomicBoolean(false);
+	/**	Maximum changed definitions sent on a delta, more changes are answered with full reload	*/
+	private static final int MAXIMUM_DICTIONARY_CHANGES = 200;
+	/**	Dictionary changes by client version, current version, language, client and role	*/
+	private static CCache<String, ListDictionaryChangesResponse> dictionaryChangesCache = new CCache<String, ListDictionaryChangesResponse>("Dictionary_Changes", 20, 60);
+	/**	Dictionary changes being built, each key is built only once by the first request	*/
+	private static Map<String, FutureTask<ListDictionaryChangesResponse>> pendingDictionaryChanges = new ConcurrentHashMap<String, FutureTask<ListDictionaryChangesResponse>>();
 	
 	@Override
 	public void getWindow(EntityRequest request, StreamObserver<Window> responseObserver) {
@@ -157,7 +191,10 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 				throw new AdempiereException("Object Request Null");
 			}
 			log.fine("Menu Requested = " + request.getReferenceUuid());
-			Reference.Builder fieldBuilder = convertReference(Env.getCtx(), request);
+			Reference.Builder fieldBuilder = getReferenceFromSnapshot(Env.getCtx(), request.getReferenceUuid());
+			if(fieldBuilder == null) {
+				fieldBuilder = convertReference(Env.getCtx(), request);
+			}
 			responseObserver.onNext(fieldBuilder.build());
 			responseObserver.onCompleted();
 		} catch (Exception e) {
@@ -195,7 +232,10 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 				throw new AdempiereException("Object Request Null");
 			}
 			log.fine("Menu Requested = " + request.getUuid());
-			Process.Builder processBuilder = convertProcess(Env.getCtx(), request.getUuid(), request.getId(), true);
+			Process.Builder processBuilder = getProcessFromSnapshot(Env.getCtx(), request.getUuid(), request.getId());
+			if(processBuilder == null) {
+				processBuilder = convertProcess(Env.getCtx(), request.getUuid(), request.getId(), true);
+			}
 			responseObserver.onNext(processBuilder.build());
 			responseObserver.onCompleted();
 		} catch (Exception e) {
@@ -214,7 +254,10 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 				throw new AdempiereException("Object Request Null");
 			}
 			log.fine("Menu Requested = " + request.getUuid());
-			Browser.Builder browserBuilder = convertBrowser(Env.getCtx(), request.getUuid(), true);
+			Browser.Builder browserBuilder = getBrowserFromSnapshot(Env.getCtx(), request.getUuid());
+			if(browserBuilder == null) {
+				browserBuilder = convertBrowser(Env.getCtx(), request.getUuid(), true);
+			}
 			responseObserver.onNext(browserBuilder.build());
 			responseObserver.onCompleted();
 		} catch (Exception e) {
@@ -256,7 +299,13 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 				throw new AdempiereException("Object Request Null");
 			}
 			log.fine("Menu Requested = " + request.getUuid());
-			Window.Builder windowBuilder = convertWindow(Env.getCtx(), request.getUuid(), request.getId(), withTabs);
+			Window.Builder windowBuilder = null;
+			if(withTabs) {
+				windowBuilder = getWindowFromSnapshot(Env.getCtx(), request.getUuid(), request.getId());
+			}
+			if(windowBuilder == null) {
+				windowBuilder = convertWindow(Env.getCtx(), request.getUuid(), request.getId(), withTabs);
+			}
 			responseObserver.onNext(windowBuilder.build());
 			responseObserver.onCompleted();
 		} catch (Exception e) {
@@ -300,6 +349,29 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 	 * @param withTabs
 	 */
 	private Window.Builder convertWindow(Properties context, String uuid, int id, boolean withTabs) {
+		return convertWindow(context, uuid, id, withTabs, true);
+	}
+
+	/**
+	 * Convert window with tabs and fields without add it to recent items, used for load caches
+	 * @param context
+	 * @param uuid
+	 * @return
+	 */
+	public Window.Builder warmupWindow(Properties context, String uuid) {
+		return convertWindow(context, uuid, 0, true, false);
+	}
+
+	/**
+	 * Request Window: can be only window or child
+	 * @param context
+	 * @param uuid
+	 * @param id
+	 * @param withTabs
+	 * @param isAddRecentItem add window to recent items of user
+	 * @return
+	 */
+	private Window.Builder convertWindow(Properties context, String uuid, int id, boolean withTabs, boolean isAddRecentItem) {
 		MWindow window = null;
 		if(id > 0) {
 			window = MWindow.get(context, id);
@@ -312,7 +384,7 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 		if(window == null) {
 			return Window.newBuilder();
 		}
-		return convertWindow(context, window, withTabs);
+		return convertWindow(context, window, withTabs, isAddRecentItem);
 	}
 	
 	/**
@@ -395,6 +467,17 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 	 * @return
 	 */
 	private Window.Builder convertWindow(Properties context, MWindow window, boolean withTabs) {
+		return convertWindow(context, window, withTabs, true);
+	}
+
+	/**
+	 * Convert Window from Window Model
+	 * @param window
+	 * @param withTabs
+	 * @param isAddRecentItem add window to recent items of user
+	 * @return
+	 */
+	private Window.Builder convertWindow(Properties context, MWindow window, boolean withTabs, boolean isAddRecentItem) {
 		if (window == null) {
 			return Window.newBuilder();
 		}
@@ -419,6 +502,7 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 			Boolean isShowAcct = MRole.getDefault(context, false).isShowAcct();
 //			List<Tab.Builder> tabListForGroup = new ArrayList<>();
 			List<MTab> tabs = ASPUtil.getInstance(context).getWindowTabs(window.getAD_Window_ID());
+			List<MTab> tabsToConvert = new ArrayList<MTab>();
 			for(MTab tab : tabs) {
 				if(!tab.isActive()) {
 					continue;
@@ -427,7 +511,9 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 				if (tab.isInfoTab() && !isShowAcct) {
 					continue;
 				}
-				Tab.Builder tabBuilder = convertTab(context, tab, tabs, withTabs);
+				tabsToConvert.add(tab);
+			}
+			for(Tab.Builder tabBuilder : convertTabsWithFields(context, window.getAD_Window_ID(), tabsToConvert, tabs, isAddRecentItem)) {
 				builder.addTabs(tabBuilder.build());
 //				//	Get field group
 //				int [] fieldGroupIdArray = getFieldGroupIdsFromTab(tab.getAD_Tab_ID());
@@ -450,16 +536,82 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 //			}
 		}
 		//	Add to recent Item
-		org.spin.base.dictionary.DictionaryUtil.addToRecentItem(
-			MMenu.ACTION_Window,
-			window.getAD_Window_ID()
-		);
+		if (isAddRecentItem) {
+			org.spin.base.dictionary.DictionaryUtil.addToRecentItem(
+				MMenu.ACTION_Window,
+				window.getAD_Window_ID()
+			);
+		}
 		//	return
 		return builder;
 	}
 
 
 
+	/**
+	 * Convert tabs with fields of a window, each tab and each field is converted as a task
+	 * of dictionary build executor and all rows used by fields are loaded before
+	 * @param context
+	 * @param windowId
+	 * @param tabsToConvert
+	 * @param tabs all tabs of window
+	 * @param isAddRecentItem add processes of tabs to recent items of user
+	 * @return tabs with fields in the same order
+	 */
+	private List<Tab.Builder> convertTabsWithFields(Properties context, int windowId, List<MTab> tabsToConvert, List<MTab> tabs, boolean isAddRecentItem) {
+		WindowPrefetch prefetch = WindowPrefetch.load(context, windowId);
+		//	Tabs without fields
+		List<Callable<Tab.Builder>> tabTasks = new ArrayList<Callable<Tab.Builder>>();
+		//	Fields of all tabs, tasks does not wait for other tasks
+		List<Callable<Field.Builder>> fieldTasks = new ArrayList<Callable<Field.Builder>>();
+		List<Integer> fieldsByTab = new ArrayList<Integer>();
+		for(MTab tab : tabsToConvert) {
+			tabTasks.add(() -> convertTab(Env.getCtx(), tab, tabs, false, isAddRecentItem));
+			List<MField> fields = ASPUtil.getInstance(context).getWindowFields(tab.getAD_Tab_ID());
+			int fieldsQuantity = 0;
+			if(fields != null) {
+				for(MField field : fields) {
+					fieldTasks.add(() -> convertField(Env.getCtx(), field, false, prefetch));
+				}
+				fieldsQuantity = fields.size();
+			}
+			fieldsByTab.add(fieldsQuantity);
+		}
+		ExecutorService executor = getDictionaryBuildExecutor();
+		List<Tab.Builder> tabBuilders = ParallelExecutorUtil.invokeAll(executor, context, tabTasks);
+		List<Field.Builder> fieldBuilders = ParallelExecutorUtil.invokeAll(executor, context, fieldTasks);
+		//	Add fields to tabs
+		int fieldIndex = 0;
+		for(int tabIndex = 0; tabIndex < tabBuilders.size(); tabIndex++) {
+			Tab.Builder tabBuilder = tabBuilders.get(tabIndex);
+			int fieldsQuantity = fieldsByTab.get(tabIndex);
+			for(int index = 0; index < fieldsQuantity; index++) {
+				tabBuilder.addFields(fieldBuilders.get(fieldIndex).build());
+				fieldIndex++;
+			}
+		}
+		return tabBuilders;
+	}
+
+	/**
+	 * Get bounded executor for build dictionary, null when it is disabled from setup
+	 * @return
+	 */
+	private static synchronized ExecutorService getDictionaryBuildExecutor() {
+		if(dictionaryBuildExecutor == null) {
+			int threads = Runtime.getRuntime().availableProcessors();
+			if(SetupLoader.getInstance() != null
+					&& SetupLoader.getInstance().getServer() != null) {
+				threads = SetupLoader.getInstance().getServer().getDictionary_build_threads();
+			}
+			if(threads <= 1) {
+				return null;
+			}
+			dictionaryBuildExecutor = ParallelExecutorUtil.newBoundedExecutor("dictionary-build", threads, threads * 100);
+		}
+		return dictionaryBuildExecutor;
+	}
+
 //	/**
 //	 * Get Field group from Tab
 //	 * @param tabId
@@ -534,6 +686,18 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 	 * @return
 	 */
 	private Tab.Builder convertTab(Properties context, MTab tab, List<MTab> tabs, boolean withFields) {
+		return convertTab(context, tab, tabs, withFields, true);
+	}
+
+	/**
+	 * Convert Model tab to builder tab
+	 * @param tab
+	 * @param tabs
+	 * @param withFields
+	 * @param isAddRecentItem add processes of tab to recent items of user
+	 * @return
+	 */
+	private Tab.Builder convertTab(Properties context, MTab tab, List<MTab> tabs, boolean withFields, boolean isAddRecentItem) {
 		if (tab == null) {
 			return Tab.newBuilder();
 		}
@@ -631,7 +795,7 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 				&& processList.size() > 0) {
 			for(MProcess process : processList) {
 				// get process associated without parameters
-				Process.Builder processBuilder = convertProcess(context, process, false);
+				Process.Builder processBuilder = convertProcess(context, process, false, isAddRecentItem);
 				builder.addProcesses(processBuilder.build());
 			}
 		}
@@ -700,6 +864,17 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 	 * @return
 	 */
 	public static Process.Builder convertProcess(Properties context, MProcess process, boolean withParams) {
+		return convertProcess(context, process, withParams, true);
+	}
+
+	/**
+	 * Convert process to builder
+	 * @param process
+	 * @param withParams
+	 * @param isAddRecentItem add process or report to recent items of user
+	 * @return
+	 */
+	public static Process.Builder convertProcess(Properties context, MProcess process, boolean withParams, boolean isAddRecentItem) {
 		if (process == null) {
 			return Process.newBuilder();
 		}
@@ -771,6 +946,9 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 		}
 
 		//	Add to recent Item
+		if (!isAddRecentItem) {
+			return builder;
+		}
 		if (process.isReport()) {
 			org.spin.base.dictionary.DictionaryUtil.addToRecentItem(
 				MMenu.ACTION_Report,
@@ -793,6 +971,18 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 	 * @return
 	 */
 	private Browser.Builder convertBrowser(Properties context, MBrowse browser, boolean withFields) {
+		return convertBrowser(context, browser, withFields, true);
+	}
+
+	/**
+	 * Convert browser to builder
+	 * @param context
+	 * @param browser
+	 * @param withFields
+	 * @param isAddRecentItem add browser to recent items of user
+	 * @return
+	 */
+	private Browser.Builder convertBrowser(Properties context, MBrowse browser, boolean withFields, boolean isAddRecentItem) {
 		if (browser == null) {
 			return Browser.newBuilder();
 		}
@@ -833,12 +1023,12 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 		//	Window Reference
 		if(browser.getAD_Window_ID() > 0) {
 			MWindow window = ASPUtil.getInstance(context).getWindow(browser.getAD_Window_ID());
-			Window.Builder windowBuilder = convertWindow(context, window, false);
+			Window.Builder windowBuilder = convertWindow(context, window, false, isAddRecentItem);
 			builder.setWindow(windowBuilder.build());
 		}
 		//	Process Reference
 		if(browser.getAD_Process_ID() > 0) {
-			Process.Builder processBuilder = convertProcess(context, MProcess.get(context, browser.getAD_Process_ID()), false);
+			Process.Builder processBuilder = convertProcess(context, MProcess.get(context, browser.getAD_Process_ID()), false, isAddRecentItem);
 			builder.setProcess(processBuilder.build());
 		}
 		//	For parameters
@@ -849,10 +1039,12 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 			}
 		}
 		//	Add to recent Item
-		org.spin.base.dictionary.DictionaryUtil.addToRecentItem(
-			MMenu.ACTION_SmartBrowse,
-			browser.getAD_Browse_ID()
-		);
+		if (isAddRecentItem) {
+			org.spin.base.dictionary.DictionaryUtil.addToRecentItem(
+				MMenu.ACTION_SmartBrowse,
+				browser.getAD_Browse_ID()
+			);
+		}
 		return builder;
 	}
 
@@ -1315,10 +1507,10 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 				.addAllContextColumnNames(
 						DictionaryUtil.getContextColumnNames(Optional.ofNullable(column.getDefaultValue()).orElse(""))
 				);
-		//	Process
+		//	Process of button, it is not added to recent items
 		if(column.getAD_Process_ID() > 0) {
 			MProcess process = MProcess.get(context, column.getAD_Process_ID());
-			Process.Builder processBuilder = convertProcess(context, process, false);
+			Process.Builder processBuilder = convertProcess(context, process, false, false);
 			builder.setProcess(processBuilder.build());
 		}
 		//	
@@ -1455,12 +1647,30 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 	 * @return
 	 */
 	public static Field.Builder convertField(Properties context, MField field, boolean translate) {
+		return convertField(context, field, translate, null);
+	}
+
+	/**
+	 * Convert field to builder
+	 * @param field
+	 * @param translate
+	 * @param prefetch rows of window loaded before, can be null
+	 * @return
+	 */
+	public static Field.Builder convertField(Properties context, MField field, boolean translate, WindowPrefetch prefetch) {
 		if (field == null) {
 			return Field.newBuilder();
 		}
 		// Column reference
-		MColumn column = MColumn.get(context, field.getAD_Column_ID());
-		M_Element element = new M_Element(context, column.getAD_Element_ID(), null);
+		MColumn column = null;
+		M_Element element = null;
+		if (prefetch != null) {
+			column = prefetch.getColumn(context, field.getAD_Column_ID());
+			element = prefetch.getElement(context, column.getAD_Element_ID());
+		} else {
+			column = MColumn.get(context, field.getAD_Column_ID());
+			element = new M_Element(context, column.getAD_Element_ID(), null);
+		}
 		String defaultValue = field.getDefaultValue();
 		if(Util.isEmpty(defaultValue)) {
 			defaultValue = column.getDefaultValue();
@@ -1529,10 +1739,10 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 			ContextInfo.Builder contextInfoBuilder = convertContextInfo(context, field.getAD_ContextInfo_ID());
 			builder.setContextInfo(contextInfoBuilder.build());
 		}
-		//	Process
+		//	Process of button, it is not added to recent items
 		if(column.getAD_Process_ID() > 0) {
 			MProcess process = MProcess.get(context, column.getAD_Process_ID());
-			Process.Builder processBuilder = convertProcess(context, process, false);
+			Process.Builder processBuilder = convertProcess(context, process, false, false);
 			builder.setProcess(processBuilder.build());
 		}
 		//
@@ -1570,11 +1780,21 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 		}
 		//	Field Group
 		if(field.getAD_FieldGroup_ID() > 0) {
-			FieldGroup.Builder fieldGroup = convertFieldGroup(context, field.getAD_FieldGroup_ID());
+			FieldGroup.Builder fieldGroup = null;
+			if (prefetch != null) {
+				fieldGroup = convertFieldGroup(context, prefetch.getFieldGroup(context, field.getAD_FieldGroup_ID()));
+			} else {
+				fieldGroup = convertFieldGroup(context, field.getAD_FieldGroup_ID());
+			}
 			builder.setFieldGroup(fieldGroup.build());
 		}
 
-		MFieldCustom fieldCustom = FieldCustomUtil.getFieldCustom(field.getAD_Field_ID());
+		MFieldCustom fieldCustom = null;
+		if (prefetch != null) {
+			fieldCustom = prefetch.getFieldCustom(field.getAD_Field_ID());
+		} else {
+			fieldCustom = FieldCustomUtil.getFieldCustom(field.getAD_Field_ID());
+		}
 		if (fieldCustom != null && fieldCustom.isActive()) {
 			// ASP default displayed field as panel
 			if (fieldCustom.get_ColumnIndex(org.spin.base.dictionary.DictionaryUtil.IS_DISPLAYED_AS_PANEL_COLUMN_NAME) >= 0) {
@@ -1731,9 +1951,21 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 	 * @return
 	 */
 	public static FieldGroup.Builder convertFieldGroup(Properties context, int fieldGroupId) {
-		FieldGroup.Builder builder = FieldGroup.newBuilder();
 		if(fieldGroupId > 0) {
 			X_AD_FieldGroup fieldGroup  = new X_AD_FieldGroup(context, fieldGroupId, null);
+			return convertFieldGroup(context, fieldGroup);
+		}
+		return FieldGroup.newBuilder();
+	}
+
+	/**
+	 * Convert Field Group to builder
+	 * @param fieldGroup
+	 * @return
+	 */
+	public static FieldGroup.Builder convertFieldGroup(Properties context, X_AD_FieldGroup fieldGroup) {
+		FieldGroup.Builder builder = FieldGroup.newBuilder();
+		if(fieldGroup != null && fieldGroup.getAD_FieldGroup_ID() > 0) {
 			//	Get translation
 			String name = null;
 			String language = Env.getAD_Language(context);
@@ -1768,11 +2000,7 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 			X_AD_Reference reference = new Query(context, I_AD_Reference.Table_Name, I_AD_Reference.COLUMNNAME_UUID + " = ?", null)
 					.setParameters(request.getReferenceUuid())
 					.first();
-			if(reference.getValidationType().equals(X_AD_Reference.VALIDATIONTYPE_TableValidation)) {
-				info = MLookupFactory.getLookupInfo(context, 0, 0, DisplayType.Search, Language.getLanguage(Env.getAD_Language(context)), null, reference.getAD_Reference_ID(), false, null, false);
-			} else if(reference.getValidationType().equals(X_AD_Reference.VALIDATIONTYPE_ListValidation)) {
-				info = MLookupFactory.getLookup_List(Language.getLanguage(Env.getAD_Language(context)), reference.getAD_Reference_ID());
-			}
+			info = getReferenceLookupInfo(context, reference);
 		} else if(!Util.isEmpty(request.getColumnName())) {
 			info = MLookupFactory.getLookupInfo(context, 0, 0, DisplayType.TableDir, Language.getLanguage(Env.getAD_Language(context)), request.getColumnName(), 0, false, null, false);
 		}
@@ -1784,6 +2012,24 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 		return builder;
 	}
 	
+	/**
+	 * Get lookup info from reference, only for table and list validation
+	 * @param context
+	 * @param reference
+	 * @return
+	 */
+	private MLookupInfo getReferenceLookupInfo(Properties context, X_AD_Reference reference) {
+		if(reference == null) {
+			return null;
+		}
+		if(reference.getValidationType().equals(X_AD_Reference.VALIDATIONTYPE_TableValidation)) {
+			return MLookupFactory.getLookupInfo(context, 0, 0, DisplayType.Search, Language.getLanguage(Env.getAD_Language(context)), null, reference.getAD_Reference_ID(), false, null, false);
+		} else if(reference.getValidationType().equals(X_AD_Reference.VALIDATIONTYPE_ListValidation)) {
+			return MLookupFactory.getLookup_List(Language.getLanguage(Env.getAD_Language(context)), reference.getAD_Reference_ID());
+		}
+		return null;
+	}
+	
 	/**
 	 * Convert Validation rule
 	 * @param context
@@ -1984,6 +2230,474 @@ public class DictionaryServiceImplementation extends DictionaryImplBase {
 
 
 
+	@Override
+	public void listDictionaryChanges(ListDictionaryChangesRequest request, StreamObserver<ListDictionaryChangesResponse> responseObserver) {
+		try {
+			if (request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			log.fine("Dictionary Changes Requested = " + request.getDictionaryVersion());
+			ListDictionaryChangesResponse.Builder changesBuilder = listDictionaryChanges(Env.getCtx(), request);
+			responseObserver.onNext(changesBuilder.build());
+			responseObserver.onCompleted();
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			e.printStackTrace();
+			responseObserver.onError(Status.INTERNAL
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException()
+			);
+		}
+	}
+
+	/**
+	 * Get definitions changed after client version, based on Updated column of dictionary tables.
+	 * The changes are built once and cached by versions, language, client and role
+	 * @param context
+	 * @param request
+	 * @return
+	 */
+	private ListDictionaryChangesResponse.Builder listDictionaryChanges(Properties context, ListDictionaryChangesRequest request) {
+		//	Get version before changes, any change while is converting is sent on next request.
+		//	It is the cached version (read at most once a minute), changes after it are sent on next request
+		long currentVersion = DictionaryVersionUtil.getCachedDictionaryVersion();
+		long clientVersion = request.getDictionaryVersion();
+		ListDictionaryChangesResponse.Builder builder = ListDictionaryChangesResponse.newBuilder()
+			.setDictionaryVersion(currentVersion);
+		//	Without version or from other database
+		if (clientVersion <= 0 || clientVersion > currentVersion) {
+			builder.setIsFullReload(true);
+			return builder;
+		}
+		if (clientVersion == currentVersion) {
+			return builder;
+		}
+		//	Same changes for all clients of version, e.g. after a dictionary migration
+		String key = clientVersion + "|" + currentVersion
+			+ "|" + Env.getAD_Language(context)
+			+ "|" + Env.getAD_Client_ID(context)
+			+ "|" + Env.getAD_Role_ID(context);
+		ListDictionaryChangesResponse changes = dictionaryChangesCache.get(key);
+		if (changes != null) {
+			return changes.toBuilder();
+		}
+		FutureTask<ListDictionaryChangesResponse> task = new FutureTask<ListDictionaryChangesResponse>(() -> {
+			try {
+				ListDictionaryChangesResponse builtChanges = listDictionaryChanges(context, clientVersion, currentVersion).build();
+				dictionaryChangesCache.put(key, builtChanges);
+				return builtChanges;
+			} finally {
+				pendingDictionaryChanges.remove(key);
+			}
+		});
+		FutureTask<ListDictionaryChangesResponse> pending = pendingDictionaryChanges.putIfAbsent(key, task);
+		if (pending == null) {
+			pending = task;
+			//	built on this thread, other requests wait for it
+			task.run();
+		}
+		try {
+			return pending.get().toBuilder();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AdempiereException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new AdempiereException(e.getCause());
+		}
+	}
+
+	/**
+	 * Convert definitions changed between versions, when there are too many changes (e.g. after
+	 * a dictionary migration) a full reload is answered instead of convert all definitions
+	 * @param context
+	 * @param clientVersion
+	 * @param currentVersion
+	 * @return
+	 */
+	private ListDictionaryChangesResponse.Builder listDictionaryChanges(Properties context, long clientVersion, long currentVersion) {
+		ListDictionaryChangesResponse.Builder builder = ListDictionaryChangesResponse.newBuilder()
+			.setDictionaryVersion(currentVersion);
+		int[] windowIds = DictionaryVersionUtil.getChangedWindowIds(clientVersion);
+		int[] tabIds = DictionaryVersionUtil.getChangedTabIds(clientVersion);
+		int[] fieldIds = DictionaryVersionUtil.getChangedFieldIds(clientVersion);
+		int[] processIds = DictionaryVersionUtil.getChangedProcessIds(clientVersion);
+		int[] referenceIds = DictionaryVersionUtil.getChangedReferenceIds(clientVersion);
+		int changes = windowIds.length + tabIds.length + fieldIds.length + processIds.length + referenceIds.length;
+		if (changes > MAXIMUM_DICTIONARY_CHANGES) {
+			log.fine("Dictionary Changes " + changes + " exceed maximum " + MAXIMUM_DICTIONARY_CHANGES + ", full reload");
+			builder.setIsFullReload(true);
+			return builder;
+		}
+		//	Windows
+		for (int windowId : windowIds) {
+			MWindow window = MWindow.get(context, windowId);
+			if (window == null || window.getAD_Window_ID() <= 0) {
+				continue;
+			}
+			if (!window.isActive()) {
+				builder.addWindows(
+					Window.newBuilder()
+						.setId(window.getAD_Window_ID())
+						.setUuid(ValueUtil.validateNull(window.getUUID()))
+						.setIsActive(false)
+				);
+				continue;
+			}
+			builder.addWindows(convertWindow(context, window, false, false));
+		}
+		//	Tabs
+		for (int tabId : tabIds) {
+			MTab tab = MTab.get(context, tabId);
+			if (tab == null || tab.getAD_Tab_ID() <= 0) {
+				continue;
+			}
+			MWindow window = MWindow.get(context, tab.getAD_Window_ID());
+			Tab.Builder tabBuilder = Tab.newBuilder()
+				.setId(tab.getAD_Tab_ID())
+				.setUuid(ValueUtil.validateNull(tab.getUUID()))
+				.setIsActive(false);
+			if (tab.isActive() && window.isActive()) {
+				List<MTab> tabs = ASPUtil.getInstance(context).getWindowTabs(tab.getAD_Window_ID());
+				tabBuilder = convertTab(context, tab, tabs, false, false);
+			}
+			builder.addTabs(
+				TabChange.newBuilder()
+					.setWindowId(window.getAD_Window_ID())
+					.setWindowUuid(ValueUtil.validateNull(window.getUUID()))
+					.setTab(tabBuilder)
+			);
+		}
+		//	Fields
+		for (int fieldId : fieldIds) {
+			MField field = new MField(context, fieldId, null);
+			if (field.getAD_Field_ID() <= 0) {
+				continue;
+			}
+			MTab tab = MTab.get(context, field.getAD_Tab_ID());
+			Field.Builder fieldBuilder = Field.newBuilder()
+				.setId(field.getAD_Field_ID())
+				.setUuid(ValueUtil.validateNull(field.getUUID()))
+				.setIsActive(false);
+			if (field.isActive() && tab.isActive()) {
+				fieldBuilder = convertField(context, field.getUUID());
+			}
+			builder.addFields(
+				FieldChange.newBuilder()
+					.setTabId(tab.getAD_Tab_ID())
+					.setTabUuid(ValueUtil.validateNull(tab.getUUID()))
+					.setField(fieldBuilder)
+			);
+		}
+		//	Processes
+		for (int processId : processIds) {
+			MProcess process = MProcess.get(context, processId);
+			if (process == null || process.getAD_Process_ID() <= 0) {
+				continue;
+			}
+			if (!process.isActive()) {
+				builder.addProcesses(
+					Process.newBuilder()
+						.setId(process.getAD_Process_ID())
+						.setUuid(ValueUtil.validateNull(process.getUUID()))
+						.setIsActive(false)
+				);
+				continue;
+			}
+			builder.addProcesses(convertProcess(context, process, true, false));
+		}
+		//	References
+		for (int referenceId : referenceIds) {
+			X_AD_Reference reference = new X_AD_Reference(context, referenceId, null);
+			MLookupInfo info = getReferenceLookupInfo(context, reference);
+			if (info == null) {
+				continue;
+			}
+			Reference.Builder referenceBuilder = DictionaryConvertUtil.convertReference(context, info)
+				.setId(reference.getAD_Reference_ID())
+				.setUuid(ValueUtil.validateNull(reference.getUUID()));
+			builder.addReferences(referenceBuilder);
+		}
+		return builder;
+	}
+
+
+
+	@Override
+	public void buildDictionarySnapshot(BuildDictionarySnapshotRequest request, StreamObserver<BuildDictionarySnapshotResponse> responseObserver) {
+		try {
+			if(request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			BuildDictionarySnapshotResponse.Builder snapshotBuilder = buildDictionarySnapshot(Env.getCtx(), request);
+			responseObserver.onNext(snapshotBuilder.build());
+			responseObserver.onCompleted();
+		} catch (StatusRuntimeException e) {
+			log.warning(e.getLocalizedMessage());
+			responseObserver.onError(e);
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			responseObserver.onError(Status.INTERNAL
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException()
+			);
+		}
+	}
+
+	/**
+	 * Build snapshot of dictionary for language, client and role of session
+	 * @param context
+	 * @param request
+	 * @return
+	 * @throws Exception
+	 */
+	private BuildDictionarySnapshotResponse.Builder buildDictionarySnapshot(Properties context, BuildDictionarySnapshotRequest request) throws Exception {
+		//	Only for administrators: System role or client level role with advanced access
+		MRole role = MRole.getDefault(context, false);
+		String userLevel = ValueUtil.validateNull(role.getUserLevel());
+		boolean isSystemRole = role.getAD_Role_ID() == 0 || userLevel.contains("S");
+		boolean isClientAdministrator = userLevel.contains("C") && role.isAccessAdvanced();
+		if(!isSystemRole && !isClientAdministrator) {
+			throw Status.PERMISSION_DENIED
+				.withDescription("@AD_Role_ID@ " + role.getName() + " can not build a Dictionary Snapshot")
+				.asRuntimeException();
+		}
+		if(DictionarySnapshotUtil.hasUserCustomization(Env.getAD_User_ID(context))) {
+			throw new AdempiereException("@AD_User_ID@ with own customization can not build a Dictionary Snapshot");
+		}
+		Properties snapshotContext = (Properties) context.clone();
+		if(!Util.isEmpty(request.getLanguage(), true)) {
+			int languageId = DB.getSQLValueEx(
+				null,
+				"SELECT AD_Language_ID FROM AD_Language WHERE AD_Language = ? AND (IsSystemLanguage = 'Y' OR IsBaseLanguage = 'Y')",
+				request.getLanguage()
+			);
+			if(languageId <= 0) {
+				throw new AdempiereException("@AD_Language@ @NotFound@");
+			}
+			Env.setContext(snapshotContext, Env.LANGUAGE, request.getLanguage());
+		}
+		if(!isSnapshotBuilding.compareAndSet(false, true)) {
+			throw new AdempiereException("Dictionary Snapshot is already being built");
+		}
+		try {
+			return ParallelExecutorUtil.withContextCopy(snapshotContext, () -> writeDictionarySnapshot(Env.getCtx())).call();
+		} finally {
+			isSnapshotBuilding.set(false);
+		}
+	}
+
+	/**
+	 * Convert all windows, processes, browsers and references to a snapshot file and load it
+	 * @param context
+	 * @return
+	 * @throws Exception
+	 */
+	private BuildDictionarySnapshotResponse.Builder writeDictionarySnapshot(Properties context) throws Exception {
+		//	Version before convert, then changes while it is building invalidate the snapshot.
+		//	It is read again because the cached version must match with snapshot, it is built once at time
+		long dictionaryVersion = DictionaryVersionUtil.getDictionaryVersion();
+		String language = Env.getAD_Language(context);
+		int clientId = Env.getAD_Client_ID(context);
+		int roleId = Env.getAD_Role_ID(context);
+		File folder = DictionarySnapshotUtil.getSnapshotFolder();
+		if(!folder.exists() && !folder.mkdirs()) {
+			throw new AdempiereException("Dictionary Snapshot folder can not be created: " + folder.getAbsolutePath());
+		}
+		MRole role = MRole.get(context, roleId);
+		File file = new File(folder, DictionarySnapshot.getFileName(language, clientId, roleId));
+		DictionarySnapshot.Writer writer = new DictionarySnapshot.Writer(file, dictionaryVersion, language, clientId, roleId);
+		try {
+			//	Windows
+			for(int windowId : getSnapshotIds(context, I_AD_Window.Table_Name, null)) {
+				if(role.getWindowAccess(windowId) == null) {
+					continue;
+				}
+				try {
+					Window.Builder windowBuilder = convertWindow(context, MWindow.get(context, windowId), true, false);
+					writer.add(DictionarySnapshot.TYPE_WINDOW, windowId, windowBuilder.getUuid(), windowBuilder.build());
+				} catch (Exception e) {
+					log.log(Level.WARNING, "Window " + windowId + " is not added to Dictionary Snapshot", e);
+				}
+			}
+			//	Processes
+			for(int processId : getSnapshotIds(context, I_AD_Process.Table_Name, null)) {
+				if(role.getProcessAccess(processId) == null) {
+					continue;
+				}
+				try {
+					Process.Builder processBuilder = convertProcess(context, MProcess.get(context, processId), true, false);
+					writer.add(DictionarySnapshot.TYPE_PROCESS, processId, processBuilder.getUuid(), processBuilder.build());
+				} catch (Exception e) {
+					log.log(Level.WARNING, "Process " + processId + " is not added to Dictionary Snapshot", e);
+				}
+			}
+			//	Browsers
+			for(int browseId : getSnapshotIds(context, I_AD_Browse.Table_Name, null)) {
+				if(role.getBrowseAccess(browseId) == null) {
+					continue;
+				}
+				try {
+					MBrowse browser = ASPUtil.getInstance(context).getBrowse(browseId);
+					Browser.Builder browserBuilder = convertBrowser(context, browser, true, false);
+					writer.add(DictionarySnapshot.TYPE_BROWSER, browseId, browserBuilder.getUuid(), browserBuilder.build());
+				} catch (Exception e) {
+					log.log(Level.WARNING, "Browser " + browseId + " is not added to Dictionary Snapshot", e);
+				}
+			}
+			//	References
+			String referenceWhereClause = I_AD_Reference.COLUMNNAME_ValidationType + " IN('"
+				+ X_AD_Reference.VALIDATIONTYPE_TableValidation + "', '"
+				+ X_AD_Reference.VALIDATIONTYPE_ListValidation + "')";
+			for(int referenceId : getSnapshotIds(context, I_AD_Reference.Table_Name, referenceWhereClause)) {
+				try {
+					X_AD_Reference reference = new X_AD_Reference(context, referenceId, null);
+					MLookupInfo info = getReferenceLookupInfo(context, reference);
+					if(info == null) {
+						continue;
+					}
+					Reference.Builder referenceBuilder = DictionaryConvertUtil.convertReference(context, info);
+					writer.add(DictionarySnapshot.TYPE_REFERENCE, referenceId, reference.getUUID(), referenceBuilder.build());
+				} catch (Exception e) {
+					log.log(Level.WARNING, "Reference " + referenceId + " is not added to Dictionary Snapshot", e);
+				}
+			}
+		} catch (Exception e) {
+			writer.discard();
+			throw e;
+		}
+		writer.close();
+		//	Use it from now
+		DictionarySnapshot snapshot = DictionarySnapshot.load(file);
+		DictionarySnapshotUtil.addSnapshot(snapshot);
+		return BuildDictionarySnapshotResponse.newBuilder()
+			.setDictionaryVersion(dictionaryVersion)
+			.setFileName(file.getName())
+			.setWindowsQuantity(writer.getQuantity(DictionarySnapshot.TYPE_WINDOW))
+			.setProcessesQuantity(writer.getQuantity(DictionarySnapshot.TYPE_PROCESS))
+			.setBrowsersQuantity(writer.getQuantity(DictionarySnapshot.TYPE_BROWSER))
+			.setReferencesQuantity(writer.getQuantity(DictionarySnapshot.TYPE_REFERENCE))
+		;
+	}
+
+	/**
+	 * Get active records of system and client for snapshot, the access of role is validated by caller
+	 * @param context
+	 * @param tableName
+	 * @param whereClause
+	 * @return
+	 */
+	private int[] getSnapshotIds(Properties context, String tableName, String whereClause) {
+		String clientWhereClause = "AD_Client_ID IN (0, ?)";
+		if(!Util.isEmpty(whereClause, true)) {
+			clientWhereClause += " AND (" + whereClause + ")";
+		}
+		return new Query(context, tableName, clientWhereClause, null)
+			.setParameters(Env.getAD_Client_ID(context))
+			.setOnlyActiveRecords(true)
+			.getIDs();
+	}
+
+	/**
+	 * Get window from snapshot
+	 * @param context
+	 * @param uuid
+	 * @param id
+	 * @return null if it is not in a valid snapshot
+	 * @throws InvalidProtocolBufferException
+	 */
+	private Window.Builder getWindowFromSnapshot(Properties context, String uuid, int id) throws InvalidProtocolBufferException {
+		DictionarySnapshot snapshot = DictionarySnapshotUtil.getSnapshot(context);
+		if(snapshot == null) {
+			return null;
+		}
+		Window window = snapshot.getWindow(id, uuid);
+		if(window == null) {
+			return null;
+		}
+		//	Add to recent Item
+		org.spin.base.dictionary.DictionaryUtil.addToRecentItem(
+			MMenu.ACTION_Window,
+			window.getId()
+		);
+		return window.toBuilder();
+	}
+
+	/**
+	 * Get process from snapshot
+	 * @param context
+	 * @param uuid
+	 * @param id
+	 * @return null if it is not in a valid snapshot
+	 * @throws InvalidProtocolBufferException
+	 */
+	private Process.Builder getProcessFromSnapshot(Properties context, String uuid, int id) throws InvalidProtocolBufferException {
+		DictionarySnapshot snapshot = DictionarySnapshotUtil.getSnapshot(context);
+		if(snapshot == null) {
+			return null;
+		}
+		Process process = snapshot.getProcess(id, uuid);
+		if(process == null) {
+			return null;
+		}
+		//	Add to recent Item
+		org.spin.base.dictionary.DictionaryUtil.addToRecentItem(
+			process.getIsReport() ? MMenu.ACTION_Report : MMenu.ACTION_Process,
+			process.getId()
+		);
+		return process.toBuilder();
+	}
+
+	/**
+	 * Get browser from snapshot
+	 * @param context
+	 * @param uuid
+	 * @return null if it is not in a valid snapshot
+	 * @throws InvalidProtocolBufferException
+	 */
+	private Browser.Builder getBrowserFromSnapshot(Properties context, String uuid) throws InvalidProtocolBufferException {
+		DictionarySnapshot snapshot = DictionarySnapshotUtil.getSnapshot(context);
+		if(snapshot == null) {
+			return null;
+		}
+		Browser browser = snapshot.getBrowser(0, uuid);
+		if(browser == null) {
+			return null;
+		}
+		//	Add to recent Item
+		org.spin.base.dictionary.DictionaryUtil.addToRecentItem(
+			MMenu.ACTION_SmartBrowse,
+			browser.getId()
+		);
+		return browser.toBuilder();
+	}
+
+	/**
+	 * Get reference from snapshot
+	 * @param context
+	 * @param uuid
+	 * @return null if it is not in a valid snapshot
+	 * @throws InvalidProtocolBufferException
+	 */
+	private Reference.Builder getReferenceFromSnapshot(Properties context, String uuid) throws InvalidProtocolBufferException {
+		if(Util.isEmpty(uuid, true)) {
+			return null;
+		}
+		DictionarySnapshot snapshot = DictionarySnapshotUtil.getSnapshot(context);
+		if(snapshot == null) {
+			return null;
+		}
+		Reference reference = snapshot.getReference(0, uuid);
+		if(reference == null) {
+			return null;
+		}
+		return reference.toBuilder();
+	}
+
 	@Override
 	public void listSearchInfoFields(ListFieldsRequest request, StreamObserver<ListFieldsResponse> responseObserver) {
 		try {
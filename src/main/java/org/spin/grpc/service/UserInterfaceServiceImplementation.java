@@ -30,14 +30,18 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 import java.util.StringTokenizer;
-import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -78,15 +82,11 @@ import org.adempiere.model.MBrowseField;
 import org.adempiere.model.MView;
 import org.adempiere.model.MViewColumn;
 import org.adempiere.model.MViewDefinition;
-import org.adempiere.model.ZoomInfoFactory;
 import org.compiere.model.Callout;
 import org.compiere.model.CalloutOrder;
+import org.compiere.model.GenericPO;
 import org.compiere.model.GridField;
-import org.compiere.model.GridFieldVO;
 import org.compiere.model.GridTab;
-import org.compiere.model.GridTabVO;
-import org.compiere.model.GridWindow;
-import org.compiere.model.GridWindowVO;
 import org.compiere.model.MChangeLog;
 import org.compiere.model.MChat;
 import org.compiere.model.MChatEntry;
@@ -109,6 +109,7 @@ import org.compiere.model.MTab;
 import org.compiere.model.MTable;
 import org.compiere.model.MTree;
 import org.compiere.model.MTreeNode;
+import org.compiere.model.MTree_Base;
 import org.compiere.model.MUser;
 import org.compiere.model.MWindow;
 import org.compiere.model.M_Element;
@@ -119,6 +120,7 @@ import org.compiere.print.MPrintFormat;
 import org.compiere.print.ReportEngine;
 import org.compiere.util.CCache;
 import org.compiere.util.CLogger;
+import org.compiere.util.CacheMgt;
 import org.compiere.util.DB;
 import org.compiere.util.DisplayType;
 import org.compiere.util.Env;
@@ -126,6 +128,7 @@ import org.compiere.util.MimeType;
 import org.compiere.util.Msg;
 import org.compiere.util.Trx;
 import org.compiere.util.Util;
+import org.spin.backend.grpc.common.CalloutChange;
 import org.spin.backend.grpc.common.ChatEntry;
 import org.spin.backend.grpc.common.ContextInfoValue;
 import org.spin.backend.grpc.common.CreateChatEntryRequest;
@@ -138,6 +141,7 @@ import org.spin.backend.grpc.common.Empty;
 import org.spin.backend.grpc.common.Entity;
 import org.spin.backend.grpc.common.ExistsReferencesRequest;
 import org.spin.backend.grpc.common.ExistsReferencesResponse;
+import org.spin.backend.grpc.common.FieldDefaultValue;
 import org.spin.backend.grpc.common.GetContextInfoValueRequest;
 import org.spin.backend.grpc.common.GetDefaultValueRequest;
 import org.spin.backend.grpc.common.GetLookupItemRequest;
@@ -145,13 +149,17 @@ import org.spin.backend.grpc.common.GetPrivateAccessRequest;
 import org.spin.backend.grpc.common.GetRecordAccessRequest;
 import org.spin.backend.grpc.common.GetReportOutputRequest;
 import org.spin.backend.grpc.common.GetTabEntityRequest;
+import org.spin.backend.grpc.common.GetWindowScreenRequest;
 import org.spin.backend.grpc.common.KeyValue;
+import org.spin.backend.grpc.common.KeyValueSelection;
 import org.spin.backend.grpc.common.ListBrowserItemsRequest;
 import org.spin.backend.grpc.common.ListBrowserItemsResponse;
 import org.spin.backend.grpc.common.ListDrillTablesRequest;
 import org.spin.backend.grpc.common.ListDrillTablesResponse;
 import org.spin.backend.grpc.common.ListEntitiesResponse;
 import org.spin.backend.grpc.common.ListGeneralInfoRequest;
+import org.spin.backend.grpc.common.ListLookupItemsByKeysRequest;
+import org.spin.backend.grpc.common.ListLookupItemsByKeysResponse;
 import org.spin.backend.grpc.common.ListLookupItemsRequest;
 import org.spin.backend.grpc.common.ListLookupItemsResponse;
 import org.spin.backend.grpc.common.ListMailTemplatesRequest;
@@ -163,6 +171,8 @@ import org.spin.backend.grpc.common.ListReferencesResponse;
 import org.spin.backend.grpc.common.ListReportViewsRequest;
 import org.spin.backend.grpc.common.ListReportViewsResponse;
 import org.spin.backend.grpc.common.ListTabEntitiesRequest;
+import org.spin.backend.grpc.common.ListTabDefaultValuesRequest;
+import org.spin.backend.grpc.common.ListTabDefaultValuesResponse;
 import org.spin.backend.grpc.common.ListTabSequencesRequest;
 import org.spin.backend.grpc.common.ListTranslationsRequest;
 import org.spin.backend.grpc.common.ListTranslationsResponse;
@@ -172,15 +182,18 @@ import org.spin.backend.grpc.common.LockPrivateAccessRequest;
 import org.spin.backend.grpc.common.LookupItem;
 import org.spin.backend.grpc.common.MailTemplate;
 import org.spin.backend.grpc.common.Preference;
+import org.spin.backend.grpc.common.PrintDocumentsRequest;
 import org.spin.backend.grpc.common.PrintFormat;
 import org.spin.backend.grpc.common.PrivateAccess;
 import org.spin.backend.grpc.common.RecordAccess;
 import org.spin.backend.grpc.common.RecordAccessRole;
 import org.spin.backend.grpc.common.RecordReferenceInfo;
 import org.spin.backend.grpc.common.ReportOutput;
+import org.spin.backend.grpc.common.ReportOutputChunk;
 import org.spin.backend.grpc.common.ReportView;
 import org.spin.backend.grpc.common.RollbackEntityRequest;
 import org.spin.backend.grpc.common.RunCalloutRequest;
+import org.spin.backend.grpc.common.RunCalloutsRequest;
 import org.spin.backend.grpc.common.SaveTabSequencesRequest;
 import org.spin.backend.grpc.common.SetPreferenceRequest;
 import org.spin.backend.grpc.common.SetRecordAccessRequest;
@@ -192,22 +205,38 @@ import org.spin.backend.grpc.common.UpdateBrowserEntityRequest;
 import org.spin.backend.grpc.common.UpdateTabEntityRequest;
 import org.spin.backend.grpc.common.UserInterfaceGrpc.UserInterfaceImplBase;
 import org.spin.backend.grpc.common.Value;
+import org.spin.backend.grpc.common.WindowScreen;
+import org.spin.base.db.BrowserPageToken;
 import org.spin.base.db.CountUtil;
 import org.spin.base.db.LimitUtil;
-import org.spin.base.db.OrderByUtil;
 import org.spin.base.db.ParameterUtil;
 import org.spin.base.db.QueryUtil;
 import org.spin.base.db.WhereClauseUtil;
+import org.spin.base.dictionary.CompiledBrowser;
+import org.spin.base.dictionary.DictionaryVersionUtil;
+import org.spin.base.dictionary.PdfStreamMerger;
+import org.spin.base.dictionary.ReportOutputCache;
 import org.spin.base.dictionary.ReportUtil;
+import org.spin.base.setup.ReportCacheDefinition;
+import org.spin.base.setup.Server;
+import org.spin.base.setup.SetupLoader;
+import org.spin.base.ui.CalloutRuntime;
+import org.spin.base.ui.LookupDisplayValueUtil;
+import org.spin.base.ui.RecordReferenceUtil;
+import org.spin.base.ui.TreeNodeUtil;
 import org.spin.base.ui.UserInterfaceConvertUtil;
 import org.spin.base.util.ContextManager;
 import org.spin.base.util.ConvertUtil;
+import org.spin.base.util.DictionaryUtil;
 import org.spin.base.util.FileUtil;
 import org.spin.base.util.LookupUtil;
+import org.spin.base.util.ParallelExecutorUtil;
 import org.spin.base.util.RecordUtil;
 import org.spin.base.util.ReferenceInfo;
+import org.spin.base.util.ReferenceTokenUtil;
 import org.spin.base.util.ReferenceUtil;
 import org.spin.base.util.SessionManager;
+import org.spin.base.util.StreamObserverOutputStream;
 import org.spin.base.util.ValueUtil;
 import org.spin.model.MADContextInfo;
 import org.spin.util.ASPUtil;
@@ -215,6 +244,8 @@ import org.spin.util.ASPUtil;
 import com.google.protobuf.ByteString;
 
 import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 
 /**
@@ -225,12 +256,24 @@ import io.grpc.stub.StreamObserver;
 public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 	/**	Logger			*/
 	private CLogger log = CLogger.getCLogger(UserInterfaceServiceImplementation.class);
-	/**	Browse Requested	*/
-	private static CCache<String, MBrowse> browserRequested = new CCache<String, MBrowse>(I_AD_Browse.Table_Name + "_UUID", 30, 0);	//	no time-out
 	/**	window Requested	*/
 	private static CCache<String, MTab> tabRequested = new CCache<String, MTab>(I_AD_Tab.Table_Name + "_UUID", 30, 0);	//	no time-out
-	/**	Reference cache	*/
-	private static CCache<String, String> referenceWhereClauseCache = new CCache<String, String>("Reference_WhereClause", 30, 0);	//	no time-out
+	/**	Executor for load parts of window screen	*/
+	private static ExecutorService windowScreenExecutor = ParallelExecutorUtil.newBoundedExecutor(
+		"window-screen",
+		Math.max(2, Runtime.getRuntime().availableProcessors()),
+		100
+	);
+	/**	Executor for write report streams, the service method returns and the stream is written with flow control	*/
+	private static ExecutorService reportStreamExecutor = ParallelExecutorUtil.newRejectingExecutor(
+		"report-stream",
+		Math.max(2, Runtime.getRuntime().availableProcessors()),
+		50
+	);
+	/**	Writer of report stream	*/
+	private interface ReportStreamWriter {
+		void write(StreamObserverOutputStream<ReportOutputChunk> outputStream) throws Exception;
+	}
 	/**	Window emulation	*/
 	private AtomicInteger windowNoEmulation = new AtomicInteger(1);
 	
@@ -272,6 +315,24 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		}
 	}
 	
+	@Override
+	public void listLookupItemsByKeys(ListLookupItemsByKeysRequest request, StreamObserver<ListLookupItemsByKeysResponse> responseObserver) {
+		try {
+			if(request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			ListLookupItemsByKeysResponse.Builder lookupItems = listLookupItemsByKeys(request);
+			responseObserver.onNext(lookupItems.build());
+			responseObserver.onCompleted();
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			responseObserver.onError(Status.INTERNAL
+					.withDescription(e.getLocalizedMessage())
+					.withCause(e)
+					.asRuntimeException());
+		}
+	}
+
 	@Override
 	public void listLookupItems(ListLookupItemsRequest request, StreamObserver<ListLookupItemsResponse> responseObserver) {
 		try {
@@ -408,6 +469,10 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 			ListReferencesResponse.Builder entityValueList = listReferences(request);
 			responseObserver.onNext(entityValueList.build());
 			responseObserver.onCompleted();
+		} catch (StatusRuntimeException e) {
+			//	References not retrieved before deadline (DEADLINE_EXCEEDED) or executor full (RESOURCE_EXHAUSTED)
+			log.warning(e.getLocalizedMessage());
+			responseObserver.onError(e);
 		} catch (Exception e) {
 			log.severe(e.getLocalizedMessage());
 			responseObserver.onError(Status.INTERNAL
@@ -475,22 +540,15 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 			.setOnlyActiveRecords(true)
 			.first();
 		if (window != null && window.get_ID() > 0) {
-			List<ZoomInfoFactory.ZoomInfo> zoomInfos = ZoomInfoFactory.retrieveZoomInfos(entity, window.getAD_Window_ID())
-				.stream()
-				.filter(zoomInfo -> {
-					return zoomInfo.query.getRecordCount() > 0;
-				})
-				.collect(Collectors.toList());
+			List<RecordReferenceUtil.RecordReference> references = RecordReferenceUtil.getReferencesWithRecords(entity, window.getAD_Window_ID());
 
-			zoomInfos.stream().forEach(zoomInfo -> {
-				MQuery zoomQuery = zoomInfo.query;
-				//
+			references.stream().forEach(reference -> {
 				RecordReferenceInfo.Builder recordReferenceBuilder = RecordReferenceInfo.newBuilder();
 
-				MWindow referenceWindow = MWindow.get(Env.getCtx(), zoomInfo.windowId);
+				MWindow referenceWindow = MWindow.get(Env.getCtx(), reference.getWindowId());
 				MTab tab = Arrays.stream(referenceWindow.getTabs(false, null))
 					.filter(tabItem -> {
-						return zoomQuery.getZoomTableName().equals(tabItem.getAD_Table().getTableName());
+						return reference.getTableName().equals(tabItem.getAD_Table().getTableName());
 					})
 					.findFirst()
 					.orElse(null)
@@ -501,24 +559,24 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 						ValueUtil.validateNull(tab.getUUID())
 					);
 				}
-				recordReferenceBuilder.setTableName(ValueUtil.validateNull(zoomQuery.getZoomTableName()));
-				recordReferenceBuilder.setWhereClause(ValueUtil.validateNull(zoomQuery.getWhereClause()));
-				String uuid = UUID.randomUUID().toString();
-				recordReferenceBuilder.setUuid(uuid);
-				referenceWhereClauseCache.put(uuid, zoomQuery.getWhereClause());
+				recordReferenceBuilder.setTableName(ValueUtil.validateNull(reference.getTableName()));
+				recordReferenceBuilder.setWhereClause(ValueUtil.validateNull(reference.getWhereClause()));
+				recordReferenceBuilder.setUuid(
+					ReferenceTokenUtil.createToken(reference.getTableName(), reference.getWhereClause())
+				);
 
-				recordReferenceBuilder.setRecordCount(zoomQuery.getRecordCount());
+				recordReferenceBuilder.setRecordCount(reference.getRecordCount());
 
-				recordReferenceBuilder.setDisplayName(zoomInfo.destinationDisplay + " (#" + zoomQuery.getRecordCount() + ")");
-				recordReferenceBuilder.setColumnName(ValueUtil.validateNull(zoomQuery.getZoomColumnName()));
+				recordReferenceBuilder.setDisplayName(reference.getDisplayName() + " (#" + reference.getRecordCount() + ")");
+				recordReferenceBuilder.setColumnName(ValueUtil.validateNull(reference.getColumnName()));
 				recordReferenceBuilder.setValue(
-					ValueUtil.getValueFromObject(zoomQuery.getZoomValue())
+					ValueUtil.getValueFromObject(reference.getValue())
 				);
 
 				//	Add to list
 				builder.addReferences(recordReferenceBuilder.build());
 			});
-			builder.setRecordCount(zoomInfos.size());
+			builder.setRecordCount(references.size());
 		}
 		//	Return
 		return builder;
@@ -535,8 +593,32 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 			ExistsReferencesResponse.Builder entityValueList = existsReferences(request);
 			responseObserver.onNext(entityValueList.build());
 			responseObserver.onCompleted();
+		} catch (StatusRuntimeException e) {
+			//	References not retrieved before deadline (DEADLINE_EXCEEDED) or executor full (RESOURCE_EXHAUSTED)
+			log.warning(e.getLocalizedMessage());
+			responseObserver.onError(e);
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			responseObserver.onError(Status.INTERNAL
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException()
+			);
+		}
+	}
+
+	@Override
+	public void getWindowScreen(GetWindowScreenRequest request, StreamObserver<WindowScreen> responseObserver) {
+		try {
+			if(request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			WindowScreen.Builder windowScreen = getWindowScreen(request);
+			responseObserver.onNext(windowScreen.build());
+			responseObserver.onCompleted();
 		} catch (Exception e) {
 			log.severe(e.getLocalizedMessage());
+			e.printStackTrace();
 			responseObserver.onError(Status.INTERNAL
 				.withDescription(e.getLocalizedMessage())
 				.withCause(e)
@@ -545,6 +627,95 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		}
 	}
 
+	/**
+	 * Load all data for open a window on a call: the first page of tab and the default values
+	 * are loaded in parallel, then the references of first record are counted
+	 * @param request
+	 * @return
+	 */
+	private WindowScreen.Builder getWindowScreen(GetWindowScreenRequest request) {
+		Properties context = Env.getCtx();
+		int windowId = request.getWindowId();
+		if (windowId <= 0 && !Util.isEmpty(request.getWindowUuid(), true)) {
+			windowId = RecordUtil.getIdFromUuid(I_AD_Window.Table_Name, request.getWindowUuid(), null);
+		}
+		if (windowId <= 0) {
+			throw new AdempiereException("@FillMandatory@ @AD_Window_ID@");
+		}
+		Boolean isWindowAccess = MRole.getDefault().getWindowAccess(windowId);
+		if (isWindowAccess == null) {
+			throw new AdempiereException("@AccessCannotView@");
+		}
+		String tabUuid = request.getTabUuid();
+		if (Util.isEmpty(tabUuid, true)) {
+			MTab tab = new Query(
+				context,
+				I_AD_Tab.Table_Name,
+				I_AD_Tab.COLUMNNAME_AD_Window_ID + " = ? AND " + I_AD_Tab.COLUMNNAME_TabLevel + " = 0",
+				null
+			)
+				.setParameters(windowId)
+				.setOnlyActiveRecords(true)
+				.setOrderBy(I_AD_Tab.COLUMNNAME_SeqNo)
+				.first();
+			if (tab == null || tab.getAD_Tab_ID() <= 0) {
+				throw new AdempiereException("@AD_Tab_ID@ @NotFound@");
+			}
+			tabUuid = tab.getUUID();
+		} else {
+			//	Access is validated for window, then the tab must be of window
+			MTab tab = (MTab) RecordUtil.getEntity(context, I_AD_Tab.Table_Name, tabUuid, 0, null);
+			if (tab == null || tab.getAD_Tab_ID() <= 0) {
+				throw new AdempiereException("@AD_Tab_ID@ @NotFound@");
+			}
+			if (tab.getAD_Window_ID() != windowId) {
+				throw new AdempiereException("@AD_Tab_ID@ @NotFound@ @AD_Window_ID@ " + windowId);
+			}
+		}
+
+		ListTabEntitiesRequest entitiesRequest = ListTabEntitiesRequest.newBuilder()
+			.setWindowUuid(ValueUtil.validateNull(RecordUtil.getUuidFromId(I_AD_Window.Table_Name, windowId)))
+			.setTabUuid(tabUuid)
+			.addAllContextAttributes(request.getContextAttributesList())
+			.setFilters(request.getFilters())
+			.setPageSize(request.getPageSize())
+			.build();
+		ListTabDefaultValuesRequest defaultValuesRequest = ListTabDefaultValuesRequest.newBuilder()
+			.setTabUuid(tabUuid)
+			.addAllContextAttributes(request.getContextAttributesList())
+			.build();
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+		tasks.add(() -> listTabEntities(entitiesRequest));
+		tasks.add(() -> listTabDefaultValues(defaultValuesRequest));
+		List<Object> results = ParallelExecutorUtil.invokeAll(windowScreenExecutor, context, tasks);
+		ListEntitiesResponse.Builder entities = (ListEntitiesResponse.Builder) results.get(0);
+		ListTabDefaultValuesResponse.Builder defaultValues = (ListTabDefaultValuesResponse.Builder) results.get(1);
+
+		WindowScreen.Builder builder = WindowScreen.newBuilder()
+			.setDictionaryVersion(DictionaryVersionUtil.getCachedDictionaryVersion())
+			.setTabUuid(tabUuid)
+			.setEntities(entities)
+			.addAllDefaultValues(defaultValues.getDefaultValuesList());
+		//	References of first record
+		if (entities.getRecordsCount() > 0) {
+			Entity firstRecord = entities.getRecords(0);
+			try {
+				ExistsReferencesResponse.Builder references = existsReferences(
+					ExistsReferencesRequest.newBuilder()
+						.setTabUuid(tabUuid)
+						.setRecordId(firstRecord.getId())
+						.setRecordUuid(firstRecord.getUuid())
+						.build()
+				);
+				builder.setReferencesCount(references.getRecordCount());
+			} catch (Exception e) {
+				//	References are optional on screen, it can be requested after
+				log.warning("References count of " + tabUuid + " not loaded: " + e.getLocalizedMessage());
+			}
+		}
+		return builder;
+	}
+
 	private ExistsReferencesResponse.Builder existsReferences(ExistsReferencesRequest request) {
 		
 
@@ -577,15 +748,7 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 
 		int recordCount = 0;
 		if (entity != null && entity.get_ID() >= 0) {
-			List<ZoomInfoFactory.ZoomInfo> zoomInfos = ZoomInfoFactory.retrieveZoomInfos(entity, tab.getAD_Window_ID())
-				.stream()
-				.filter(zoomInfo -> {
-					return zoomInfo.query.getRecordCount() > 0;
-				})
-				.collect(Collectors.toList());
-			if (zoomInfos != null && zoomInfos.size() > 0) {
-				recordCount = zoomInfos.size();
-			}
+			recordCount = RecordReferenceUtil.getReferencesWithRecords(entity, tab.getAD_Window_ID()).size();
 		}
 
 		//	Return
@@ -612,6 +775,26 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 			;
 		}
 	}
+
+	@Override
+	public void listTabDefaultValues(ListTabDefaultValuesRequest request, StreamObserver<ListTabDefaultValuesResponse> responseObserver) {
+		try {
+			if(request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			ListTabDefaultValuesResponse.Builder defaultValues = listTabDefaultValues(request);
+			responseObserver.onNext(defaultValues.build());
+			responseObserver.onCompleted();
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			e.printStackTrace();
+			responseObserver.onError(Status.INTERNAL
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException())
+			;
+		}
+	}
 	
 	@Override
 	/**
@@ -826,6 +1009,62 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 			;
 		}
 	}
+
+	@Override
+	public void streamReportOutput(GetReportOutputRequest request, StreamObserver<ReportOutputChunk> responseObserver) {
+		try {
+			if(request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			writeReportStream(
+				(ServerCallStreamObserver<ReportOutputChunk>) responseObserver,
+				outputStream -> streamReportOutput(request, (ServerCallStreamObserver<ReportOutputChunk>) responseObserver, outputStream)
+			);
+		} catch (RejectedExecutionException e) {
+			log.warning(e.getLocalizedMessage());
+			responseObserver.onError(Status.RESOURCE_EXHAUSTED
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException())
+			;
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			e.printStackTrace();
+			responseObserver.onError(Status.INTERNAL
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException())
+			;
+		}
+	}
+	
+	@Override
+	public void printDocuments(PrintDocumentsRequest request, StreamObserver<ReportOutputChunk> responseObserver) {
+		try {
+			if(request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			writeReportStream(
+				(ServerCallStreamObserver<ReportOutputChunk>) responseObserver,
+				outputStream -> printDocuments(request, (ServerCallStreamObserver<ReportOutputChunk>) responseObserver, outputStream)
+			);
+		} catch (RejectedExecutionException e) {
+			log.warning(e.getLocalizedMessage());
+			responseObserver.onError(Status.RESOURCE_EXHAUSTED
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException())
+			;
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			e.printStackTrace();
+			responseObserver.onError(Status.INTERNAL
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException())
+			;
+		}
+	}
 	
 	@Override
 	public void createChatEntry(CreateChatEntryRequest request, StreamObserver<ChatEntry> responseObserver) {
@@ -1116,7 +1355,7 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		}
 		//	Add from reference
 		if(!Util.isEmpty(criteria.getReferenceUuid())) {
-			String referenceWhereClause = referenceWhereClauseCache.get(criteria.getReferenceUuid());
+			String referenceWhereClause = ReferenceTokenUtil.getWhereClause(criteria.getReferenceUuid(), tableName);
 			if(!Util.isEmpty(referenceWhereClause)) {
 				if(whereClause.length() > 0) {
 					whereClause.append(" AND ");
@@ -1684,7 +1923,220 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 	 * @throws IOException 
 	 * @throws FileNotFoundException 
 	 */
-	private ReportOutput.Builder getReportOutput(GetReportOutputRequest request) throws FileNotFoundException, IOException {
+	public ReportOutput.Builder getReportOutput(GetReportOutputRequest request) throws FileNotFoundException, IOException {
+		//	Cached output
+		ReportCacheDefinition cacheDefinition = ReportOutputCache.getDefinition(request.getPrintFormatUuid(), request.getReportViewUuid());
+		String cacheKey = null;
+		//	Access is validated once, before read cache
+		MProcess process = validateReportAccess(request);
+		if(cacheDefinition != null) {
+			cacheKey = ReportOutputCache.getKey(cacheDefinition, request);
+			ReportOutput cachedOutput = ReportOutputCache.get(cacheDefinition, cacheKey);
+			if(cachedOutput != null) {
+				return cachedOutput.toBuilder();
+			}
+		}
+		ReportEngine reportEngine = createReportEngine(request, process);
+		ReportOutput.Builder builder = ReportOutput.newBuilder();
+		File reportFile = ReportUtil.createOutput(reportEngine, request.getReportType());
+		if(reportFile != null
+				&& reportFile.exists()) {
+			String validFileName = FileUtil.getValidFileName(reportFile.getName());
+			fillReportOutputInfo(builder, reportEngine, request.getReportType(), validFileName);
+			ByteString resultFile = null;
+			try (FileInputStream inputStream = new FileInputStream(reportFile)) {
+				resultFile = ByteString.readFrom(inputStream);
+			} finally {
+				reportFile.delete();
+			}
+			if(request.getReportType().endsWith("html")
+					|| request.getReportType().endsWith("txt")) {
+				builder.setOutputBytes(resultFile);
+			}
+			builder.setOutputStream(resultFile);
+			if(cacheKey != null) {
+				ReportOutputCache.put(cacheKey, builder.build());
+			}
+		}
+		//	Return
+		return builder;
+	}
+
+	/**
+	 * Write a report stream on other thread, the stream is created on service method for
+	 * register ready and cancel handlers, then the service method returns and the handlers
+	 * are called while writer waits the client
+	 * @param responseObserver
+	 * @param writer
+	 */
+	private void writeReportStream(ServerCallStreamObserver<ReportOutputChunk> responseObserver, ReportStreamWriter writer) {
+		StreamObserverOutputStream<ReportOutputChunk> outputStream = new StreamObserverOutputStream<ReportOutputChunk>(
+			responseObserver,
+			content -> ReportOutputChunk.newBuilder().setContent(content).build()
+		);
+		reportStreamExecutor.submit(ParallelExecutorUtil.withContextCopy(Env.getCtx(), () -> {
+			try {
+				writer.write(outputStream);
+				if(!outputStream.isCancelled()) {
+					responseObserver.onCompleted();
+				}
+			} catch (Exception e) {
+				if(outputStream.isCancelled()) {
+					log.fine("Call Cancelled");
+					return null;
+				}
+				log.severe(e.getLocalizedMessage());
+				responseObserver.onError(Status.INTERNAL
+					.withDescription(e.getLocalizedMessage())
+					.withCause(e)
+					.asRuntimeException())
+				;
+			}
+			return null;
+		}));
+	}
+
+	/**
+	 * Send report output as chunks, first message has report information and next messages
+	 * have the content written by report engine, only a chunk is kept on memory
+	 * @param request
+	 * @param responseObserver
+	 * @param outputStream
+	 * @throws IOException
+	 */
+	private void streamReportOutput(GetReportOutputRequest request, ServerCallStreamObserver<ReportOutputChunk> responseObserver,
+			StreamObserverOutputStream<ReportOutputChunk> outputStream) throws IOException {
+		ReportEngine reportEngine = createReportEngine(request);
+		String extension = ReportUtil.getOutputExtension(reportEngine, request.getReportType());
+		if(extension == null) {
+			throw new AdempiereException("@NotFound@ " + request.getReportType());
+		}
+		String validFileName = FileUtil.getValidFileName(reportEngine.getName() + "." + extension);
+		ReportOutput.Builder builder = ReportOutput.newBuilder();
+		fillReportOutputInfo(builder, reportEngine, request.getReportType(), validFileName);
+		responseObserver.onNext(
+			ReportOutputChunk.newBuilder()
+				.setReportOutput(builder)
+				.build()
+		);
+		ReportUtil.writeOutput(reportEngine, request.getReportType(), outputStream);
+	}
+
+	/**
+	 * Print each record to a temporary PDF and append it to merged PDF, the merged PDF is
+	 * written to stream while records are printed, then only a document is kept on memory
+	 * @param request
+	 * @param responseObserver
+	 * @param outputStream
+	 * @throws Exception
+	 */
+	private void printDocuments(PrintDocumentsRequest request, ServerCallStreamObserver<ReportOutputChunk> responseObserver,
+			StreamObserverOutputStream<ReportOutputChunk> outputStream) throws Exception {
+		if(Util.isEmpty(request.getTableName(), true)) {
+			throw new AdempiereException("@FillMandatory@ @TableName@");
+		}
+		if(request.getRecordIdsCount() <= 0) {
+			throw new AdempiereException("@FillMandatory@ @Record_ID@");
+		}
+		MTable table = MTable.get(Env.getCtx(), request.getTableName());
+		if(table == null || table.getAD_Table_ID() <= 0) {
+			throw new AdempiereException("@AD_Table_ID@ @NotFound@");
+		}
+		if(!MRole.getDefault().isCanReport(table.getAD_Table_ID())) {
+			throw new AdempiereException("@AccessCannotReport@ " + table.getTableName());
+		}
+		validatePrintDocumentsAccess(table, request.getRecordIdsList());
+		MPrintFormat printFormat = null;
+		if(!Util.isEmpty(request.getPrintFormatUuid(), true)) {
+			int printFormatId = RecordUtil.getIdFromUuid(I_AD_PrintFormat.Table_Name, request.getPrintFormatUuid(), null);
+			printFormat = MPrintFormat.get(Env.getCtx(), printFormatId, false);
+			if(printFormat == null || printFormat.getAD_PrintFormat_ID() <= 0) {
+				throw new AdempiereException("@AD_PrintFormat_ID@ @NotFound@");
+			}
+		}
+		responseObserver.onNext(
+			ReportOutputChunk.newBuilder()
+				.setReportOutput(
+					ReportOutput.newBuilder()
+						.setName(ValueUtil.validateNull(table.getTableName()))
+						.setFileName(FileUtil.getValidFileName(table.getTableName() + ".pdf"))
+						.setMimeType(ValueUtil.validateNull(MimeType.getMimeType(table.getTableName() + ".pdf")))
+						.setReportType("pdf")
+						.setTableName(ValueUtil.validateNull(table.getTableName()))
+				)
+				.build()
+		);
+		try (PdfStreamMerger merger = new PdfStreamMerger(outputStream)) {
+			for(int recordId : request.getRecordIdsList()) {
+				if(outputStream.isCancelled()) {
+					break;
+				}
+				ReportEngine reportEngine = ReportUtil.getDocumentReportEngine(table, recordId, printFormat);
+				if(reportEngine == null) {
+					throw new AdempiereException("@AD_PrintFormat_ID@ @NotFound@ " + table.getTableName());
+				}
+				File document = File.createTempFile("PrintDocuments_" + recordId + "_", ".pdf");
+				try {
+					reportEngine.getPDF(document);
+					merger.append(document);
+				} finally {
+					document.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Validate access of role to records (organization, record access and dependent access) with
+	 * one query, a record not found or without access fails the request before print any document
+	 * @param table
+	 * @param recordIds
+	 */
+	private void validatePrintDocumentsAccess(MTable table, List<Integer> recordIds) {
+		if(!table.isSingleKey()) {
+			throw new AdempiereException("@AD_Table_ID@ " + table.getTableName() + " @IsKey@ @NotFound@");
+		}
+		String keyColumnName = table.getTableName() + "." + table.getKeyColumns()[0];
+		String sql = "SELECT " + keyColumnName
+			+ " FROM " + table.getTableName()
+			+ " WHERE " + keyColumnName + " IN ("
+			+ recordIds.stream().map(recordId -> "?").collect(Collectors.joining(", "))
+			+ ")";
+		sql = MRole.getDefault().addAccessSQL(sql, table.getTableName(), MRole.SQL_FULLYQUALIFIED, MRole.SQL_RO);
+		Set<Integer> accessibleRecordIds = new HashSet<Integer>();
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try {
+			pstmt = DB.prepareStatement(sql, null);
+			int parameterIndex = 1;
+			for(int recordId : recordIds) {
+				pstmt.setInt(parameterIndex++, recordId);
+			}
+			rs = pstmt.executeQuery();
+			while(rs.next()) {
+				accessibleRecordIds.add(rs.getInt(1));
+			}
+		} catch (SQLException e) {
+			log.severe(e.getLocalizedMessage());
+			throw new AdempiereException(e);
+		} finally {
+			DB.close(rs, pstmt);
+		}
+		String missingRecords = recordIds.stream()
+			.filter(recordId -> !accessibleRecordIds.contains(recordId))
+			.map(String::valueOf)
+			.collect(Collectors.joining(", "));
+		if(!Util.isEmpty(missingRecords, true)) {
+			throw new AdempiereException("@AccessCannotReport@ / @Record_ID@ @NotFound@ (" + table.getTableName() + "): " + missingRecords);
+		}
+	}
+
+	/**
+	 * Validate process and table of report request and access of role to them
+	 * @param request
+	 * @return process of report
+	 */
+	private MProcess validateReportAccess(GetReportOutputRequest request) {
 		if (request.getProcessId() <= 0 && Util.isEmpty(request.getProcessUuid(), true)) {
 			throw new AdempiereException("@FillMandatory@ @AD_Process_ID@");
 		}
@@ -1696,6 +2148,10 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		if (process == null || process.getAD_Process_ID() <= 0) {
 			throw new AdempiereException("@AD_Process_ID@ @NotFound@");
 		}
+		Boolean processAccess = MRole.getDefault().getProcessAccess(process.getAD_Process_ID());
+		if(processAccess == null || !processAccess) {
+			throw new AdempiereException("@AccessCannotReport@");
+		}
 
 		Criteria criteria = request.getCriteria();
 		if(Util.isEmpty(criteria.getTableName(), true)) {
@@ -1709,6 +2165,27 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		if(!MRole.getDefault().isCanReport(table.getAD_Table_ID())) {
 			throw new AdempiereException("@AccessCannotReport@");
 		}
+		return process;
+	}
+
+	/**
+	 * Create report engine from request
+	 * @param request
+	 * @return
+	 */
+	private ReportEngine createReportEngine(GetReportOutputRequest request) {
+		return createReportEngine(request, validateReportAccess(request));
+	}
+
+	/**
+	 * Create report engine from request with access already validated
+	 * @param request
+	 * @param process process of report returned by {@link #validateReportAccess(GetReportOutputRequest)}
+	 * @return
+	 */
+	private ReportEngine createReportEngine(GetReportOutputRequest request, MProcess process) {
+		Criteria criteria = request.getCriteria();
+		MTable table = MTable.get(Env.getCtx(), criteria.getTableName());
 
 		//	Validate print format
 		if(Util.isEmpty(request.getPrintFormatUuid(), true) && Util.isEmpty(request.getReportViewUuid(), true)) {
@@ -1743,12 +2220,7 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		if(printFormat == null || printFormat.getAD_PrintFont_ID() <= 0) {
 			throw new AdempiereException("@AD_PrintFormat_ID@ @NotFound@");
 		}
-		if(table.getAD_Table_ID() != printFormat.getAD_Table_ID()) {
-			table = MTable.get(Env.getCtx(), printFormat.getAD_Table_ID());
-		}
 
-		//	
-		ReportOutput.Builder builder = ReportOutput.newBuilder();
 		MQuery query = ReportUtil.getReportQueryFromCriteria(process.getAD_Process_ID(), criteria);
 		if(!Util.isEmpty(criteria.getWhereClause(), true)) {
 			query.addRestriction(criteria.getWhereClause());
@@ -1759,47 +2231,44 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		//	Set report view
 		if(reportView != null) {
 			reportEngine.setAD_ReportView_ID(reportView.getAD_ReportView_ID());
-		} else {
-			reportView = MReportView.get(Env.getCtx(), reportEngine.getAD_ReportView_ID());
 		}
 		//	Set Summary
 		reportEngine.setSummary(request.getIsSummary());
-		//	
-		File reportFile = ReportUtil.createOutput(reportEngine, request.getReportType());
-		if(reportFile != null
-				&& reportFile.exists()) {
-			String validFileName = FileUtil.getValidFileName(reportFile.getName());
-			builder.setFileName(ValueUtil.validateNull(validFileName));
-			builder.setName(ValueUtil.validateNull(reportEngine.getName()));
-			builder.setMimeType(ValueUtil.validateNull(MimeType.getMimeType(validFileName)));
-			String headerName = Msg.getMsg(Env.getCtx(), "Report") + ": " + reportEngine.getName() + "  " + Env.getHeader(Env.getCtx(), 0);
-			builder.setHeaderName(ValueUtil.validateNull(headerName));
-			StringBuffer footerName = new StringBuffer ();
-			footerName.append(Msg.getMsg(Env.getCtx(), "DataCols")).append("=")
-				.append(reportEngine.getColumnCount())
-				.append(", ").append(Msg.getMsg(Env.getCtx(), "DataRows")).append("=")
-				.append(reportEngine.getRowCount());
-			builder.setFooterName(ValueUtil.validateNull(footerName.toString()));
-			//	Type
-			builder.setReportType(request.getReportType());
-			ByteString resultFile = ByteString.readFrom(new FileInputStream(reportFile));
-			if(request.getReportType().endsWith("html")
-					|| request.getReportType().endsWith("txt")) {
-				builder.setOutputBytes(resultFile);
-			}
-			if(reportView != null) {
-				builder.setReportViewUuid(ValueUtil.validateNull(reportView.getUUID()));
-			}
-			builder.setPrintFormatUuid(ValueUtil.validateNull(printFormat.getUUID()));
-			builder.setTableName(ValueUtil.validateNull(table.getTableName()));
-			builder.setOutputStream(resultFile);
-		}
-		//	Return
-		return builder;
+		return reportEngine;
 	}
 
-
-
+	/**
+	 * Fill information of report output without content
+	 * @param builder
+	 * @param reportEngine
+	 * @param reportType
+	 * @param fileName
+	 */
+	private void fillReportOutputInfo(ReportOutput.Builder builder, ReportEngine reportEngine, String reportType, String fileName) {
+		builder.setFileName(ValueUtil.validateNull(fileName));
+		builder.setName(ValueUtil.validateNull(reportEngine.getName()));
+		builder.setMimeType(ValueUtil.validateNull(MimeType.getMimeType(fileName)));
+		String headerName = Msg.getMsg(Env.getCtx(), "Report") + ": " + reportEngine.getName() + "  " + Env.getHeader(Env.getCtx(), 0);
+		builder.setHeaderName(ValueUtil.validateNull(headerName));
+		StringBuffer footerName = new StringBuffer ();
+		footerName.append(Msg.getMsg(Env.getCtx(), "DataCols")).append("=")
+			.append(reportEngine.getColumnCount())
+			.append(", ").append(Msg.getMsg(Env.getCtx(), "DataRows")).append("=")
+			.append(reportEngine.getRowCount());
+		builder.setFooterName(ValueUtil.validateNull(footerName.toString()));
+		//	Type
+		builder.setReportType(reportType);
+		MPrintFormat printFormat = reportEngine.getPrintFormat();
+		MReportView reportView = MReportView.get(Env.getCtx(), reportEngine.getAD_ReportView_ID());
+		if(reportView != null) {
+			builder.setReportViewUuid(ValueUtil.validateNull(reportView.getUUID()));
+		}
+		builder.setPrintFormatUuid(ValueUtil.validateNull(printFormat.getUUID()));
+		builder.setTableName(ValueUtil.validateNull(MTable.getTableName(Env.getCtx(), printFormat.getAD_Table_ID())));
+	}
+
+
+
 	/**
 	 * Get private access from table, record id and user id
 	 * @param Env.getCtx()
@@ -2439,6 +2908,154 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		DefaultValue.Builder builder = getDefaultKeyAndValue(request.getContextAttributesList(), defaultValue, referenceId, referenceValueId, columnName, validationRuleId);
 		return builder;
 	}
+
+	/**
+	 * Get default values of all fields of tab with the same context.
+	 * Defaults that use other columns of tab as context variable are evaluated after these columns,
+	 * each evaluated value is set on window context. SQL defaults without pending dependencies
+	 * are evaluated together on a single query.
+	 * @param request
+	 * @return
+	 */
+	private ListTabDefaultValuesResponse.Builder listTabDefaultValues(ListTabDefaultValuesRequest request) {
+		MTab tab = getCalloutTab(request.getTabUuid(), null);
+		ListTabDefaultValuesResponse.Builder builder = ListTabDefaultValuesResponse.newBuilder();
+		List<MField> fields = ASPUtil.getInstance(Env.getCtx()).getWindowFields(tab.getAD_Tab_ID());
+		if(fields == null || fields.isEmpty()) {
+			return builder;
+		}
+		//	Fields with default value by column name
+		Map<String, MField> fieldsByColumnName = new LinkedHashMap<String, MField>();
+		Map<String, String> defaultValues = new HashMap<String, String>();
+		fields.forEach(field -> {
+			MColumn column = MColumn.get(Env.getCtx(), field.getAD_Column_ID());
+			if(column == null || column.getAD_Column_ID() <= 0) {
+				return;
+			}
+			String defaultValue = field.getDefaultValue();
+			if(Util.isEmpty(defaultValue, true)) {
+				defaultValue = column.getDefaultValue();
+			}
+			if(Util.isEmpty(defaultValue, true)
+					|| fieldsByColumnName.containsKey(column.getColumnName())) {
+				return;
+			}
+			fieldsByColumnName.put(column.getColumnName(), field);
+			defaultValues.put(column.getColumnName(), defaultValue);
+		});
+		//	Columns of tab used by each default value
+		Map<String, List<String>> dependencies = new HashMap<String, List<String>>();
+		defaultValues.entrySet().forEach(entry -> {
+			List<String> columnNames = DictionaryUtil.getContextColumnNames(entry.getValue()).stream()
+				.filter(columnName -> !columnName.equals(entry.getKey()) && defaultValues.containsKey(columnName))
+				.collect(Collectors.toList());
+			dependencies.put(entry.getKey(), columnNames);
+		});
+
+		// Fill context
+		int windowNo = ThreadLocalRandom.current().nextInt(1, 8996 + 1);
+		ContextManager.setContextWithAttributes(windowNo, Env.getCtx(), request.getContextAttributesList());
+
+		List<String> pendingColumns = new ArrayList<String>(fieldsByColumnName.keySet());
+		while(!pendingColumns.isEmpty()) {
+			List<String> columnsToEvaluate = pendingColumns.stream()
+				.filter(columnName -> dependencies.get(columnName).stream().noneMatch(pendingColumns::contains))
+				.collect(Collectors.toList());
+			if(columnsToEvaluate.isEmpty()) {
+				//	Circular dependency, evaluate with current context
+				columnsToEvaluate = new ArrayList<String>(pendingColumns);
+			}
+			Map<String, Object> values = evaluateDefaultValues(windowNo, columnsToEvaluate, defaultValues);
+			for(String columnName : columnsToEvaluate) {
+				MField field = fieldsByColumnName.get(columnName);
+				MColumn column = MColumn.get(Env.getCtx(), field.getAD_Column_ID());
+				int referenceId = field.getAD_Reference_ID() > 0 ? field.getAD_Reference_ID() : column.getAD_Reference_ID();
+				int referenceValueId = field.getAD_Reference_Value_ID() > 0 ? field.getAD_Reference_Value_ID() : column.getAD_Reference_Value_ID();
+				int validationRuleId = field.getAD_Val_Rule_ID() > 0 ? field.getAD_Val_Rule_ID() : column.getAD_Val_Rule_ID();
+				Object value = values.get(columnName);
+				if(value != null) {
+					ContextManager.setWindowContextByObject(Env.getCtx(), windowNo, columnName, convertDefaultValueByType(value, referenceId));
+				}
+				DefaultValue.Builder defaultValue = convertDefaultValueToBuilder(windowNo, value, referenceId, referenceValueId, columnName, validationRuleId);
+				builder.addDefaultValues(
+					FieldDefaultValue.newBuilder()
+						.setFieldUuid(ValueUtil.validateNull(field.getUUID()))
+						.setColumnName(columnName)
+						.setDefaultValue(defaultValue)
+				);
+			}
+			pendingColumns.removeAll(columnsToEvaluate);
+		}
+		return builder;
+	}
+
+	/**
+	 * Evaluate default values of columns with current window context
+	 * @param windowNo
+	 * @param columnNames
+	 * @param defaultValues default value by column name
+	 * @return evaluated value by column name
+	 */
+	private Map<String, Object> evaluateDefaultValues(int windowNo, List<String> columnNames, Map<String, String> defaultValues) {
+		Map<String, Object> values = new HashMap<String, Object>();
+		Map<String, String> sqlByColumnName = new LinkedHashMap<String, String>();
+		columnNames.forEach(columnName -> {
+			String defaultValue = defaultValues.get(columnName);
+			if(isSQLDefaultValue(defaultValue)) {
+				String sql = parseSQLDefaultValue(windowNo, defaultValue);
+				if(!Util.isEmpty(sql, true)) {
+					sqlByColumnName.put(columnName, sql);
+				}
+			} else {
+				values.put(columnName, Env.parseContext(Env.getCtx(), windowNo, defaultValue, false));
+			}
+		});
+		if(sqlByColumnName.size() == 1) {
+			sqlByColumnName.entrySet().forEach(entry -> values.put(entry.getKey(), convertDefaultValue(entry.getValue())));
+		} else if(sqlByColumnName.size() > 1) {
+			values.putAll(convertDefaultValues(sqlByColumnName));
+		}
+		return values;
+	}
+
+	/**
+	 * Convert several default values with a single query, each one is a sub-query of result.
+	 * If the query fails (e.g. a statement return more than one row) each default value is queried alone
+	 * @param sqlByColumnName
+	 * @return
+	 */
+	private Map<String, Object> convertDefaultValues(Map<String, String> sqlByColumnName) {
+		Map<String, Object> values = new HashMap<String, Object>();
+		List<String> columnNames = new ArrayList<String>(sqlByColumnName.keySet());
+		StringBuffer sql = new StringBuffer("SELECT ");
+		for(int index = 0; index < columnNames.size(); index++) {
+			if(index > 0) {
+				sql.append(", ");
+			}
+			sql.append("(").append(sqlByColumnName.get(columnNames.get(index))).append(")");
+		}
+		if(DB.isOracle()) {
+			sql.append(" FROM DUAL");
+		}
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try {
+			pstmt = DB.prepareStatement(sql.toString(), null);
+			rs = pstmt.executeQuery();
+			if (rs.next()) {
+				for(int index = 0; index < columnNames.size(); index++) {
+					values.put(columnNames.get(index), rs.getObject(index + 1));
+				}
+			}
+			return values;
+		} catch (Exception e) {
+			log.fine(e.getLocalizedMessage());
+		} finally {
+			DB.close(rs, pstmt);
+		}
+		sqlByColumnName.entrySet().forEach(entry -> values.put(entry.getKey(), convertDefaultValue(entry.getValue())));
+		return values;
+	}
 	
 	
 	/**
@@ -2452,9 +3069,8 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 	 * @return
 	 */
 	private DefaultValue.Builder getDefaultKeyAndValue(List<KeyValue> contextAttributes, String defaultValue, int referenceId, int referenceValueId, String columnName, int validationRuleId) {
-		DefaultValue.Builder builder = DefaultValue.newBuilder();
 		if(Util.isEmpty(defaultValue, true)) {
-			return builder;
+			return DefaultValue.newBuilder();
 		}
 		Object defaultValueAsObject = null;
 
@@ -2462,19 +3078,41 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		int windowNo = ThreadLocalRandom.current().nextInt(1, 8996 + 1);
 		ContextManager.setContextWithAttributes(windowNo, Env.getCtx(), contextAttributes);
 
-		if(defaultValue.trim().startsWith("@SQL=")) {
-			defaultValue = defaultValue.replace("@SQL=", "");
-			defaultValue = Env.parseContext(Env.getCtx(), windowNo, defaultValue, false);
-			defaultValueAsObject = convertDefaultValue(defaultValue);
+		if(isSQLDefaultValue(defaultValue)) {
+			defaultValueAsObject = convertDefaultValue(parseSQLDefaultValue(windowNo, defaultValue));
 		} else {
 			defaultValueAsObject = Env.parseContext(Env.getCtx(), windowNo, defaultValue, false);
 		}
-		//	 For lookups
-		if(defaultValueAsObject == null) {
-			return builder;
-		}
+		return convertDefaultValueToBuilder(windowNo, defaultValueAsObject, referenceId, referenceValueId, columnName, validationRuleId);
+	}
 
-		//	Convert value from type
+	/**
+	 * Verify if default value is a SQL statement
+	 * @param defaultValue
+	 * @return
+	 */
+	private boolean isSQLDefaultValue(String defaultValue) {
+		return defaultValue != null && defaultValue.trim().startsWith("@SQL=");
+	}
+
+	/**
+	 * Get SQL of default value with context variables replaced
+	 * @param windowNo
+	 * @param defaultValue
+	 * @return
+	 */
+	private String parseSQLDefaultValue(int windowNo, String defaultValue) {
+		defaultValue = defaultValue.replace("@SQL=", "");
+		return Env.parseContext(Env.getCtx(), windowNo, defaultValue, false);
+	}
+
+	/**
+	 * Convert default value to type of reference
+	 * @param defaultValueAsObject
+	 * @param referenceId
+	 * @return
+	 */
+	private Object convertDefaultValueByType(Object defaultValueAsObject, int referenceId) {
 		if (DisplayType.isID(referenceId) || referenceId == DisplayType.Integer) {
 			try {
 				defaultValueAsObject = Integer.parseInt(String.valueOf(defaultValueAsObject));
@@ -2488,6 +3126,28 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 				// log.warning(e.getLocalizedMessage());
 			}
 		}
+		return defaultValueAsObject;
+	}
+
+	/**
+	 * Convert a evaluated default value, also convert it to lookup value if is necessary
+	 * @param windowNo
+	 * @param defaultValueAsObject
+	 * @param referenceId
+	 * @param referenceValueId
+	 * @param columnName
+	 * @param validationRuleId
+	 * @return
+	 */
+	private DefaultValue.Builder convertDefaultValueToBuilder(int windowNo, Object defaultValueAsObject, int referenceId, int referenceValueId, String columnName, int validationRuleId) {
+		DefaultValue.Builder builder = DefaultValue.newBuilder();
+		//	 For lookups
+		if(defaultValueAsObject == null) {
+			return builder;
+		}
+
+		//	Convert value from type
+		defaultValueAsObject = convertDefaultValueByType(defaultValueAsObject, referenceId);
 		if (ReferenceUtil.validateReference(referenceId) || DisplayType.Button == referenceId) {
 			if(referenceId == DisplayType.List) {
 				// (') (text) (') or (") (text) (")
@@ -2725,6 +3385,61 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		return builder;
 	}
 
+	/**
+	 * Get lookup items of many references and keys, the items are grouped by reference
+	 * (request without id) and each group is read with a query
+	 * @param request
+	 * @return
+	 */
+	private ListLookupItemsByKeysResponse.Builder listLookupItemsByKeys(ListLookupItemsByKeysRequest request) {
+		Map<GetLookupItemRequest, List<Integer>> keysByReference = new LinkedHashMap<GetLookupItemRequest, List<Integer>>();
+		request.getItemsList().forEach(item -> {
+			GetLookupItemRequest referenceRequest = item.toBuilder()
+				.clearId()
+				.clearUuid()
+				.build();
+			keysByReference.computeIfAbsent(referenceRequest, key -> new ArrayList<Integer>())
+				.add(item.getId());
+		});
+		Map<GetLookupItemRequest, Map<Integer, LookupItem>> itemsByReference = new HashMap<GetLookupItemRequest, Map<Integer, LookupItem>>();
+		keysByReference.forEach((referenceRequest, keys) -> {
+			MLookupInfo reference = ReferenceInfo.getInfoFromRequest(
+				referenceRequest.getReferenceUuid(),
+				referenceRequest.getFieldUuid(),
+				referenceRequest.getProcessParameterUuid(),
+				referenceRequest.getBrowseFieldUuid(),
+				referenceRequest.getColumnUuid(),
+				referenceRequest.getColumnName(),
+				referenceRequest.getTableName()
+			);
+			if(reference == null) {
+				throw new AdempiereException("@AD_Reference_ID@ @NotFound@");
+			}
+			//	Fill Env.getCtx()
+			int windowNo = ThreadLocalRandom.current().nextInt(1, 8996 + 1);
+			ContextManager.setContextWithAttributes(windowNo, Env.getCtx(), referenceRequest.getContextAttributesList());
+			String sql = Env.parseContext(Env.getCtx(), windowNo, reference.QueryDirect, false);
+			if(Util.isEmpty(sql)
+					&& !Util.isEmpty(reference.QueryDirect)) {
+				throw new AdempiereException("@AD_Tab_ID@ @WhereClause@ @Unparseable@");
+			}
+			itemsByReference.put(
+				referenceRequest,
+				LookupDisplayValueUtil.getLookupItems(reference, sql, keys)
+			);
+		});
+		ListLookupItemsByKeysResponse.Builder builder = ListLookupItemsByKeysResponse.newBuilder();
+		request.getItemsList().forEach(item -> {
+			GetLookupItemRequest referenceRequest = item.toBuilder()
+				.clearId()
+				.clearUuid()
+				.build();
+			LookupItem lookupItem = itemsByReference.get(referenceRequest).get(item.getId());
+			builder.addItems(lookupItem != null ? lookupItem : LookupItem.getDefaultInstance());
+		});
+		return builder;
+	}
+
 	/**
 	 * Convert Object Request to list
 	 * @param request
@@ -2883,99 +3598,62 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 	 */
 	private ListBrowserItemsResponse.Builder listBrowserItems(ListBrowserItemsRequest request) {
 		ListBrowserItemsResponse.Builder builder = ListBrowserItemsResponse.newBuilder();
-		MBrowse browser = getBrowser(request.getUuid());
-		if (browser == null || browser.getAD_Browse_ID() <= 0) {
+		CompiledBrowser compiledBrowser = CompiledBrowser.get(request.getUuid());
+		if (compiledBrowser == null) {
 			return builder;
 		}
-		Criteria criteria = request.getCriteria();
-		HashMap<String, Object> parameterMap = new HashMap<>();
-		//	Populate map
-		criteria.getConditionsList().forEach(condition -> {
-			parameterMap.put(condition.getColumnName(), ValueUtil.getObjectFromValue(condition.getValue()));
-		});
-
-		//	Fill Env.getCtx()
-		Properties context = Env.getCtx();
-		int windowNo = ThreadLocalRandom.current().nextInt(1, 8996 + 1);
-		ContextManager.setContextWithAttributes(windowNo, context, request.getContextAttributesList());
-		ContextManager.setContextWithAttributes(windowNo, context, parameterMap, false);
-
-		//	get query columns
-		String query = QueryUtil.getBrowserQueryWithReferences(browser);
-		String sql = Env.parseContext(context, windowNo, query, false, true);
-		if (Util.isEmpty(sql, true)) {
-			throw new AdempiereException("@AD_Browse_ID@ @SQL@ @Unparseable@");
-		}
-
-		MView view = browser.getAD_View();
-		MViewDefinition parentDefinition = view.getParentViewDefinition();
-		String tableNameAlias = parentDefinition.getTableAlias();
-		String tableName = parentDefinition.getAD_Table().getTableName();
-
-		String sqlWithRoleAccess = MRole.getDefault(context, false)
-			.addAccessSQL(
-				sql,
-				tableNameAlias,
-				MRole.SQL_FULLYQUALIFIED,
-				MRole.SQL_RO
-			);
-
-		StringBuffer whereClause = new StringBuffer();
-		String where = browser.getWhereClause();
-		if (!Util.isEmpty(where, true)) {
-			String parsedWhereClause = Env.parseContext(context, windowNo, where, false, true);
-			if (Util.isEmpty(parsedWhereClause, true)) {
-				throw new AdempiereException("@AD_Browse_ID@ @WhereClause@ @Unparseable@");
-			}
-			whereClause
-				.append(" AND (")
-				.append(parsedWhereClause)
-				.append(")")
-			;
-		}
-
 		//	For dynamic condition
 		List<Object> filterValues = new ArrayList<Object>();
-		String dynamicWhere = WhereClauseUtil.getBrowserWhereClauseFromCriteria(
-			browser,
-			criteria,
+		String sqlWithRoleAccess = compiledBrowser.getQueryWithCriteria(
+			request.getCriteria(),
+			request.getContextAttributesList(),
 			filterValues
 		);
-		if (!Util.isEmpty(dynamicWhere, true)) {
-			String parsedDynamicWhere = Env.parseContext(context, windowNo, dynamicWhere, false);
-			if (Util.isEmpty(parsedDynamicWhere, true)) {
-				throw new AdempiereException("@AD_Browse_ID@ @WhereClause@ @Unparseable@");
-			}
-			//	Add
-			whereClause.append(" AND (")
-				.append(parsedDynamicWhere)
-				.append(") ")
-			;
-		}
-		if (!Util.isEmpty(whereClause.toString(), true)) {
-			// includes first AND
-			sqlWithRoleAccess += whereClause;
-		}
+		String tableNameAlias = compiledBrowser.getTableNameAlias();
+		String tableName = compiledBrowser.getTableName();
 
-		String orderByClause = OrderByUtil.getBrowseOrderBy(browser);
+		String orderByClause = compiledBrowser.getOrderByClause();
 		if (!Util.isEmpty(orderByClause, true)) {
 			orderByClause = " ORDER BY " + orderByClause;
 		}
 
 		//	Get page and count
-		int count = CountUtil.countRecords(sqlWithRoleAccess, tableName, tableNameAlias, filterValues);
+		BrowserPageToken pageToken = BrowserPageToken.parse(SessionManager.getSessionUuid(), request.getPageToken());
 		String nexPageToken = null;
-		int pageNumber = LimitUtil.getPageNumber(SessionManager.getSessionUuid(), request.getPageToken());
+		int pageNumber = pageToken.getPageNumber();
 		int limit = LimitUtil.getPageSize(request.getPageSize());
 		int offset = (pageNumber - 1) * limit;
+		//	Count only on first request, next pages keep the count of token
+		long count = pageToken.getCount();
+		if (!pageToken.isCounted() && !request.getIsWithoutCount()) {
+			count = CountUtil.countRecords(sqlWithRoleAccess, tableName, tableNameAlias, filterValues);
+		}
+		//	Keyset paging: records after the last record of previous page
+		boolean isKeyset = request.getIsKeyset() && compiledBrowser.isKeysetSupported();
+		if (isKeyset) {
+			orderByClause = " ORDER BY " + compiledBrowser.getKeysetOrderByClause();
+			if (pageToken.isKeyset()) {
+				sqlWithRoleAccess += " AND (" + compiledBrowser.getKeysetWhereClause(pageToken.getKeyValues(), filterValues) + ")";
+				offset = 0;
+			}
+		}
 
-		//	Add Row Number
-		String parsedSQL = LimitUtil.getQueryWithLimit(sqlWithRoleAccess, limit, offset);
+		//	Add Row Number, a record more for know if exists a next page
+		String parsedSQL = LimitUtil.getQueryWithLimit(sqlWithRoleAccess, limit + 1, offset);
 		//	Add Order By
 		parsedSQL = parsedSQL + orderByClause;
 		//	Return
-		builder = convertBrowserResult(browser, parsedSQL, filterValues);
+		List<List<Object>> keysetValues = isKeyset ? new ArrayList<List<Object>>() : null;
+		builder = convertBrowserResult(compiledBrowser, parsedSQL, filterValues, keysetValues);
 		//	Validate page token
+		if (builder.getRecordsCount() > limit) {
+			builder.removeRecords(limit);
+			List<Object> lastKeyValues = null;
+			if (isKeyset && keysetValues.size() >= limit && !keysetValues.get(limit - 1).contains(null)) {
+				lastKeyValues = keysetValues.get(limit - 1);
+			}
+			nexPageToken = new BrowserPageToken(pageNumber + 1, count, lastKeyValues).toToken();
+		}
 		builder.setNextPageToken(ValueUtil.validateNull(nexPageToken));
 		builder.setRecordCount(count);
 		//	Return
@@ -2985,22 +3663,18 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 	/**
 	 * Convert SQL to list values
 	 * @param pagePrefix
-	 * @param browser
+	 * @param compiledBrowser
 	 * @param sql
 	 * @param values
+	 * @param keysetValues optional, values of keyset columns of each record are added
 	 * @return
 	 */
-	private ListBrowserItemsResponse.Builder convertBrowserResult(MBrowse browser, String sql, List<Object> values) {
+	private ListBrowserItemsResponse.Builder convertBrowserResult(CompiledBrowser compiledBrowser, String sql, List<Object> values, List<List<Object>> keysetValues) {
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 		ListBrowserItemsResponse.Builder builder = ListBrowserItemsResponse.newBuilder();
 		long recordCount = 0;
 		try {
-			LinkedHashMap<String, MBrowseField> fieldsMap = new LinkedHashMap<>();
-			//	Add field to map
-			for(MBrowseField field: ASPUtil.getInstance().getBrowseFields(browser.getAD_Browse_ID())) {
-				fieldsMap.put(field.getAD_View_Column().getColumnName().toUpperCase(), field);
-			}
 			//	SELECT Key, Value, Name FROM ...
 			pstmt = DB.prepareStatement(sql, null);
 			ParameterUtil.setParametersFromObjectsList(pstmt, values);
@@ -3013,7 +3687,7 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 				for (int index = 1; index <= metaData.getColumnCount(); index++) {
 					try {
 						String columnName = metaData.getColumnName (index);
-						MBrowseField field = fieldsMap.get(columnName.toUpperCase());
+						MBrowseField field = compiledBrowser.getResultField(columnName);
 						Value.Builder valueBuilder = Value.newBuilder();;
 						//	Display Columns
 						if(field == null) {
@@ -3037,6 +3711,13 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 				//	
 				builder.addRecords(valueObjectBuilder.build());
 				recordCount++;
+				if (keysetValues != null) {
+					List<Object> recordKeysetValues = new ArrayList<Object>();
+					for (String keysetColumnName : compiledBrowser.getKeysetColumnNames()) {
+						recordKeysetValues.add(rs.getObject(keysetColumnName));
+					}
+					keysetValues.add(recordKeysetValues);
+				}
 			}
 		} catch (Exception e) {
 			log.severe(e.getLocalizedMessage());
@@ -3051,30 +3732,6 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		return builder;
 	}
 	
-	/**
-	 * get browser
-	 * @param Env.getCtx()
-	 * @param uuid
-	 * @return
-	 */
-	private MBrowse getBrowser(String uuid) {
-		String key = uuid + "|" + Env.getAD_Language(Env.getCtx());
-		MBrowse browser = browserRequested.get(key);
-		if(browser == null) {
-			browser = new Query(Env.getCtx(), I_AD_Browse.Table_Name, I_AD_Process.COLUMNNAME_UUID + " = ?", null)
-					.setParameters(uuid)
-					.setOnlyActiveRecords(true)
-					.first();
-			browser = ASPUtil.getInstance(Env.getCtx()).getBrowse(browser.getAD_Browse_ID());
-		}
-		//	Put on Cache
-		if(browser != null) {
-			browserRequested.put(key, browser);
-		}
-		//	
-		return browser;
-	}
-
 	@Override
 	public void runCallout(RunCalloutRequest request, StreamObserver<org.spin.backend.grpc.common.Callout> responseObserver) {
 		try {
@@ -3105,31 +3762,16 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 	private org.spin.backend.grpc.common.Callout.Builder runcallout(RunCalloutRequest request) {
 		org.spin.backend.grpc.common.Callout.Builder calloutBuilder = org.spin.backend.grpc.common.Callout.newBuilder();
 		Trx.run(transactionName -> {
-			if (Util.isEmpty(request.getTabUuid(), true)) {
-				throw new AdempiereException("@FillMandatory@ @AD_Tab_ID@");
-			}
-			MTab tab = tabRequested.get(request.getTabUuid());
-			if (tab == null) {
-				tab = MTab.get(Env.getCtx(), RecordUtil.getIdFromUuid(I_AD_Tab.Table_Name, request.getTabUuid(), transactionName));
-			}
-			if (tab == null || tab.getAD_Tab_ID() <= 0) {
-				throw new AdempiereException("@AD_Tab_ID@ @NotFound@");
-			}
-
-			MField field = null;
-			Optional<MField> searchedValue = Arrays.asList(tab.getFields(false, null)).stream()
-				.filter(searchField -> searchField.getAD_Column().getColumnName().equals(request.getColumnName()))
-				.findFirst();
-			if(searchedValue.isPresent()) {
-				field = searchedValue.get();
-			}
+			MTab tab = getCalloutTab(request.getTabUuid(), transactionName);
+			MField field = getCalloutField(tab, request.getColumnName());
 			int tabNo = (tab.getSeqNo() / 10) - 1;
 			if(tabNo < 0) {
 				tabNo = 0;
 			}
 			//	window
 			int windowNo = request.getWindowNo();
-			if(windowNo <= 0) {
+			boolean isStableWindowNo = windowNo > 0;
+			if(!isStableWindowNo) {
 				windowNo = windowNoEmulation.getAndIncrement();
 			}
 
@@ -3140,52 +3782,197 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 			//
 			Object oldValue = ValueUtil.getObjectFromValue(request.getOldValue());
 			Object value = ValueUtil.getObjectFromValue(request.getValue());
-			ContextManager.setTabContextByObject(Env.getCtx(), windowNo, tabNo, request.getColumnName(), value);
-
-			//	Initial load for callout wrapper
-			GridWindowVO gridWindowVo = GridWindowVO.create(Env.getCtx(), windowNo, tab.getAD_Window_ID());
-			GridWindow gridWindow = new GridWindow(gridWindowVo, true);
-			GridTabVO gridTabVo = GridTabVO.create(gridWindowVo, tabNo, tab, false, true);
-			GridFieldVO gridFieldVo = GridFieldVO.create(Env.getCtx(), windowNo, tabNo, tab.getAD_Window_ID(), tab.getAD_Tab_ID(), false, field);
-			GridField gridField = new GridField(gridFieldVo);
-			GridTab gridTab = new GridTab(gridTabVo, gridWindow, true);
-			//	Init tab
-			gridTab.query(false);
-			gridTab.clearSelection();
-			gridTab.dataNew(false);
-
-			//	load values
-			for (Entry<String, Object> attribute : attributes.entrySet()) {
-				gridTab.setValue(attribute.getKey(), attribute.getValue());
-			}
-			gridTab.setValue(request.getColumnName(), value);
-
-			//	Load value for field
-			gridField.setValue(oldValue, false);
-			gridField.setValue(value, false);
-
-			//	Run it
-			String result = processCallout(windowNo, gridTab, gridField);
-			Arrays.asList(gridTab.getFields()).stream()
-				.filter(fieldValue -> isValidChange(fieldValue))
-				.forEach(fieldValue -> {
-					Value.Builder valueBuilder = ValueUtil.getValueFromReference(fieldValue.getValue(), fieldValue.getDisplayType());
-					calloutBuilder.putValues(fieldValue.getColumnName(), valueBuilder.build());
-				});
 
-			// always add is sales transaction on context
-			String isSalesTransaction = Env.getContext(tab.getCtx(), windowNo, "IsSOTrx", true);
-			if (!Util.isEmpty(isSalesTransaction, true)) {
-				Value.Builder valueBuilder = ValueUtil.getValueFromBoolean(isSalesTransaction);
-				calloutBuilder.putValues("IsSOTrx", valueBuilder.build());
+			//	Grid without records, reused by next callouts of same window
+			CalloutRuntime calloutRuntime = CalloutRuntime.get(Env.getCtx(), tab, windowNo, tabNo, isStableWindowNo);
+			synchronized (calloutRuntime) {
+				//	Default values of new row can use changed column
+				ContextManager.setTabContextByObject(Env.getCtx(), windowNo, tabNo, request.getColumnName(), value);
+				calloutRuntime.newRow();
+				GridTab gridTab = calloutRuntime.getGridTab();
+				//	load values
+				for (Entry<String, Object> attribute : attributes.entrySet()) {
+					gridTab.setValue(attribute.getKey(), attribute.getValue());
+				}
+
+				//	Run it
+				String result = runColumnCallout(calloutRuntime, field, request.getColumnName(), oldValue, value);
+				Arrays.asList(gridTab.getFields()).stream()
+					.filter(fieldValue -> isValidChange(fieldValue))
+					.forEach(fieldValue -> {
+						Value.Builder valueBuilder = ValueUtil.getValueFromReference(fieldValue.getValue(), fieldValue.getDisplayType());
+						calloutBuilder.putValues(fieldValue.getColumnName(), valueBuilder.build());
+					});
+
+				// always add is sales transaction on context
+				String isSalesTransaction = Env.getContext(tab.getCtx(), windowNo, "IsSOTrx", true);
+				if (!Util.isEmpty(isSalesTransaction, true)) {
+					Value.Builder valueBuilder = ValueUtil.getValueFromBoolean(isSalesTransaction);
+					calloutBuilder.putValues("IsSOTrx", valueBuilder.build());
+				}
+				calloutBuilder.setResult(ValueUtil.validateNull(result));
 			}
-			calloutBuilder.setResult(ValueUtil.validateNull(result));
 			
 			setAdditionalContext(request.getCallout(), windowNo, calloutBuilder);
 		});
 		return calloutBuilder;
 	}
 
+	@Override
+	public void runCallouts(RunCalloutsRequest request, StreamObserver<org.spin.backend.grpc.common.Callout> responseObserver) {
+		try {
+			if(request == null) {
+				throw new AdempiereException("Object Request Null");
+			}
+			log.fine("Callouts Requested = " + request.getChangesCount());
+			org.spin.backend.grpc.common.Callout.Builder calloutResponse = runCallouts(request);
+			responseObserver.onNext(calloutResponse.build());
+			responseObserver.onCompleted();
+		} catch (Exception e) {
+			log.severe(e.getLocalizedMessage());
+			e.printStackTrace();
+			responseObserver.onError(Status.INTERNAL
+				.withDescription(e.getLocalizedMessage())
+				.withCause(e)
+				.asRuntimeException()
+			);
+		}
+	}
+
+	/**
+	 * Run callouts of all changes in order on the same row, it stops on first callout with error
+	 * @param request
+	 * @return merged values of row and result of last callout
+	 */
+	private org.spin.backend.grpc.common.Callout.Builder runCallouts(RunCalloutsRequest request) {
+		org.spin.backend.grpc.common.Callout.Builder calloutBuilder = org.spin.backend.grpc.common.Callout.newBuilder();
+		Trx.run(transactionName -> {
+			MTab tab = getCalloutTab(request.getTabUuid(), transactionName);
+			int tabNo = (tab.getSeqNo() / 10) - 1;
+			if(tabNo < 0) {
+				tabNo = 0;
+			}
+			//	window
+			int windowNo = request.getWindowNo();
+			boolean isStableWindowNo = windowNo > 0;
+			if(!isStableWindowNo) {
+				windowNo = windowNoEmulation.getAndIncrement();
+			}
+
+			// set values on Env.getCtx()
+			Map<String, Object> attributes = ValueUtil.convertValuesToObjects(request.getContextAttributesList());
+			ContextManager.setContextWithAttributes(windowNo, Env.getCtx(), attributes);
+
+			//	Grid without records, reused by next callouts of same window
+			CalloutRuntime calloutRuntime = CalloutRuntime.get(Env.getCtx(), tab, windowNo, tabNo, isStableWindowNo);
+			synchronized (calloutRuntime) {
+				//	Default values of new row can use changed columns, as a callout call by change
+				for (CalloutChange change : request.getChangesList()) {
+					ContextManager.setTabContextByObject(Env.getCtx(), windowNo, tabNo, change.getColumnName(), ValueUtil.getObjectFromValue(change.getValue()));
+				}
+				calloutRuntime.newRow();
+				GridTab gridTab = calloutRuntime.getGridTab();
+				//	load values
+				for (Entry<String, Object> attribute : attributes.entrySet()) {
+					gridTab.setValue(attribute.getKey(), attribute.getValue());
+				}
+
+				//	Run all changes on same row
+				String result = "";
+				for (CalloutChange change : request.getChangesList()) {
+					MField field = getCalloutField(tab, change.getColumnName());
+					Object oldValue = null;
+					if (change.hasOldValue()) {
+						oldValue = ValueUtil.getObjectFromValue(change.getOldValue());
+					} else {
+						oldValue = gridTab.getValue(change.getColumnName());
+					}
+					Object value = ValueUtil.getObjectFromValue(change.getValue());
+					result = runColumnCallout(calloutRuntime, field, change.getColumnName(), oldValue, value);
+					if (!Util.isEmpty(change.getCallout(), true)) {
+						setAdditionalContext(change.getCallout(), windowNo, calloutBuilder);
+					}
+					if (!Util.isEmpty(result, true)) {
+						break;
+					}
+				}
+				Arrays.asList(gridTab.getFields()).stream()
+					.filter(fieldValue -> isValidChange(fieldValue))
+					.forEach(fieldValue -> {
+						Value.Builder valueBuilder = ValueUtil.getValueFromReference(fieldValue.getValue(), fieldValue.getDisplayType());
+						calloutBuilder.putValues(fieldValue.getColumnName(), valueBuilder.build());
+					});
+
+				// always add is sales transaction on context
+				String isSalesTransaction = Env.getContext(tab.getCtx(), windowNo, "IsSOTrx", true);
+				if (!Util.isEmpty(isSalesTransaction, true)) {
+					Value.Builder valueBuilder = ValueUtil.getValueFromBoolean(isSalesTransaction);
+					calloutBuilder.putValues("IsSOTrx", valueBuilder.build());
+				}
+				calloutBuilder.setResult(ValueUtil.validateNull(result));
+			}
+		});
+		return calloutBuilder;
+	}
+
+	/**
+	 * Get tab for run callout
+	 * @param tabUuid
+	 * @param transactionName
+	 * @return
+	 */
+	private MTab getCalloutTab(String tabUuid, String transactionName) {
+		if (Util.isEmpty(tabUuid, true)) {
+			throw new AdempiereException("@FillMandatory@ @AD_Tab_ID@");
+		}
+		MTab tab = tabRequested.get(tabUuid);
+		if (tab == null) {
+			tab = MTab.get(Env.getCtx(), RecordUtil.getIdFromUuid(I_AD_Tab.Table_Name, tabUuid, transactionName));
+		}
+		if (tab == null || tab.getAD_Tab_ID() <= 0) {
+			throw new AdempiereException("@AD_Tab_ID@ @NotFound@");
+		}
+		return tab;
+	}
+
+	/**
+	 * Get field of tab from column name
+	 * @param tab
+	 * @param columnName
+	 * @return
+	 */
+	private MField getCalloutField(MTab tab, String columnName) {
+		Optional<MField> searchedValue = Arrays.asList(tab.getFields(false, null)).stream()
+			.filter(searchField -> searchField.getAD_Column().getColumnName().equals(columnName))
+			.findFirst();
+		if(!searchedValue.isPresent()) {
+			throw new AdempiereException("@AD_Field_ID@ @NotFound@: " + columnName);
+		}
+		return searchedValue.get();
+	}
+
+	/**
+	 * Change value of column on current row of grid and run callout of column
+	 * @param calloutRuntime
+	 * @param field
+	 * @param columnName
+	 * @param oldValue
+	 * @param value
+	 * @return callout result, empty if it is ok
+	 */
+	private String runColumnCallout(CalloutRuntime calloutRuntime, MField field, String columnName, Object oldValue, Object value) {
+		ContextManager.setTabContextByObject(Env.getCtx(), calloutRuntime.getWindowNo(), calloutRuntime.getTabNo(), columnName, value);
+		GridTab gridTab = calloutRuntime.getGridTab();
+		gridTab.setValue(columnName, value);
+
+		//	Load value for field
+		GridField gridField = calloutRuntime.getCalloutField(field);
+		gridField.setValue(oldValue, false);
+		gridField.setValue(value, false);
+
+		return processCallout(calloutRuntime.getWindowNo(), gridTab, gridField);
+	}
+
 	/**
 	 * Set additonal Env.getCtx() used by callouts
 	 * TODO: Remove this method on future
@@ -3601,6 +4388,20 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		ListEntitiesResponse.Builder builderList = ListEntitiesResponse.newBuilder()
 			.setRecordCount(request.getEntitiesList().size());
 
+		if (isSequenceBatchAllowed(table, request, sortColumnName, includedColumnName)) {
+			Trx.run(transacctionName -> {
+				saveTabSequencesBatch(table, keyColumn, sortColumnName, includedColumnName, request.getEntitiesList(), transacctionName)
+					.forEach(entity -> {
+						builderList.addRecords(
+							convertTabSequence(table, keyColumn, sortColumnName, includedColumnName, entity)
+						);
+					});
+			});
+			//	Records are not saved with PO, then cached records are reset
+			CacheMgt.get().reset(table.getTableName());
+			return builderList;
+		}
+
 		Trx.run(transacctionName -> {
 			request.getEntitiesList().stream().forEach(entitySelection -> {
 				PO entity = RecordUtil.getEntity(
@@ -3620,41 +4421,223 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 				});
 				entity.saveEx(transacctionName);
 
-				Entity.Builder entityBuilder = Entity.newBuilder()
-					.setTableName(table.getTableName())
-					.setUuid(entity.get_UUID())
-					.setId(entity.get_ID())
-				;
-
-				// set attributes
-				entityBuilder.putValues(
-					keyColumn.getColumnName(),
-					ValueUtil.getValueFromInt(entity.get_ValueAsInt(keyColumn.getColumnName())).build()
-				);
-				entityBuilder.putValues(
-					LookupUtil.UUID_COLUMN_KEY,
-					ValueUtil.getValueFromString(entity.get_UUID()).build()
+				builderList.addRecords(
+					convertTabSequence(table, keyColumn, sortColumnName, includedColumnName, entity)
 				);
-				entityBuilder.putValues(
-					LookupUtil.DISPLAY_COLUMN_KEY,
-					ValueUtil.getValueFromString(entity.getDisplayValue()).build()
-				);
-				entityBuilder.putValues(
-					sortColumnName,
-					ValueUtil.getValueFromInt(entity.get_ValueAsInt(sortColumnName)).build()
-				);
-				entityBuilder.putValues(
-					includedColumnName,
-					ValueUtil.getValueFromBoolean(entity.get_ValueAsBoolean(includedColumnName)).build()
-				);
-
-				builderList.addRecords(entityBuilder);
 			});
 		});
 
 		return builderList;
 	}
 
+	/**
+	 * Verify if sequences can be saved without save each record: batch is enabled on setup,
+	 * only the sort and included columns are changed, the table does not have change log or
+	 * script validators and its model class is generic (X_ or GenericPO) without logic on save.
+	 * Model validators can listen any table, then the table must be allowed on setup
+	 * (batch_tab_sequences_tables) or there are not model validators configured
+	 * @param table
+	 * @param request
+	 * @param sortColumnName
+	 * @param includedColumnName
+	 * @return
+	 */
+	private boolean isSequenceBatchAllowed(MTable table, SaveTabSequencesRequest request, String sortColumnName, String includedColumnName) {
+		Server setup = SetupLoader.getInstance().getServer();
+		boolean isAllowedTable = setup.getBatch_tab_sequences_tables().stream()
+			.anyMatch(tableName -> tableName.equalsIgnoreCase(table.getTableName()));
+		if (!setup.getIs_batch_tab_sequences() && !isAllowedTable) {
+			return false;
+		}
+		if (table.isChangeLog() || Util.isEmpty(sortColumnName, true)) {
+			return false;
+		}
+		boolean isOnlySequence = request.getEntitiesList().stream()
+			.flatMap(entitySelection -> entitySelection.getValuesList().stream())
+			.allMatch(attribute -> {
+				return attribute.getKey().equals(sortColumnName)
+					|| attribute.getKey().equals(includedColumnName);
+			});
+		if (!isOnlySequence) {
+			return false;
+		}
+		Class<?> modelClass = MTable.getClass(table.getTableName());
+		if (modelClass != null
+				&& !modelClass.getSimpleName().startsWith("X_")
+				&& !GenericPO.class.equals(modelClass)) {
+			return false;
+		}
+		//	Model validators can listen changes of any table, except of allowed tables
+		if (!isAllowedTable) {
+			int modelValidators = DB.getSQLValue(
+				null,
+				"SELECT COUNT(*) FROM AD_ModelValidator WHERE IsActive = 'Y'"
+			);
+			if (modelValidators > 0) {
+				return false;
+			}
+		}
+		int validators = DB.getSQLValue(
+			null,
+			"SELECT COUNT(*) FROM AD_Table_ScriptValidator WHERE AD_Table_ID = ? AND IsActive = 'Y'",
+			table.getAD_Table_ID()
+		);
+		return validators <= 0;
+	}
+
+	/**
+	 * Save sort and included columns of all records with a batch update, records are read
+	 * with a query with role access (read write) and they are validated once.
+	 * A record not found or without access fails the request
+	 * @param table
+	 * @param keyColumn
+	 * @param sortColumnName
+	 * @param includedColumnName
+	 * @param entities
+	 * @param transactionName
+	 * @return records with new values
+	 */
+	private List<PO> saveTabSequencesBatch(MTable table, MColumn keyColumn, String sortColumnName, String includedColumnName,
+			List<KeyValueSelection> entities, String transactionName) {
+		List<Object> ids = new ArrayList<Object>();
+		List<Object> uuids = new ArrayList<Object>();
+		entities.forEach(entitySelection -> {
+			if (entitySelection.getSelectionId() > 0) {
+				ids.add(entitySelection.getSelectionId());
+			} else if (!Util.isEmpty(entitySelection.getSelectionUuid(), true)) {
+				uuids.add(entitySelection.getSelectionUuid());
+			}
+		});
+		if (ids.isEmpty() && uuids.isEmpty()) {
+			return new ArrayList<PO>();
+		}
+		StringBuffer whereClause = new StringBuffer();
+		List<Object> parameters = new ArrayList<Object>();
+		if (!ids.isEmpty()) {
+			whereClause.append(keyColumn.getColumnName()).append(" IN (")
+				.append(ids.stream().map(id -> "?").collect(Collectors.joining(", ")))
+				.append(")");
+			parameters.addAll(ids);
+		}
+		if (!uuids.isEmpty()) {
+			if (whereClause.length() > 0) {
+				whereClause.append(" OR ");
+			}
+			whereClause.append(I_AD_Element.COLUMNNAME_UUID).append(" IN (")
+				.append(uuids.stream().map(uuid -> "?").collect(Collectors.joining(", ")))
+				.append(")");
+			parameters.addAll(uuids);
+		}
+		List<PO> records = new Query(Env.getCtx(), table.getTableName(), whereClause.toString(), transactionName)
+			.setParameters(parameters)
+			.setApplyAccessFilter(MRole.SQL_FULLYQUALIFIED, MRole.SQL_RW)
+			.list();
+		Map<Integer, PO> recordsById = new HashMap<Integer, PO>();
+		Map<String, PO> recordsByUuid = new HashMap<String, PO>();
+		records.forEach(entity -> {
+			recordsById.put(entity.get_ID(), entity);
+			recordsByUuid.put(entity.get_UUID(), entity);
+		});
+
+		List<String> missingRecords = entities.stream()
+			.filter(entitySelection -> {
+				return entitySelection.getSelectionId() > 0
+					? !recordsById.containsKey(entitySelection.getSelectionId())
+					: !recordsByUuid.containsKey(entitySelection.getSelectionUuid());
+			})
+			.map(entitySelection -> {
+				return entitySelection.getSelectionId() > 0
+					? String.valueOf(entitySelection.getSelectionId())
+					: entitySelection.getSelectionUuid();
+			})
+			.collect(Collectors.toList());
+		if (!missingRecords.isEmpty()) {
+			throw new AdempiereException("@Record_ID@ @NotFound@ / @AccessCannotUpdate@ (" + table.getTableName() + "): " + String.join(", ", missingRecords));
+		}
+
+		List<PO> savedRecords = new ArrayList<PO>();
+		boolean isWithIncluded = !Util.isEmpty(includedColumnName, true);
+		String sql = "UPDATE " + table.getTableName()
+			+ " SET " + sortColumnName + " = ?, Updated = ?, UpdatedBy = ?"
+			+ (isWithIncluded ? ", " + includedColumnName + " = ?" : "")
+			+ " WHERE " + keyColumn.getColumnName() + " = ?";
+		Timestamp updated = new Timestamp(System.currentTimeMillis());
+		int userId = Env.getAD_User_ID(Env.getCtx());
+		PreparedStatement pstmt = null;
+		try {
+			pstmt = DB.prepareStatement(sql, transactionName);
+			for (KeyValueSelection entitySelection : entities) {
+				PO entity = entitySelection.getSelectionId() > 0
+					? recordsById.get(entitySelection.getSelectionId())
+					: recordsByUuid.get(entitySelection.getSelectionUuid());
+				// set new values
+				entitySelection.getValuesList().forEach(attribute -> {
+					Object value = ValueUtil.getObjectFromValue(attribute.getValue());
+					entity.set_ValueOfColumn(attribute.getKey(), value);
+				});
+				int parameterIndex = 1;
+				pstmt.setInt(parameterIndex++, entity.get_ValueAsInt(sortColumnName));
+				pstmt.setTimestamp(parameterIndex++, updated);
+				pstmt.setInt(parameterIndex++, userId);
+				if (isWithIncluded) {
+					pstmt.setString(parameterIndex++, entity.get_ValueAsBoolean(includedColumnName) ? "Y" : "N");
+				}
+				pstmt.setInt(parameterIndex++, entity.get_ID());
+				pstmt.addBatch();
+				savedRecords.add(entity);
+			}
+			if (!savedRecords.isEmpty()) {
+				pstmt.executeBatch();
+			}
+		} catch (SQLException e) {
+			log.severe(e.getLocalizedMessage());
+			throw new AdempiereException(e);
+		} finally {
+			DB.close(pstmt);
+		}
+		return savedRecords;
+	}
+
+	/**
+	 * Convert record of sort tab
+	 * @param table
+	 * @param keyColumn
+	 * @param sortColumnName
+	 * @param includedColumnName
+	 * @param entity
+	 * @return
+	 */
+	private Entity.Builder convertTabSequence(MTable table, MColumn keyColumn, String sortColumnName, String includedColumnName, PO entity) {
+		Entity.Builder entityBuilder = Entity.newBuilder()
+			.setTableName(table.getTableName())
+			.setUuid(entity.get_UUID())
+			.setId(entity.get_ID())
+		;
+
+		// set attributes
+		entityBuilder.putValues(
+			keyColumn.getColumnName(),
+			ValueUtil.getValueFromInt(entity.get_ValueAsInt(keyColumn.getColumnName())).build()
+		);
+		entityBuilder.putValues(
+			LookupUtil.UUID_COLUMN_KEY,
+			ValueUtil.getValueFromString(entity.get_UUID()).build()
+		);
+		entityBuilder.putValues(
+			LookupUtil.DISPLAY_COLUMN_KEY,
+			ValueUtil.getValueFromString(entity.getDisplayValue()).build()
+		);
+		entityBuilder.putValues(
+			sortColumnName,
+			ValueUtil.getValueFromInt(entity.get_ValueAsInt(sortColumnName)).build()
+		);
+		entityBuilder.putValues(
+			includedColumnName,
+			ValueUtil.getValueFromBoolean(entity.get_ValueAsBoolean(includedColumnName)).build()
+		);
+		return entityBuilder;
+	}
+
 
 	@Override
 	public void listTreeNodes(ListTreeNodesRequest request, StreamObserver<ListTreeNodesResponse> responseObserver) {
@@ -3720,9 +4703,6 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 
 		final int clientId = Env.getAD_Client_ID(context);
 		int treeId = getDefaultTreeIdFromTableName(clientId, table.getTableName(), elementId);
-		MTree tree = new MTree(context, treeId, false, true, whereClause, null);
-
-		MTreeNode treeNode = tree.getRoot();
 
 		int treeNodeId = request.getId();
 		if (treeNodeId <= 0 && !Util.isEmpty(request.getUuid(), true)) {
@@ -3731,6 +4711,12 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 				throw new AdempiereException("@Record_ID@ / @UUID@ @NotFound@");
 			}
 		}
+		if (request.getIsLazy()) {
+			return listTreeNodeChildren(request, table, treeId, treeNodeId, whereClause);
+		}
+		MTree tree = new MTree(context, treeId, false, true, whereClause, null);
+
+		MTreeNode treeNode = tree.getRoot();
 
 		ListTreeNodesResponse.Builder builder = ListTreeNodesResponse.newBuilder();
 
@@ -3763,6 +4749,39 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 		return builder;
 	}
 
+	/**
+	 * List a page of direct children of node without load the tree
+	 * @param request
+	 * @param table
+	 * @param treeId
+	 * @param parentId 0 for root
+	 * @param whereClause
+	 * @return
+	 */
+	private ListTreeNodesResponse.Builder listTreeNodeChildren(ListTreeNodesRequest request, MTable table, int treeId, int parentId, String whereClause) {
+		ListTreeNodesResponse.Builder builder = ListTreeNodesResponse.newBuilder();
+		MTree_Base tree = MTree_Base.get(Env.getCtx(), treeId, null);
+		builder.setTreeType(UserInterfaceConvertUtil.convertTreeType(tree.getTreeType()));
+
+		//	Children with access, then page and count
+		List<Integer> children = TreeNodeUtil.getChildren(table, treeId, parentId, whereClause);
+		String nexPageToken = null;
+		int pageNumber = LimitUtil.getPageNumber(SessionManager.getSessionUuid(), request.getPageToken());
+		int limit = LimitUtil.getPageSize(request.getPageSize());
+		int offset = (pageNumber - 1) * limit;
+		int count = children.size();
+		List<Integer> pageNodeIds = children.subList(Math.min(offset, count), Math.min(offset + limit, count));
+		TreeNodeUtil.convertNodes(table, treeId, pageNodeIds, whereClause)
+			.forEach(childBuilder -> builder.addRecords(childBuilder));
+		builder.setRecordCount(count);
+		//	Set page token
+		if(LimitUtil.isValidNextPageToken(count, offset, limit)) {
+			nexPageToken = LimitUtil.getPagePrefix(SessionManager.getSessionUuid()) + (pageNumber + 1);
+		}
+		builder.setNextPageToken(ValueUtil.validateNull(nexPageToken));
+		return builder;
+	}
+
 	public TreeNode.Builder convertTreeNode(MTable table, MTreeNode treeNode, boolean isWithChildrens) {
 		TreeNode.Builder builder = TreeNode.newBuilder();
 
@@ -3780,6 +4799,7 @@ public class UserInterfaceServiceImplementation extends UserInterfaceImplBase {
 			.setParentId(treeNode.getParent_ID())
 			.setIsSummary(treeNode.isSummary())
 			.setIsActive(true)
+			.setHasChildren(treeNode.getChildCount() > 0)
 		;
 
 		if (isWithChildrens) {
@@ -21,6 +21,7 @@ import java.util.logging.Logger;
 import org.compiere.jr.report.ReportStarter;
 import org.compiere.util.Env;
 import org.spin.authentication.AuthorizationServerInterceptor;
+import org.spin.base.dictionary.DictionarySnapshotUtil;
 import org.spin.base.setup.SetupLoader;
 import org.spin.base.util.ServiceContextProvider;
 import org.spin.base.util.Services;
@@ -63,14 +64,18 @@ import org.spin.grpc.service.WorkflowServiceImplementation;
 import io.grpc.Server;
 import io.grpc.netty.GrpcSslContexts;
 import io.grpc.netty.NettyServerBuilder;
+import io.grpc.protobuf.services.HealthStatusManager;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.grpc.ServerBuilder;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
 
 public class AllInOneServices {
 	private static final Logger logger = Logger.getLogger(AllInOneServices.class.getName());
 
 	private Server server;
+	/**	Health status, it is not serving while warmup is running	*/
+	private HealthStatusManager healthStatusManager;
 
 	private static String defaultFileConnection = "resources/standalone.yaml";
 	private ServiceContextProvider contextProvider =  new ServiceContextProvider();
@@ -103,9 +108,19 @@ public class AllInOneServices {
 			serverBuilder = ServerBuilder.forPort(SetupLoader.getInstance().getServer().getPort());
 		}
 
+		// Conditional requests of read methods, added before authorization for run with session
+		serverBuilder.intercept(new ResourceVersionInterceptor());
+		// Replay of retries with idempotency key, added before authorization for run with session
+		serverBuilder.intercept(new IdempotencyInterceptor());
 		// Validate JWT on all requests
 		serverBuilder.intercept(new AuthorizationServerInterceptor());
 
+		//	Health Check
+		healthStatusManager = new HealthStatusManager();
+		//	Not ready until warmup is finished, default status of server is serving
+		healthStatusManager.setStatus(HealthStatusManager.SERVICE_NAME_ALL_SERVICES, ServingStatus.NOT_SERVING);
+		serverBuilder.addService(healthStatusManager.getHealthService());
+
 		//	Bank Statement Match
 		if (SetupLoader.getInstance().getServer().isValidService(Services.BANK_STATEMENT_MATCH.getServiceName())) {
 			serverBuilder.addService(new BankStatementMatchServiceImplementation());
@@ -130,6 +145,8 @@ public class AllInOneServices {
 		if(SetupLoader.getInstance().getServer().isValidService(Services.DICTIONARY.getServiceName())) {
 			serverBuilder.addService(new DictionaryServiceImplementation());
 			logger.info("Service " + Services.DICTIONARY.getServiceName() + " added on " + SetupLoader.getInstance().getServer().getPort());
+			//	Converted dictionary saved before
+			DictionarySnapshotUtil.loadSnapshots();
 		}
 		//	Enrollment
 		if(SetupLoader.getInstance().getServer().isValidService(Services.ENROLLMENT.getServiceName())) {
@@ -283,6 +300,8 @@ public class AllInOneServices {
 		}
 		//	Add Server
 		server = serverBuilder.build().start();
+		//	Load caches before report ready
+		new ServerWarmup(healthStatusManager, SetupLoader.getInstance().getServer().getWarmup()).start();
 		logger.info("Server started, listening on " + SetupLoader.getInstance().getServer().getPort());
 		Runtime.getRuntime().addShutdownHook(new Thread() {
 			@Override
@@ -296,6 +315,9 @@ public class AllInOneServices {
 	  }
 
 	  private void stop() {
+	    if (healthStatusManager != null) {
+	      healthStatusManager.enterTerminalState();
+	    }
 	    if (server != null) {
 	      server.shutdown();
 	    }
@@ -0,0 +1,333 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.server;
+
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.compiere.util.Env;
+import org.compiere.util.Util;
+import org.spin.base.setup.SetupLoader;
+
+import com.google.protobuf.MessageLite;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+/**
+ * Idempotency keys for methods that must not run twice (processes and orders).
+ * The client sends the same <code>idempotency-key</code> header on retries of a request,
+ * the response of first call is kept during the time to live of setup and it is returned
+ * to retries (with header <code>idempotent-replayed: true</code>) instead of run the method again.
+ * A retry received while the first call is running waits for its response.
+ * A key used again with other request (payload) is rejected with FAILED_PRECONDITION.
+ * Failed calls and large responses (example: report output) are not kept, then they run again.
+ * The key is used by client, user and method, it must be added before authorization interceptor.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class IdempotencyInterceptor implements ServerInterceptor {
+	private static final Logger logger = Logger.getLogger(IdempotencyInterceptor.class.getName());
+
+	/**	Key of request, generated by client	*/
+	public static final Metadata.Key<String> IDEMPOTENCY_KEY_METADATA_KEY = Metadata.Key.of("idempotency-key", Metadata.ASCII_STRING_MARSHALLER);
+	/**	Response is a replay of previous call	*/
+	public static final Metadata.Key<String> REPLAYED_METADATA_KEY = Metadata.Key.of("idempotent-replayed", Metadata.ASCII_STRING_MARSHALLER);
+
+	/**	Methods with idempotency keys	*/
+	private static final List<String> IDEMPOTENT_METHODS = Arrays.asList(
+		"data.BusinessData/RunBusinessProcess",
+		"data.BusinessData/SubmitJob",
+		"data.Store/ProcessOrder"
+	);
+	/**	Maximum kept calls	*/
+	private static final int MAXIMUM_SIZE = 10000;
+	/**	Maximum size of kept responses (bytes)	*/
+	private static final long MAXIMUM_BYTES = 64 * 1024 * 1024;
+	/**	Maximum size of a kept response (bytes), larger responses are not kept	*/
+	private static final long MAXIMUM_RESPONSE_BYTES = 256 * 1024;
+	/**	Calls by client, user, method and key, in order of creation (oldest first), guarded by itself	*/
+	private static Map<String, IdempotentCall> calls = new LinkedHashMap<String, IdempotentCall>();
+	/**	Size of kept responses, guarded by calls	*/
+	private static long keptBytes = 0;
+
+	/**
+	 * Response of a call, it is completed when the call is closed
+	 */
+	private static class IdempotentCall {
+		private CompletableFuture<Object> response = new CompletableFuture<Object>();
+		private long created = System.currentTimeMillis();
+		/**	Hash of request	*/
+		private String requestHash;
+		/**	Size of response, guarded by calls	*/
+		private long bytes = 0;
+
+		private IdempotentCall(String requestHash) {
+			this.requestHash = requestHash;
+		}
+
+		private boolean isOlderThan(long timeToLive) {
+			return System.currentTimeMillis() - created > timeToLive;
+		}
+	}
+
+	@Override
+	public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> serverCall, Metadata metadata, ServerCallHandler<ReqT, RespT> serverCallHandler) {
+		MethodDescriptor<ReqT, RespT> method = serverCall.getMethodDescriptor();
+		String idempotencyKey = metadata.get(IDEMPOTENCY_KEY_METADATA_KEY);
+		long timeToLive = SetupLoader.getInstance().getServer().getIdempotency_time_to_live() * 1000;
+		if(Util.isEmpty(idempotencyKey, true)
+				|| timeToLive <= 0
+				|| method.getType() != MethodDescriptor.MethodType.UNARY
+				|| !IDEMPOTENT_METHODS.contains(method.getFullMethodName())) {
+			return serverCallHandler.startCall(serverCall, metadata);
+		}
+		Properties context = Env.getCtx();
+		String key = Env.getAD_Client_ID(context)
+			+ "|" + Env.getAD_User_ID(context)
+			+ "|" + method.getFullMethodName()
+			+ "|" + idempotencyKey;
+		//	The call is started when request is received, it is required for compare with first call
+		serverCall.request(1);
+		return new ServerCall.Listener<ReqT>() {
+			/**	Listener of method, null when the call is a replay or it is not started	*/
+			private ServerCall.Listener<ReqT> delegate;
+			/**	Call kept for retries	*/
+			private IdempotentCall currentCall;
+
+			@Override
+			public void onMessage(ReqT message) {
+				if(delegate != null) {
+					delegate.onMessage(message);
+					return;
+				}
+				String requestHash = getRequestHash(method, message);
+				IdempotentCall currentCall = new IdempotentCall(requestHash);
+				this.currentCall = currentCall;
+				IdempotentCall previousCall;
+				synchronized (calls) {
+					removeExpired(timeToLive);
+					previousCall = calls.get(key);
+					if(previousCall == null) {
+						calls.put(key, currentCall);
+						if(calls.size() > MAXIMUM_SIZE) {
+							removeEldest();
+						}
+					}
+				}
+				if(previousCall != null) {
+					if(requestHash == null
+							|| !requestHash.equals(previousCall.requestHash)) {
+						serverCall.close(Status.FAILED_PRECONDITION
+							.withDescription("Idempotency key " + idempotencyKey + " is used with other request"), new Metadata());
+						return;
+					}
+					//	Retry, send response of first call when it is completed
+					previousCall.response.whenComplete((response, error) -> replay(serverCall, response, error));
+					return;
+				}
+				delegate = serverCallHandler.startCall(new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(serverCall) {
+					private RespT response;
+
+					@Override
+					public void sendMessage(RespT message) {
+						response = message;
+						super.sendMessage(message);
+					}
+
+					@Override
+					public void close(Status status, Metadata trailers) {
+						if(status.isOk() && response != null) {
+							keep(key, currentCall, response);
+						} else {
+							//	Failed call is not kept, a retry run it again
+							remove(key, currentCall);
+							currentCall.response.completeExceptionally(status.asRuntimeException(trailers));
+						}
+						super.close(status, trailers);
+					}
+				}, metadata);
+				delegate.onMessage(message);
+			}
+
+			@Override
+			public void onHalfClose() {
+				if(delegate != null) {
+					delegate.onHalfClose();
+				}
+			}
+
+			@Override
+			public void onCancel() {
+				if(delegate != null) {
+					if(!currentCall.response.isDone()) {
+						//	Cancelled without response, a retry run it again
+						remove(key, currentCall);
+						currentCall.response.completeExceptionally(Status.CANCELLED.asRuntimeException());
+					}
+					delegate.onCancel();
+				}
+			}
+
+			@Override
+			public void onComplete() {
+				if(delegate != null) {
+					delegate.onComplete();
+				}
+			}
+
+			@Override
+			public void onReady() {
+				if(delegate != null) {
+					delegate.onReady();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Get hash of serialized request
+	 * @param method
+	 * @param message
+	 * @return null if it can not be calculated
+	 */
+	private static <ReqT, RespT> String getRequestHash(MethodDescriptor<ReqT, RespT> method, ReqT message) {
+		try (InputStream request = method.streamRequest(message)) {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(request.readAllBytes());
+			StringBuffer hashValue = new StringBuffer();
+			for(byte value : hash) {
+				hashValue.append(String.format("%02x", value));
+			}
+			return hashValue.toString();
+		} catch (Exception e) {
+			logger.log(Level.WARNING, e.getLocalizedMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Keep response of call for retries, a large response is not kept
+	 * @param key
+	 * @param call
+	 * @param response
+	 */
+	private static void keep(String key, IdempotentCall call, Object response) {
+		long bytes = 0;
+		if(response instanceof MessageLite) {
+			bytes = ((MessageLite) response).getSerializedSize();
+		}
+		synchronized (calls) {
+			if(bytes > MAXIMUM_RESPONSE_BYTES) {
+				calls.remove(key, call);
+			} else if(calls.get(key) == call) {
+				call.bytes = bytes;
+				keptBytes += bytes;
+				while(keptBytes > MAXIMUM_BYTES && !calls.isEmpty()) {
+					removeEldest();
+				}
+			}
+		}
+		//	Retries waiting for it are answered anyway
+		call.response.complete(response);
+	}
+
+	/**
+	 * Remove a call
+	 * @param key
+	 * @param call
+	 */
+	private static void remove(String key, IdempotentCall call) {
+		synchronized (calls) {
+			if(calls.remove(key, call)) {
+				keptBytes -= call.bytes;
+			}
+		}
+	}
+
+	/**
+	 * Remove expired calls from oldest, it stops on first call created during time to live
+	 * (calls are in order of creation), running calls are not removed. Must be called with lock of calls
+	 * @param timeToLive
+	 */
+	private static void removeExpired(long timeToLive) {
+		Iterator<IdempotentCall> iterator = calls.values().iterator();
+		while(iterator.hasNext()) {
+			IdempotentCall call = iterator.next();
+			if(!call.isOlderThan(timeToLive)) {
+				break;
+			}
+			if(!call.response.isDone()) {
+				continue;
+			}
+			keptBytes -= call.bytes;
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Remove oldest call. Must be called with lock of calls
+	 */
+	private static void removeEldest() {
+		Iterator<IdempotentCall> iterator = calls.values().iterator();
+		if(iterator.hasNext()) {
+			keptBytes -= iterator.next().bytes;
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Send response of first call
+	 * @param serverCall
+	 * @param response
+	 * @param error
+	 */
+	@SuppressWarnings("unchecked")
+	private static <ReqT, RespT> void replay(ServerCall<ReqT, RespT> serverCall, Object response, Throwable error) {
+		try {
+			if(serverCall.isCancelled()) {
+				return;
+			}
+			if(error != null) {
+				Status status = Status.INTERNAL.withDescription(error.getLocalizedMessage());
+				if(error instanceof StatusRuntimeException) {
+					status = ((StatusRuntimeException) error).getStatus();
+				}
+				serverCall.close(status, new Metadata());
+				return;
+			}
+			Metadata headers = new Metadata();
+			headers.put(REPLAYED_METADATA_KEY, "true");
+			serverCall.sendHeaders(headers);
+			serverCall.sendMessage((RespT) response);
+			serverCall.close(Status.OK, new Metadata());
+		} catch (Exception e) {
+			logger.log(Level.WARNING, e.getLocalizedMessage());
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.server;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.compiere.util.Env;
+import org.compiere.util.Util;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+/**
+ * Conditional requests for read methods that rarely change (dictionary, menu, roles, languages).
+ * The response headers have the version of data as <code>resource-version</code>, when a request
+ * has the same version on <code>if-resource-version</code> the method is not called and an empty
+ * response (default instance) is returned with the header <code>not-modified: true</code>, then the
+ * client must use its previous response.
+ * Note: the standard HTTP <code>etag</code> and <code>if-none-match</code> headers are not used, they
+ * are sent by browsers without the client knowing it (through the JSON transcoder) and an empty
+ * response would be taken as the real one. A client must opt into it.
+ * The version is made by the provider of method, client, role, user and language of session.
+ * It must be added before authorization interceptor, then it is called with session context.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class ResourceVersionInterceptor implements ServerInterceptor {
+	private static final Logger logger = Logger.getLogger(ResourceVersionInterceptor.class.getName());
+
+	/**	Version of response	*/
+	public static final Metadata.Key<String> RESOURCE_VERSION_METADATA_KEY = Metadata.Key.of("resource-version", Metadata.ASCII_STRING_MARSHALLER);
+	/**	Version of previous response of client	*/
+	public static final Metadata.Key<String> IF_RESOURCE_VERSION_METADATA_KEY = Metadata.Key.of("if-resource-version", Metadata.ASCII_STRING_MARSHALLER);
+	/**	Response is not modified, it is empty	*/
+	public static final Metadata.Key<String> NOT_MODIFIED_METADATA_KEY = Metadata.Key.of("not-modified", Metadata.ASCII_STRING_MARSHALLER);
+
+	/**	Version provider by full method name	*/
+	private static Map<String, ResourceVersionProvider> providers = new ConcurrentHashMap<String, ResourceVersionProvider>();
+
+	static {
+		//	Dictionary
+		ResourceVersionProvider dictionaryVersion = ResourceVersionProvider.ofDictionary();
+		register("dictionary.Dictionary/GetWindow", dictionaryVersion);
+		register("dictionary.Dictionary/GetTab", dictionaryVersion);
+		register("dictionary.Dictionary/GetField", dictionaryVersion);
+		register("dictionary.Dictionary/GetReference", dictionaryVersion);
+		register("dictionary.Dictionary/GetValidationRule", dictionaryVersion);
+		register("dictionary.Dictionary/GetProcess", dictionaryVersion);
+		register("dictionary.Dictionary/GetBrowser", dictionaryVersion);
+		//	Forms, a deleted form or translation is detected by quantity of records
+		register("dictionary.Dictionary/GetForm", ResourceVersionProvider.ofTables("AD_Form", "AD_Form_Trl"));
+		//	Languages
+		register("data.CoreFunctionality/ListLanguages", ResourceVersionProvider.ofTables("AD_Language"));
+		//	Roles
+		ResourceVersionProvider rolesVersion = ResourceVersionProvider.ofTables("AD_Role", "AD_User_Roles");
+		register("security.Security/ListRoles", rolesVersion);
+		register("user_customization.UserCustomization/ListRoles", rolesVersion);
+		//	Menu
+		register("security.Security/GetMenu", ResourceVersionProvider.ofTables(
+			"AD_Menu", "AD_Menu_Trl", "AD_TreeNodeMM",
+			"AD_Window_Access", "AD_Process_Access", "AD_Form_Access",
+			"AD_Browse_Access", "AD_Workflow_Access", "AD_Role"
+		));
+		//	Resources
+		register("file_management.FileManagement/GetResourceReference", ResourceVersionProvider.ofTables("AD_AttachmentReference"));
+	}
+
+	/**
+	 * Register version provider of a read method
+	 * @param fullMethodName service/method, example: dictionary.Dictionary/GetWindow
+	 * @param provider
+	 */
+	public static void register(String fullMethodName, ResourceVersionProvider provider) {
+		providers.put(fullMethodName, provider);
+	}
+
+	/**
+	 * Get version of response for session
+	 * @param provider
+	 * @return null if it is not versioned
+	 */
+	private static String getEntityTag(ResourceVersionProvider provider) {
+		Properties context = Env.getCtx();
+		String version = provider.getVersion(context);
+		if(Util.isEmpty(version, true)) {
+			return null;
+		}
+		return "\"" + version
+			+ "-" + Env.getAD_Client_ID(context)
+			+ "-" + Env.getAD_Role_ID(context)
+			+ "-" + Env.getAD_User_ID(context)
+			+ "-" + Env.getAD_Language(context)
+			+ "\"";
+	}
+
+	@Override
+	public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> serverCall, Metadata metadata, ServerCallHandler<ReqT, RespT> serverCallHandler) {
+		MethodDescriptor<ReqT, RespT> method = serverCall.getMethodDescriptor();
+		ResourceVersionProvider provider = providers.get(method.getFullMethodName());
+		if(provider == null
+				|| method.getType() != MethodDescriptor.MethodType.UNARY) {
+			return serverCallHandler.startCall(serverCall, metadata);
+		}
+		String entityTag;
+		try {
+			entityTag = getEntityTag(provider);
+		} catch (Exception e) {
+			logger.log(Level.WARNING, e.getLocalizedMessage());
+			entityTag = null;
+		}
+		if(entityTag == null) {
+			return serverCallHandler.startCall(serverCall, metadata);
+		}
+		final String currentEntityTag = entityTag;
+		if(currentEntityTag.equals(metadata.get(IF_RESOURCE_VERSION_METADATA_KEY))
+				&& method.getResponseMarshaller() instanceof MethodDescriptor.PrototypeMarshaller) {
+			@SuppressWarnings("unchecked")
+			RespT emptyResponse = ((MethodDescriptor.PrototypeMarshaller<RespT>) method.getResponseMarshaller()).getMessagePrototype();
+			Metadata headers = new Metadata();
+			headers.put(RESOURCE_VERSION_METADATA_KEY, currentEntityTag);
+			headers.put(NOT_MODIFIED_METADATA_KEY, "true");
+			serverCall.sendHeaders(headers);
+			serverCall.sendMessage(emptyResponse);
+			serverCall.close(Status.OK, new Metadata());
+			return new ServerCall.Listener<>() {
+				// noop
+			};
+		}
+		return serverCallHandler.startCall(new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(serverCall) {
+			@Override
+			public void sendHeaders(Metadata headers) {
+				headers.put(RESOURCE_VERSION_METADATA_KEY, currentEntityTag);
+				super.sendHeaders(headers);
+			}
+		}, metadata);
+	}
+}
@@ -0,0 +1,110 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.server;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.compiere.util.DB;
+import org.spin.base.dictionary.DictionaryVersionUtil;
+
+/**
+ * Version of the data returned by a read method, used as entity tag of response.
+ * The version must change when any data of response change for the same session.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+@FunctionalInterface
+public interface ResourceVersionProvider {
+
+	/**
+	 * Get current version
+	 * @param context session context
+	 * @return version, null if it can not be calculated (response is not versioned)
+	 */
+	public String getVersion(Properties context);
+
+	/**
+	 * Version of dictionary (window, tab, field, process, browser and reference), it use
+	 * quantity of records of dictionary tables because a deleted field, tab, parameter or
+	 * list value does not change the last update
+	 * @return
+	 */
+	public static ResourceVersionProvider ofDictionary() {
+		return new TablesVersionProvider(DictionaryVersionUtil.DICTIONARY_TABLES);
+	}
+
+	/**
+	 * Version from quantity of records and last update of tables, it is read from
+	 * database at most once each 10 seconds.
+	 * Note: a deleted record is detected by quantity of records
+	 * @param tableNames
+	 * @return
+	 */
+	public static ResourceVersionProvider ofTables(String... tableNames) {
+		return new TablesVersionProvider(Arrays.asList(tableNames));
+	}
+
+	/**
+	 * Version of tables
+	 */
+	static class TablesVersionProvider implements ResourceVersionProvider {
+		/**	Time for read version again	*/
+		private static final long VERSION_CHECK_MILLISECONDS = 10 * 1000;
+		/**	Last version read from database	*/
+		private volatile String version;
+		private volatile long versionChecked = 0;
+		private String sql;
+
+		private TablesVersionProvider(List<String> tableNames) {
+			StringBuffer sql = new StringBuffer("SELECT SUM(tv.Quantity), MAX(tv.Updated) FROM (");
+			for (int index = 0; index < tableNames.size(); index++) {
+				if (index > 0) {
+					sql.append(" UNION ALL ");
+				}
+				sql.append("SELECT COUNT(*) AS Quantity, MAX(Updated) AS Updated FROM ").append(tableNames.get(index));
+			}
+			sql.append(") tv");
+			this.sql = sql.toString();
+		}
+
+		@Override
+		public String getVersion(Properties context) {
+			long now = System.currentTimeMillis();
+			if(version != null
+					&& now - versionChecked <= VERSION_CHECK_MILLISECONDS) {
+				return version;
+			}
+			PreparedStatement pstmt = null;
+			ResultSet rs = null;
+			try {
+				pstmt = DB.prepareStatement(sql, null);
+				rs = pstmt.executeQuery();
+				if(rs.next()) {
+					version = rs.getLong(1) + "-" + DictionaryVersionUtil.toVersion(rs.getTimestamp(2));
+					versionChecked = now;
+					return version;
+				}
+			} catch (Exception e) {
+				//	Not versioned
+			} finally {
+				DB.close(rs, pstmt);
+			}
+			return null;
+		}
+	}
+}
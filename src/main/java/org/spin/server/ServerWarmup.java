@@ -0,0 +1,211 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+package org.spin.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.compiere.model.MRole;
+import org.compiere.model.MTable;
+import org.compiere.model.POInfo;
+import org.compiere.util.Env;
+import org.spin.authentication.AuthorizationServerInterceptor;
+import org.spin.backend.grpc.pos.PointOfSalesRequest;
+import org.spin.backend.grpc.security.MenuRequest;
+import org.spin.base.db.QueryUtil;
+import org.spin.base.setup.SetupLoader;
+import org.spin.base.setup.Warmup;
+import org.spin.base.util.Services;
+import org.spin.base.util.SessionManager;
+import org.spin.grpc.service.DictionaryServiceImplementation;
+import org.spin.grpc.service.PointOfSalesServiceImplementation;
+import org.spin.grpc.service.SecurityServiceImplementation;
+
+import io.grpc.Context;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Load caches of menu, windows, tables and point of sales before the server reports it is ready.
+ * Everything is loaded with the same methods used by requests, then JIT, POInfo, MTable,
+ * MColumn, reference and role caches are ready for first requests.
+ * The health status must be NOT_SERVING before server is started, it is SERVING when it is finished.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class ServerWarmup implements Runnable {
+	private static final Logger logger = Logger.getLogger(ServerWarmup.class.getName());
+
+	/**	Health of server	*/
+	private HealthStatusManager healthStatusManager;
+	/**	Setup	*/
+	private Warmup warmup;
+
+	/**
+	 * Default constructor
+	 * @param healthStatusManager
+	 * @param warmup
+	 */
+	public ServerWarmup(HealthStatusManager healthStatusManager, Warmup warmup) {
+		this.healthStatusManager = healthStatusManager;
+		this.warmup = warmup;
+	}
+
+	/**
+	 * Run warmup on a background thread if it is enabled, else the server is reported as ready
+	 */
+	public void start() {
+		if(!warmup.getIs_enabled()) {
+			healthStatusManager.setStatus(HealthStatusManager.SERVICE_NAME_ALL_SERVICES, ServingStatus.SERVING);
+			return;
+		}
+		healthStatusManager.setStatus(HealthStatusManager.SERVICE_NAME_ALL_SERVICES, ServingStatus.NOT_SERVING);
+		Thread thread = new Thread(this, "server-warmup");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void run() {
+		long startTime = System.currentTimeMillis();
+		logger.info("Warmup started");
+		try {
+			List<Integer> roles = new ArrayList<Integer>(warmup.getRoles());
+			if(roles.isEmpty()) {
+				roles.add(SessionManager.getDefaultRoleId(warmup.getUser_id()));
+			}
+			boolean isFirstRole = true;
+			for(int roleId : roles) {
+				try {
+					Properties context = createContext(roleId);
+					final boolean isLoadShared = isFirstRole;
+					Context.current()
+						.withValue(AuthorizationServerInterceptor.SESSION_CONTEXT, context)
+						.run(() -> warmupRole(isLoadShared));
+				} catch (Exception e) {
+					logger.log(Level.WARNING, "Warmup of role " + roleId + " failed", e);
+				}
+				isFirstRole = false;
+			}
+		} finally {
+			healthStatusManager.setStatus(HealthStatusManager.SERVICE_NAME_ALL_SERVICES, ServingStatus.SERVING);
+			logger.info("Warmup finished in " + (System.currentTimeMillis() - startTime) + " ms");
+		}
+	}
+
+	/**
+	 * Create a session context for role
+	 * @param roleId
+	 * @return
+	 */
+	private Properties createContext(int roleId) {
+		Properties context = new Properties();
+		MRole role = MRole.get(context, roleId);
+		int userId = warmup.getUser_id();
+		Env.setContext(context, "#AD_Client_ID", role.getAD_Client_ID());
+		Env.setContext(context, "#AD_Role_ID", roleId);
+		Env.setContext(context, "#AD_User_ID", userId);
+		Env.setContext(context, "#AD_Org_ID", Math.max(SessionManager.getDefaultOrganizationId(roleId, userId), 0));
+		SessionManager.loadDefaultSessionValues(context, warmup.getLanguage());
+		return context;
+	}
+
+	/**
+	 * Load role access, menu and windows for role of current context,
+	 * tables and point of sales are loaded only once
+	 * @param isLoadShared
+	 */
+	private void warmupRole(boolean isLoadShared) {
+		Properties context = Env.getCtx();
+		MRole.getDefault(context, true);
+		if(isEnabledService(Services.SECURITY)) {
+			new SecurityServiceImplementation().getMenu(MenuRequest.newBuilder().build(), new WarmupObserver<>("Menu"));
+		}
+		if(isEnabledService(Services.DICTIONARY)) {
+			DictionaryServiceImplementation dictionaryService = new DictionaryServiceImplementation();
+			for(String windowUuid : warmup.getWindows()) {
+				try {
+					dictionaryService.warmupWindow(context, windowUuid);
+				} catch (Exception e) {
+					logger.log(Level.WARNING, "Warmup of window " + windowUuid + " failed", e);
+				}
+			}
+		}
+		if(!isLoadShared) {
+			return;
+		}
+		for(String tableName : warmup.getTables()) {
+			try {
+				MTable table = MTable.get(context, tableName);
+				if(table == null || table.getAD_Table_ID() <= 0) {
+					logger.warning("Warmup table " + tableName + " not found");
+					continue;
+				}
+				POInfo.getPOInfo(context, table.getAD_Table_ID());
+				QueryUtil.getTableQueryWithReferences(table);
+			} catch (Exception e) {
+				logger.log(Level.WARNING, "Warmup of table " + tableName + " failed", e);
+			}
+		}
+		if(isEnabledService(Services.POS)) {
+			PointOfSalesServiceImplementation pointOfSalesService = new PointOfSalesServiceImplementation();
+			for(String posUuid : warmup.getPoint_of_sales()) {
+				pointOfSalesService.getPointOfSales(
+					PointOfSalesRequest.newBuilder().setPosUuid(posUuid).build(),
+					new WarmupObserver<>("Point of Sales " + posUuid)
+				);
+			}
+		}
+	}
+
+	/**
+	 * Verify if service is enabled on this server
+	 * @param service
+	 * @return
+	 */
+	private boolean isEnabledService(Services service) {
+		return SetupLoader.getInstance().getServer().isValidService(service.getServiceName());
+	}
+
+	/**
+	 * Observer that discard results and log errors
+	 */
+	private static class WarmupObserver<T> implements StreamObserver<T> {
+		/**	Name for log	*/
+		private String name;
+
+		public WarmupObserver(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void onNext(T value) {
+			//	Only cache is required
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			logger.log(Level.WARNING, "Warmup of " + name + " failed", throwable);
+		}
+
+		@Override
+		public void onCompleted() {
+			//	Nothing
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/************************************************************************************
+ * Copyright (C) 2012-2023 E.R.P. Consultores y Asociados, C.A.                     *
+ * Contributor(s): Yamel Senih ysenih@erpya.com                                     *
+ * This program is free software: you can redistribute it and/or modify             *
+ * it under the terms of the GNU General Public License as published by             *
+ * the Free Software Foundation, either version 2 of the License, or                *
+ * (at your option) any later version.                                              *
+ * This program is distributed in the hope that it will be useful,                  *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                   *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the                     *
+ * GNU General Public License for more details.                                     *
+ * You should have received a copy of the GNU General Public License                *
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.            *
+ ************************************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.compiere.model.MColumn;
+import org.compiere.model.MRole;
+import org.compiere.model.MTable;
+import org.compiere.util.Env;
+import org.spin.authentication.AuthorizationServerInterceptor;
+import org.spin.base.dictionary.DictionaryVersionUtil;
+import org.spin.base.setup.SetupLoader;
+import org.spin.base.util.ReferenceUtil;
+import org.spin.base.util.ServiceContextProvider;
+import org.spin.base.util.SessionManager;
+
+import io.grpc.Context;
+
+/**
+ * Cost of reference info lookup (ReferenceUtil) and cached dictionary version under contention.
+ * It needs a database, run it after build with the runtime classpath of server:
+ * <pre>
+ * java -cp "build/install/adempiere-grpc-server/lib/*" tools/benchmark/ReferenceUtilBenchmark.java \
+ *     resources/standalone.yaml [threads=16] [seconds=10] [roleId=0] [userId=100] [language=en_US]
+ * </pre>
+ * The first pass compute each reference info once (misses), then all threads read the same
+ * keys during the time (hits) and the average cost by lookup is reported for one thread and
+ * for all threads.
+ * @author Yamel Senih, ysenih@erpya.com, ERPCyA http://www.erpya.com
+ */
+public class ReferenceUtilBenchmark {
+
+	/**	Tables with lookup columns used as keys	*/
+	private static final List<String> TABLES = Arrays.asList(
+		"C_Order", "C_OrderLine", "C_Invoice", "C_InvoiceLine",
+		"C_BPartner", "M_Product", "M_InOut", "C_Payment"
+	);
+
+	/**
+	 * Reference of a column
+	 */
+	private static class Lookup {
+		private int referenceId;
+		private int referenceValueId;
+		private String columnName;
+		private String tableName;
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0) {
+			throw new Exception("Arguments Must Be: [setup file name] [threads] [seconds] [role] [user] [language]");
+		}
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+		int roleId = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+		int userId = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+		String language = args.length > 5 ? args[5] : "en_US";
+
+		SetupLoader.loadSetup(args[0]);
+		SetupLoader.getInstance().validateLoad();
+		Env.setContextProvider(new ServiceContextProvider());
+		Properties context = createContext(roleId, userId, language);
+		Context sessionContext = Context.current().withValue(AuthorizationServerInterceptor.SESSION_CONTEXT, context);
+
+		List<Lookup> lookups = sessionContext.call(() -> getLookups(context));
+		System.out.println("Reference infos: " + lookups.size());
+
+		//	Misses, each key is computed once
+		long missTime = sessionContext.call(() -> {
+			long startTime = System.nanoTime();
+			lookup(context, lookups);
+			return System.nanoTime() - startTime;
+		});
+		System.out.println("Misses: " + (missTime / Math.max(lookups.size(), 1)) + " ns/lookup");
+
+		//	Hits
+		run(sessionContext, context, lookups, 1, seconds);
+		run(sessionContext, context, lookups, threads, seconds);
+
+		//	Dictionary version only
+		long versionTime = sessionContext.call(() -> {
+			long startTime = System.nanoTime();
+			for (int index = 0; index < 1_000_000; index++) {
+				DictionaryVersionUtil.getCachedDictionaryVersion();
+			}
+			return System.nanoTime() - startTime;
+		});
+		System.out.println("Cached dictionary version: " + (versionTime / 1_000_000) + " ns/call");
+		System.exit(0);
+	}
+
+	/**
+	 * Read all keys on threads during time and print cost by lookup
+	 * @param sessionContext
+	 * @param context
+	 * @param lookups
+	 * @param threads
+	 * @param seconds
+	 * @throws InterruptedException
+	 */
+	private static void run(Context sessionContext, Properties context, List<Lookup> lookups, int threads, int seconds) throws InterruptedException {
+		AtomicLong operations = new AtomicLong();
+		AtomicLong busyTime = new AtomicLong();
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch finished = new CountDownLatch(threads);
+		long endTime = System.currentTimeMillis() + seconds * 1000L;
+		for (int threadNo = 0; threadNo < threads; threadNo++) {
+			Thread thread = new Thread(sessionContext.wrap(() -> {
+				try {
+					start.await();
+					long startTime = System.nanoTime();
+					long count = 0;
+					while (System.currentTimeMillis() < endTime) {
+						lookup(context, lookups);
+						count += lookups.size();
+					}
+					busyTime.addAndGet(System.nanoTime() - startTime);
+					operations.addAndGet(count);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					finished.countDown();
+				}
+			}), "reference-benchmark-" + threadNo);
+			thread.setDaemon(true);
+			thread.start();
+		}
+		start.countDown();
+		finished.await();
+		long total = Math.max(operations.get(), 1);
+		System.out.println("Hits with " + threads + " threads: "
+			+ (busyTime.get() / total) + " ns/lookup by thread, "
+			+ (total / Math.max(seconds, 1)) + " lookups/s");
+	}
+
+	/**
+	 * Read reference info of all lookups
+	 * @param context
+	 * @param lookups
+	 */
+	private static void lookup(Properties context, List<Lookup> lookups) {
+		String language = Env.getAD_Language(context);
+		ReferenceUtil referenceUtil = ReferenceUtil.getInstance(context);
+		for (Lookup lookup : lookups) {
+			referenceUtil.getReferenceInfo(lookup.referenceId, lookup.referenceValueId, lookup.columnName, language, lookup.tableName);
+		}
+	}
+
+	/**
+	 * Get lookup columns of tables
+	 * @param context
+	 * @return
+	 */
+	private static List<Lookup> getLookups(Properties context) {
+		List<Lookup> lookups = new ArrayList<Lookup>();
+		for (String tableName : TABLES) {
+			MTable table = MTable.get(context, tableName);
+			if (table == null || table.getAD_Table_ID() <= 0) {
+				continue;
+			}
+			for (MColumn column : table.getColumns(false)) {
+				if (!ReferenceUtil.validateReference(column.getAD_Reference_ID())) {
+					continue;
+				}
+				Lookup lookup = new Lookup();
+				lookup.referenceId = column.getAD_Reference_ID();
+				lookup.referenceValueId = column.getAD_Reference_Value_ID();
+				lookup.columnName = column.getColumnName();
+				lookup.tableName = tableName;
+				lookups.add(lookup);
+			}
+		}
+		return lookups;
+	}
+
+	/**
+	 * Create a session context as warmup of server
+	 * @param roleId
+	 * @param userId
+	 * @param language
+	 * @return
+	 */
+	private static Properties createContext(int roleId, int userId, String language) {
+		Properties context = new Properties();
+		MRole role = MRole.get(context, roleId);
+		Env.setContext(context, "#AD_Client_ID", role.getAD_Client_ID());
+		Env.setContext(context, "#AD_Role_ID", roleId);
+		Env.setContext(context, "#AD_User_ID", userId);
+		Env.setContext(context, "#AD_Org_ID", Math.max(SessionManager.getDefaultOrganizationId(roleId, userId), 0));
+		SessionManager.loadDefaultSessionValues(context, language);
+		return context;
+	}
+}